@@ -28,12 +28,15 @@ import org.apache.tinkerpop.gremlin.hadoop.structure.HadoopGraph;
 import org.apache.tinkerpop.gremlin.hadoop.structure.io.ObjectWritable;
 import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.IterationMetrics;
 import org.apache.tinkerpop.gremlin.process.computer.Memory;
 import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.util.MemoryHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.javatuples.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.DataInput;
 import java.io.DataOutput;
@@ -48,11 +51,14 @@ import java.util.stream.Collectors;
  */
 public final class GiraphMemory extends MasterCompute implements Memory {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(GiraphMemory.class);
+
     private VertexProgram<?> vertexProgram;
     private GiraphWorkerContext worker;
     private Map<String, MemoryComputeKey> memoryComputeKeys;
     private boolean inExecute = false;
     private long startTime = System.currentTimeMillis();
+    private long iterationStart = System.nanoTime();
 
     public GiraphMemory() {
         // Giraph ReflectionUtils requires this to be public at minimum
@@ -92,7 +98,14 @@ public final class GiraphMemory extends MasterCompute implements Memory {
         } else {
             // a hack to get the last iteration memory values to stick
             final PassThroughMemory memory = new PassThroughMemory(this);
-            if (this.vertexProgram.terminate(memory)) { // terminate
+            final boolean terminate = this.vertexProgram.terminate(memory);
+            // the iterations run in the master task of the Giraph job, so they are reported in its status and log
+            // rather than to the IterationListeners of the GiraphGraphComputer
+            final IterationMetrics metrics = new IterationMetrics((int) this.getSuperstep() - 1, System.nanoTime() - this.iterationStart,
+                    this.getTotalNumVertices(), -1L, Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+            this.getContext().setStatus(metrics.toString());
+            LOGGER.info(metrics.toString());
+            if (terminate) { // terminate
                 final String outputLocation = this.getConf().get(Constants.GREMLIN_HADOOP_OUTPUT_LOCATION, null);
                 if (null != outputLocation) {
                     try {
@@ -114,6 +127,7 @@ public final class GiraphMemory extends MasterCompute implements Memory {
                 this.haltComputation();
             }
         }
+        this.iterationStart = System.nanoTime();
     }
 
     @Override
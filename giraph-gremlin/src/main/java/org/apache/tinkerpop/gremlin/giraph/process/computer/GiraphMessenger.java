@@ -55,11 +55,12 @@ public final class GiraphMessenger<M> implements Messenger<M> {
     public void sendMessage(final MessageScope messageScope, final M message) {
         if (messageScope instanceof MessageScope.Local) {
             final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
-            final Traversal.Admin<Vertex, Edge> incidentTraversal = GiraphMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.giraphVertex.getValue().get());
+            final Vertex vertex = this.giraphVertex.getValue().get();
+            final Traversal.Admin<Vertex, Edge> incidentTraversal = GiraphMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), vertex);
             final Direction direction = GiraphMessenger.getOppositeDirection(incidentTraversal);
             incidentTraversal.forEachRemaining(edge ->
                     this.giraphComputation.sendMessage(
-                            new ObjectWritable<>(edge.vertices(direction).next().id()),
+                            new ObjectWritable<>(GiraphMessenger.getNeighbor(edge, direction, vertex).id()),
                             new ObjectWritable<>(localMessageScope.getEdgeFunction().apply(message, edge))));
         } else {
             final MessageScope.Global globalMessageScope = (MessageScope.Global) messageScope;
@@ -77,4 +78,10 @@ public final class GiraphMessenger<M> implements Messenger<M> {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection().opposite();
     }
+
+    private static Vertex getNeighbor(final Edge edge, final Direction direction, final Vertex vertex) {
+        return Direction.BOTH == direction ?
+                (vertex.id().equals(edge.outVertex().id()) ? edge.inVertex() : edge.outVertex()) :
+                edge.vertices(direction).next();
+    }
 }
@@ -22,6 +22,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.util.Collection;
 import java.util.concurrent.Future;
 
 /**
@@ -130,6 +131,34 @@ public interface GraphComputer {
      */
     public GraphComputer edges(final Traversal<Vertex, Edge> edgeFilter) throws IllegalArgumentException;
 
+    /**
+     * Declare the vertices that were added or removed, or whose properties or incident edges changed, since the
+     * {@link VertexProgram} last wrote its vertex compute keys to the graph. If the vertex program
+     * {@link VertexProgram#startsFromComputeKeys()} and {@link VertexProgram#usesActiveVertices()}, then only the
+     * changed vertices, their adjacent vertices and the vertices that they send messages to need to be executed in the
+     * first iteration that does not {@link VertexProgram#requiresAllVertices(Memory)} rather than the whole graph.
+     * This is a recommendation to the underlying {@link GraphComputer} implementation which may execute every vertex.
+     * The default implementation simply does nothing and returns the {@link GraphComputer} unchanged.
+     *
+     * @param changedVertexIds the ids of the vertices that changed since the last execution
+     * @return the updated GraphComputer with the newly set changed vertices
+     */
+    public default GraphComputer incremental(final Collection<?> changedVertexIds) {
+        return this;
+    }
+
+    /**
+     * Add a listener that is notified of the {@link IterationMetrics} of every iteration of the {@link VertexProgram}
+     * while the computation runs, rather than only learning about the computation from the {@link ComputerResult}.
+     * The default implementation simply does nothing and returns the {@link GraphComputer} unchanged.
+     *
+     * @param listener the listener to notify after every iteration
+     * @return the updated GraphComputer with the newly added listener
+     */
+    public default GraphComputer listener(final IterationListener listener) {
+        return this;
+    }
+
     /**
      * Set an arbitrary configuration key/value for the underlying {@link org.apache.commons.configuration.Configuration} in the {@link GraphComputer}.
      * Typically, the other fluent methods in {@link GraphComputer} should be used to configure the computation.
@@ -309,6 +309,23 @@ public final class GraphFilter implements Cloneable, Serializable {
                 .reduce(Legal.NO, (a, b) -> a.compareTo(b) < 0 ? a : b);
     }
 
+    /**
+     * Determines if the legality of every edge is {@link Legal#YES} or {@link Legal#NO} given its direction and label,
+     * in which case {@link #checkEdgeLegality(Direction, String)} decides the legal edges without the edge filter
+     * having to be applied to the vertices.
+     *
+     * @return whether the direction and label of an edge decide its legality.
+     */
+    public boolean decidesEdgeLegality() {
+        if (null == this.edgeFilter || this.allowNoEdges)
+            return true;
+        for (final Map<String, Legal> legalMap : this.edgeLegality.values()) {
+            if (legalMap.containsValue(Legal.MAYBE))
+                return false;
+        }
+        return true;
+    }
+
     @Override
     public int hashCode() {
         return (null == this.edgeFilter ? 111 : this.edgeFilter.hashCode()) ^ (null == this.vertexFilter ? 222 : this.vertexFilter.hashCode());
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer;
+
+/**
+ * A listener that a {@link GraphComputer} notifies of the {@link IterationMetrics} of every iteration of its
+ * {@link VertexProgram} while the computation runs. It is called by the thread that coordinates the iterations,
+ * between two iterations, so the computation does not continue until it returns.
+ *
+ * @author agent (agent@local)
+ */
+@FunctionalInterface
+public interface IterationListener {
+
+    /**
+     * Called once an iteration has completed, including the last one.
+     *
+     * @param metrics the measurements of the iteration
+     */
+    public void iterationCompleted(final IterationMetrics metrics);
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The measurements of one iteration of a {@link VertexProgram} that a {@link GraphComputer} reports to an
+ * {@link IterationListener}. A measurement that the {@link GraphComputer} does not take is {@code -1}.
+ *
+ * @author agent (agent@local)
+ */
+public final class IterationMetrics implements Serializable {
+
+    private final int iteration;
+    private final long durationNs;
+    private final long executedVertices;
+    private final long sentMessages;
+    private final long usedMemory;
+
+    public IterationMetrics(final int iteration, final long durationNs, final long executedVertices,
+                            final long sentMessages, final long usedMemory) {
+        this.iteration = iteration;
+        this.durationNs = durationNs;
+        this.executedVertices = executedVertices;
+        this.sentMessages = sentMessages;
+        this.usedMemory = usedMemory;
+    }
+
+    /**
+     * Gets the iteration that was completed, starting at {@code 0}.
+     */
+    public int getIteration() {
+        return this.iteration;
+    }
+
+    /**
+     * Gets the time it took to execute the vertices and to determine if the {@link VertexProgram} terminates.
+     */
+    public long getDuration(final TimeUnit unit) {
+        return unit.convert(this.durationNs, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of vertices that the {@link VertexProgram} was executed on in the iteration.
+     */
+    public long getExecutedVertices() {
+        return this.executedVertices;
+    }
+
+    /**
+     * Gets the number of messages that were sent in the iteration, counting a message to a
+     * {@link MessageScope.Local} once and one to a {@link MessageScope.Global} once for each of its vertices.
+     */
+    public long getSentMessages() {
+        return this.sentMessages;
+    }
+
+    /**
+     * Gets the heap memory in bytes that was in use at the end of the iteration in the JVM that coordinates the
+     * iterations.
+     */
+    public long getUsedMemory() {
+        return this.usedMemory;
+    }
+
+    @Override
+    public String toString() {
+        return "iteration[" + this.iteration + "]" +
+                "[duration=" + this.getDuration(TimeUnit.MILLISECONDS) + "ms" +
+                (this.executedVertices < 0 ? "" : ", executedVertices=" + this.executedVertices) +
+                (this.sentMessages < 0 ? "" : ", sentMessages=" + this.sentMessages) +
+                (this.usedMemory < 0 ? "" : ", usedMemory=" + this.usedMemory) + "]";
+    }
+}
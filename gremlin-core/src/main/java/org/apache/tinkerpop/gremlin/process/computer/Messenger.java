@@ -46,4 +46,25 @@ public interface Messenger<M> {
      */
     public void sendMessage(final MessageScope messageScope, final M message);
 
+    /**
+     * Keeps the currently executing vertex active in the next iteration even if it is sent no messages. This is only
+     * meaningful to a {@link VertexProgram} that {@link VertexProgram#usesActiveVertices()} and the default
+     * implementation is a no-op for {@link GraphComputer} implementations that execute every vertex in every iteration.
+     */
+    public default void keepActive() {
+
+    }
+
+    /**
+     * Determines if the {@link GraphComputer} skips the inactive vertices of a {@link VertexProgram} that
+     * {@link VertexProgram#usesActiveVertices()}, in which case the messages a vertex sent on a
+     * {@link MessageScope.Local} are received again until it sends new ones on that scope. A vertex program can rely
+     * on that to not resend unchanged messages. The default is false.
+     *
+     * @return whether or not inactive vertices are skipped
+     */
+    public default boolean skipsInactiveVertices() {
+        return false;
+    }
+
 }
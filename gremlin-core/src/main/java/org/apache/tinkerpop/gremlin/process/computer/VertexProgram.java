@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.lang.reflect.Constructor;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Set;
@@ -172,6 +173,46 @@ public interface VertexProgram<M> extends Cloneable {
      */
     public Set<MessageScope> getMessageScopes(final Memory memory);
 
+    /**
+     * Determines if the vertex program only needs to be executed on the vertices that are active in an iteration.
+     * A vertex is active if it was sent a message in the previous iteration or if it called
+     * {@link Messenger#keepActive()} in it, and a {@link GraphComputer} may then skip the other vertices in every
+     * iteration but the first and those for which {@link #requiresAllVertices(Memory)} is true. A vertex that is
+     * skipped is taken to be unchanged, so where {@link Messenger#skipsInactiveVertices()} the messages that a vertex
+     * last sent on a {@link MessageScope.Local} are received again by its neighbors until it sends new ones on that
+     * scope, for as long as that scope is among the {@link #getMessageScopes(Memory)} of the iteration. The default
+     * is false.
+     *
+     * @return whether or not inactive vertices may be skipped
+     */
+    public default boolean usesActiveVertices() {
+        return false;
+    }
+
+    /**
+     * Determines if every vertex has to be executed in the coming iteration of a vertex program that
+     * {@link #usesActiveVertices()}, such as when the {@link Memory} holds work for vertices that were sent no
+     * messages. It is not called for the first iteration which always executes every vertex. The default is false.
+     *
+     * @param memory the memory at the start of the iteration
+     * @return whether or not every vertex has to be executed in the iteration
+     */
+    public default boolean requiresAllVertices(final Memory memory) {
+        return false;
+    }
+
+    /**
+     * Determines if the vertex program continues from the values that a previous execution left in its vertex compute
+     * keys, so that a vertex that no change to the graph reaches already holds its result. A {@link GraphComputer}
+     * that was given the changed vertices with {@link GraphComputer#incremental(Collection)} may only skip the other
+     * vertices if this is true. The default is false.
+     *
+     * @return whether or not the vertex program starts from the results of its previous execution
+     */
+    public default boolean startsFromComputeKeys() {
+        return false;
+    }
+
     /**
      * The set of {@link MapReduce} jobs that are associated with the {@link VertexProgram}.
      * This is not necessarily the exhaustive list over the life of the {@link GraphComputer}.
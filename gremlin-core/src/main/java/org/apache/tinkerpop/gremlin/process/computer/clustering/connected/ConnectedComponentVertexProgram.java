@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.connected;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Labels every vertex with the connected component it belongs to, which is identified by the smallest
+ * {@code toString()} of the vertex identifiers in the component. Each vertex starts out as its own component and
+ * adopts the smallest identifier its neighbors send it, so only the vertices whose component changed send a message
+ * in the next iteration and the messages are a single string that is combined down to the smallest one.
+ * <p/>
+ * The incident edges default to {@code bothE()} so that the components are those of the undirected graph.
+ *
+ * @author agent (agent@local)
+ */
+public class ConnectedComponentVertexProgram extends StaticVertexProgram<String> {
+
+    public static final String COMPONENT = "gremlin.connectedComponentVertexProgram.component";
+    private static final String PROPERTY = "gremlin.connectedComponentVertexProgram.property";
+    private static final String MAX_ITERATIONS = "gremlin.connectedComponentVertexProgram.maxIterations";
+    private static final String EDGE_TRAVERSAL = "gremlin.connectedComponentVertexProgram.edgeTraversal";
+    private static final String VOTE_TO_HALT = "gremlin.connectedComponentVertexProgram.voteToHalt";
+
+    private MessageScope.Local<String> scope = MessageScope.Local.of(__::bothE);
+    private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private int maxIterations = Integer.MAX_VALUE;
+    private String property = COMPONENT;
+
+    private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
+
+    private ConnectedComponentVertexProgram() {
+
+    }
+
+    @Override
+    public void loadState(final Graph graph, final Configuration configuration) {
+        if (configuration.containsKey(EDGE_TRAVERSAL)) {
+            this.edgeTraversal = PureTraversal.loadState(configuration, EDGE_TRAVERSAL, graph);
+            this.scope = MessageScope.Local.of(() -> this.edgeTraversal.get().clone());
+        }
+        this.property = configuration.getString(PROPERTY, COMPONENT);
+        this.maxIterations = configuration.getInt(MAX_ITERATIONS, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void storeState(final Configuration configuration) {
+        super.storeState(configuration);
+        configuration.setProperty(PROPERTY, this.property);
+        configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        if (null != this.edgeTraversal)
+            this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
+    }
+
+    @Override
+    public Set<VertexComputeKey> getVertexComputeKeys() {
+        return Collections.singleton(VertexComputeKey.of(this.property, false));
+    }
+
+    @Override
+    public Set<MemoryComputeKey> getMemoryComputeKeys() {
+        return MEMORY_COMPUTE_KEYS;
+    }
+
+    @Override
+    public Set<MessageScope> getMessageScopes(final Memory memory) {
+        return Collections.singleton(this.scope);
+    }
+
+    @Override
+    public Optional<MessageCombiner<String>> getMessageCombiner() {
+        return (Optional) ConnectedComponentMessageCombiner.instance();
+    }
+
+    @Override
+    public boolean usesActiveVertices() {
+        return true;
+    }
+
+    @Override
+    public GraphComputer.ResultGraph getPreferredResultGraph() {
+        return GraphComputer.ResultGraph.NEW;
+    }
+
+    @Override
+    public GraphComputer.Persist getPreferredPersist() {
+        return GraphComputer.Persist.VERTEX_PROPERTIES;
+    }
+
+    @Override
+    public void setup(final Memory memory) {
+        memory.set(VOTE_TO_HALT, false);
+    }
+
+    @Override
+    public void execute(final Vertex vertex, final Messenger<String> messenger, final Memory memory) {
+        if (memory.isInitialIteration()) {
+            final String component = vertex.id().toString();
+            vertex.property(VertexProperty.Cardinality.single, this.property, component);
+            messenger.sendMessage(this.scope, component);
+            memory.add(VOTE_TO_HALT, false);
+        } else {
+            // the component only ever gets smaller so a vertex that did not change has nothing new to tell its
+            // neighbors and a stale message it receives can never be adopted
+            final String current = vertex.value(this.property);
+            String component = current;
+            final Iterator<String> messages = messenger.receiveMessages();
+            while (messages.hasNext()) {
+                final String message = messages.next();
+                if (message.compareTo(component) < 0)
+                    component = message;
+            }
+            final boolean unchanged = component.equals(current);
+            memory.add(VOTE_TO_HALT, unchanged);
+            if (!unchanged) {
+                vertex.property(VertexProperty.Cardinality.single, this.property, component);
+                messenger.sendMessage(this.scope, component);
+            }
+        }
+    }
+
+    @Override
+    public boolean terminate(final Memory memory) {
+        final boolean voteToHalt = memory.<Boolean>get(VOTE_TO_HALT) || memory.getIteration() >= this.maxIterations;
+        if (voteToHalt) {
+            return true;
+        } else {
+            memory.set(VOTE_TO_HALT, true);
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexProgramString(this, "maxIterations=" + this.maxIterations);
+    }
+
+    //////////////////////////////
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder extends AbstractVertexProgramBuilder<Builder> {
+
+        private Builder() {
+            super(ConnectedComponentVertexProgram.class);
+        }
+
+        public Builder property(final String key) {
+            this.configuration.setProperty(PROPERTY, key);
+            return this;
+        }
+
+        public Builder maxIterations(final int iterations) {
+            this.configuration.setProperty(MAX_ITERATIONS, iterations);
+            return this;
+        }
+
+        public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+            PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
+            return this;
+        }
+    }
+
+    ////////////////////////////
+
+    @Override
+    public Features getFeatures() {
+        return new Features() {
+            @Override
+            public boolean requiresLocalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresVertexPropertyAddition() {
+                return true;
+            }
+        };
+    }
+}
@@ -67,12 +67,14 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
     private static final String DISTRIBUTE_VOTE = "gremlin.peerPressureVertexProgram.distributeVote";
     private static final String EDGE_TRAVERSAL = "gremlin.peerPressureVertexProgram.edgeTraversal";
     private static final String VOTE_TO_HALT = "gremlin.peerPressureVertexProgram.voteToHalt";
+    private static final String WARM_START = "gremlin.peerPressureVertexProgram.warmStart";
 
     private PureTraversal<Vertex, Edge> edgeTraversal = null;
     private PureTraversal<Vertex, ? extends Number> initialVoteStrengthTraversal = null;
     private int maxIterations = 30;
     private boolean distributeVote = false;
     private String property = CLUSTER;
+    private boolean warmStart = false;
 
     private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
 
@@ -92,6 +94,7 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
         this.property = configuration.getString(PROPERTY, CLUSTER);
         this.maxIterations = configuration.getInt(MAX_ITERATIONS, 30);
         this.distributeVote = configuration.getBoolean(DISTRIBUTE_VOTE, false);
+        this.warmStart = configuration.getBoolean(WARM_START, false);
     }
 
     @Override
@@ -100,6 +103,7 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
         configuration.setProperty(PROPERTY, this.property);
         configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
         configuration.setProperty(DISTRIBUTE_VOTE, this.distributeVote);
+        configuration.setProperty(WARM_START, this.warmStart);
         if (null != this.edgeTraversal)
             this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
         if (null != this.initialVoteStrengthTraversal)
@@ -123,6 +127,22 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
         return this.distributeVote && memory.isInitialIteration() ? COUNT_SCOPE : VOTE_SCOPE;
     }
 
+    @Override
+    public boolean usesActiveVertices() {
+        return true;
+    }
+
+    @Override
+    public boolean requiresAllVertices(final Memory memory) {
+        // every vertex has to determine its vote strength from the counts
+        return this.distributeVote && 1 == memory.getIteration();
+    }
+
+    @Override
+    public boolean startsFromComputeKeys() {
+        return this.warmStart;
+    }
+
     @Override
     public GraphComputer.ResultGraph getPreferredResultGraph() {
         return GraphComputer.ResultGraph.NEW;
@@ -147,9 +167,10 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
                 double voteStrength = (null == this.initialVoteStrengthTraversal ?
                         1.0d :
                         TraversalUtil.apply(vertex, this.initialVoteStrengthTraversal.get()).doubleValue());
-                vertex.property(VertexProperty.Cardinality.single, this.property, vertex.id());
+                final Serializable cluster = this.initialCluster(vertex);
+                vertex.property(VertexProperty.Cardinality.single, this.property, cluster);
                 vertex.property(VertexProperty.Cardinality.single, VOTE_STRENGTH, voteStrength);
-                messenger.sendMessage(this.voteScope, new Pair<>((Serializable) vertex.id(), voteStrength));
+                messenger.sendMessage(this.voteScope, new Pair<>(cluster, voteStrength));
                 memory.add(VOTE_TO_HALT, false);
             }
         } else if (1 == memory.getIteration() && this.distributeVote) {
@@ -157,9 +178,10 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
                     1.0d :
                     TraversalUtil.apply(vertex, this.initialVoteStrengthTraversal.get()).doubleValue()) /
                     IteratorUtils.reduce(IteratorUtils.map(messenger.receiveMessages(), Pair::getValue1), 0.0d, (a, b) -> a + b);
-            vertex.property(VertexProperty.Cardinality.single, this.property, vertex.id());
+            final Serializable cluster = this.initialCluster(vertex);
+            vertex.property(VertexProperty.Cardinality.single, this.property, cluster);
             vertex.property(VertexProperty.Cardinality.single, VOTE_STRENGTH, voteStrength);
-            messenger.sendMessage(this.voteScope, new Pair<>((Serializable) vertex.id(), voteStrength));
+            messenger.sendMessage(this.voteScope, new Pair<>(cluster, voteStrength));
             memory.add(VOTE_TO_HALT, false);
         } else {
             final Map<Serializable, Double> votes = new HashMap<>();
@@ -167,9 +189,16 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
             messenger.receiveMessages().forEachRemaining(message -> MapHelper.incr(votes, message.getValue0(), message.getValue1()));
             Serializable cluster = PeerPressureVertexProgram.largestCount(votes);
             if (null == cluster) cluster = (Serializable) vertex.id();
-            memory.add(VOTE_TO_HALT, vertex.value(this.property).equals(cluster));
-            vertex.property(VertexProperty.Cardinality.single, this.property, cluster);
-            messenger.sendMessage(this.voteScope, new Pair<>(cluster, vertex.<Double>value(VOTE_STRENGTH)));
+            final boolean unchanged = vertex.value(this.property).equals(cluster);
+            memory.add(VOTE_TO_HALT, unchanged);
+            // only a vertex with a changed vote, or with a neighbor whose vote changed, can change its cluster in the
+            // next iteration and when inactive vertices are skipped an unchanged vote is still received by the neighbors
+            if (!unchanged) {
+                vertex.property(VertexProperty.Cardinality.single, this.property, cluster);
+                messenger.keepActive();
+            }
+            if (!unchanged || !messenger.skipsInactiveVertices())
+                messenger.sendMessage(this.voteScope, new Pair<>(cluster, vertex.<Double>value(VOTE_STRENGTH)));
         }
     }
 
@@ -184,6 +213,15 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
         }
     }
 
+    private Serializable initialCluster(final Vertex vertex) {
+        if (this.warmStart) {
+            final VertexProperty<Serializable> previousCluster = vertex.property(this.property);
+            if (previousCluster.isPresent())
+                return previousCluster.value();
+        }
+        return (Serializable) vertex.id();
+    }
+
     private static <T> T largestCount(final Map<T, Double> map) {
         T largestKey = null;
         double largestValue = Double.MIN_VALUE;
@@ -203,7 +241,8 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
 
     @Override
     public String toString() {
-        return StringFactory.vertexProgramString(this, "distributeVote=" + this.distributeVote + ", maxIterations=" + this.maxIterations);
+        return StringFactory.vertexProgramString(this, "distributeVote=" + this.distributeVote + ", maxIterations=" + this.maxIterations +
+                (this.warmStart ? ", warmStart" : ""));
     }
 
     //////////////////////////////
@@ -239,6 +278,16 @@ public class PeerPressureVertexProgram extends StaticVertexProgram<Pair<Serializ
             return this;
         }
 
+        /**
+         * Starts every vertex out in the cluster that a previous execution left in the cluster property rather than
+         * in its own cluster, which lets {@link GraphComputer#incremental(java.util.Collection)} skip the vertices
+         * that no change to the graph reaches.
+         */
+        public Builder warmStart(final boolean warmStart) {
+            this.configuration.setProperty(WARM_START, warmStart);
+            return this;
+        }
+
         public Builder initialVoteStrength(final Traversal.Admin<Vertex, ? extends Number> initialVoteStrengthTraversal) {
             PureTraversal.storeState(this.configuration, INITIAL_VOTE_STRENGTH_TRAVERSAL, initialVoteStrengthTraversal);
             return this;
@@ -48,6 +48,17 @@ import java.util.Optional;
 import java.util.Set;
 
 /**
+ * Computes the PageRank of each vertex by power iteration, where the rank of vertices without outgoing edges and the
+ * teleported rank are spread evenly over all vertices through {@link Memory}. The computation ends once the total
+ * change of the ranks in an iteration is below the epsilon or after the maximum number of iterations.
+ * <p/>
+ * In delta mode the program only propagates changes: after the first two iterations, which execute every vertex, a
+ * vertex whose rank changed by no more than the epsilon divided by the number of vertices keeps its previous rank and
+ * sends nothing, so on a {@link GraphComputer} that skips inactive vertices only those around a change are executed
+ * once the teleported rank has settled. With a warm start the ranks of a previous result are read from the pageRank
+ * property and the rank they are short of, such as that of new vertices, is teleported, so a graph that changed a
+ * little converges in a few iterations.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class PageRankVertexProgram implements VertexProgram<Double> {
@@ -64,6 +75,10 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private static final String INITIAL_RANK_TRAVERSAL = "gremlin.pageRankVertexProgram.initialRankTraversal";
     private static final String TELEPORTATION_ENERGY = "gremlin.pageRankVertexProgram.teleportationEnergy";
     private static final String CONVERGENCE_ERROR = "gremlin.pageRankVertexProgram.convergenceError";
+    private static final String TELEPORTATION_CHANGE = "gremlin.pageRankVertexProgram.teleportationChange";
+    private static final String PREVIOUS_TELEPORTATION_ENERGY = "gremlin.pageRankVertexProgram.previousTeleportationEnergy";
+    private static final String DELTA = "gremlin.pageRankVertexProgram.delta";
+    private static final String WARM_START = "gremlin.pageRankVertexProgram.warmStart";
 
     private MessageScope.Local<Double> incidentMessageScope = MessageScope.Local.of(__::outE);
     private MessageScope.Local<Double> countMessageScope = MessageScope.Local.of(new MessageScope.Local.ReverseTraversalSupplier(this.incidentMessageScope));
@@ -73,6 +88,8 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
     private double epsilon = 0.00001d;
     private int maxIterations = 20;
     private String property = PAGE_RANK;
+    private boolean delta = false;
+    private boolean warmStart = false;
     private Set<VertexComputeKey> vertexComputeKeys;
     private Set<MemoryComputeKey> memoryComputeKeys;
 
@@ -93,13 +110,17 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         this.epsilon = configuration.getDouble(EPSILON, this.epsilon);
         this.maxIterations = configuration.getInt(MAX_ITERATIONS, 20);
         this.property = configuration.getString(PROPERTY, PAGE_RANK);
+        this.delta = configuration.getBoolean(DELTA, false);
+        this.warmStart = configuration.getBoolean(WARM_START, false);
         this.vertexComputeKeys = new HashSet<>(Arrays.asList(
                 VertexComputeKey.of(this.property, false),
                 VertexComputeKey.of(EDGE_COUNT, true)));
         this.memoryComputeKeys = new HashSet<>(Arrays.asList(
                 MemoryComputeKey.of(TELEPORTATION_ENERGY, Operator.sum, true, true),
                 MemoryComputeKey.of(VERTEX_COUNT, Operator.sum, true, true),
-                MemoryComputeKey.of(CONVERGENCE_ERROR, Operator.sum, false, true)));
+                MemoryComputeKey.of(CONVERGENCE_ERROR, Operator.sum, false, true),
+                MemoryComputeKey.of(TELEPORTATION_CHANGE, Operator.assign, true, true),
+                MemoryComputeKey.of(PREVIOUS_TELEPORTATION_ENERGY, Operator.assign, false, true)));
     }
 
     @Override
@@ -109,6 +130,8 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         configuration.setProperty(EPSILON, this.epsilon);
         configuration.setProperty(PROPERTY, this.property);
         configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        configuration.setProperty(DELTA, this.delta);
+        configuration.setProperty(WARM_START, this.warmStart);
         if (null != this.edgeTraversal)
             this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
         if (null != this.initialRankTraversal)
@@ -147,6 +170,24 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         return set;
     }
 
+    @Override
+    public boolean usesActiveVertices() {
+        return this.delta;
+    }
+
+    @Override
+    public boolean startsFromComputeKeys() {
+        return this.warmStart;
+    }
+
+    @Override
+    public boolean requiresAllVertices(final Memory memory) {
+        // the edge counts and initial ranks are set in the first iteration and the teleported rank is settled in the
+        // second, while after that every rank has to take up a change of the teleported rank that is too large to
+        // ignore
+        return memory.getIteration() < 3 || memory.<Double>get(TELEPORTATION_CHANGE) > this.epsilon;
+    }
+
     @Override
     public PageRankVertexProgram clone() {
         try {
@@ -161,9 +202,11 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
 
     @Override
     public void setup(final Memory memory) {
-        memory.set(TELEPORTATION_ENERGY, null == this.initialRankTraversal ? 1.0d : 0.0d);
+        memory.set(TELEPORTATION_ENERGY, null == this.initialRankTraversal && !this.warmStart ? 1.0d : 0.0d);
         memory.set(VERTEX_COUNT, 0.0d);
         memory.set(CONVERGENCE_ERROR, 1.0d);
+        memory.set(TELEPORTATION_CHANGE, 0.0d);
+        memory.set(PREVIOUS_TELEPORTATION_ENERGY, 0.0d);
     }
 
     @Override
@@ -171,6 +214,8 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         if (memory.isInitialIteration()) {
             messenger.sendMessage(this.countMessageScope, 1.0d);
             memory.add(VERTEX_COUNT, 1.0d);
+        } else if (this.delta && memory.getIteration() > 2) {
+            this.executeDelta(vertex, messenger, memory);
         } else {
             final double vertexCount = memory.<Double>get(VERTEX_COUNT);
             final double edgeCount;
@@ -181,6 +226,14 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
                 pageRank = null == this.initialRankTraversal ?
                         0.0d :
                         TraversalUtil.apply(vertex, this.initialRankTraversal.get()).doubleValue();
+                if (this.warmStart) {
+                    final VertexProperty<Number> previousResult = vertex.property(this.property);
+                    if (previousResult.isPresent())
+                        pageRank = previousResult.value().doubleValue();
+                    // teleport the rank that the previous result is short of, such as the share of new vertices
+                    if (null == this.initialRankTraversal)
+                        memory.add(TELEPORTATION_ENERGY, 1.0d / vertexCount - pageRank);
+                }
             } else {
                 edgeCount = vertex.value(EDGE_COUNT);
                 pageRank = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b);
@@ -204,16 +257,45 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
         }
     }
 
+    /**
+     * Executes an iteration of delta mode, where the teleported rank is no longer handed out and collected again but
+     * kept in {@link Memory} as the running total that every rank change adds to. A vertex that does not change by
+     * more than its share of the epsilon keeps the rank that its neighbors last received. As every rank holds a share
+     * of the teleported rank, every vertex is executed while that changes by more than the epsilon.
+     */
+    private void executeDelta(final Vertex vertex, final Messenger<Double> messenger, final Memory memory) {
+        final double vertexCount = memory.<Double>get(VERTEX_COUNT);
+        final double edgeCount = vertex.value(EDGE_COUNT);
+        final double previousPageRank = vertex.value(this.property);
+        final double pageRank = IteratorUtils.reduce(messenger.receiveMessages(), 0.0d, (a, b) -> a + b) +
+                memory.<Double>get(TELEPORTATION_ENERGY) / vertexCount;
+        final double change = pageRank - previousPageRank;
+        if (Math.abs(change) > this.epsilon / vertexCount) {
+            memory.add(CONVERGENCE_ERROR, Math.abs(change));
+            vertex.property(VertexProperty.Cardinality.single, this.property, pageRank);
+            memory.add(TELEPORTATION_ENERGY, edgeCount > 0.0d ? (1.0d - this.alpha) * change : change);
+            if (edgeCount > 0.0d)
+                messenger.sendMessage(this.incidentMessageScope, this.alpha * pageRank / edgeCount);
+        } else if (edgeCount > 0.0d && !messenger.skipsInactiveVertices())
+            messenger.sendMessage(this.incidentMessageScope, this.alpha * previousPageRank / edgeCount);
+    }
+
     @Override
     public boolean terminate(final Memory memory) {
-        boolean terminate = memory.<Double>get(CONVERGENCE_ERROR) < this.epsilon || memory.getIteration() >= this.maxIterations;
+        // the ranks of a warm start are unchanged in the first iteration whether or not they have converged
+        final boolean converged = memory.<Double>get(CONVERGENCE_ERROR) < this.epsilon && !(this.warmStart && memory.getIteration() < 2);
+        boolean terminate = converged || memory.getIteration() >= this.maxIterations;
         memory.set(CONVERGENCE_ERROR, 0.0d);
+        final double teleportationEnergy = memory.get(TELEPORTATION_ENERGY);
+        memory.set(TELEPORTATION_CHANGE, Math.abs(teleportationEnergy - memory.<Double>get(PREVIOUS_TELEPORTATION_ENERGY)));
+        memory.set(PREVIOUS_TELEPORTATION_ENERGY, teleportationEnergy);
         return terminate;
     }
 
     @Override
     public String toString() {
-        return StringFactory.vertexProgramString(this, "alpha=" + this.alpha + ", epsilon=" + this.epsilon + ", iterations=" + this.maxIterations);
+        return StringFactory.vertexProgramString(this, "alpha=" + this.alpha + ", epsilon=" + this.epsilon + ", iterations=" + this.maxIterations +
+                (this.delta ? ", delta" : "") + (this.warmStart ? ", warmStart" : ""));
     }
 
     //////////////////////////////
@@ -248,6 +330,22 @@ public class PageRankVertexProgram implements VertexProgram<Double> {
             return this;
         }
 
+        /**
+         * Only propagates the rank changes that are larger than the epsilon divided by the number of vertices.
+         */
+        public Builder delta(final boolean delta) {
+            this.configuration.setProperty(DELTA, delta);
+            return this;
+        }
+
+        /**
+         * Starts from the ranks in the property of the program, as left by a previous result.
+         */
+        public Builder warmStart(final boolean warmStart) {
+            this.configuration.setProperty(WARM_START, warmStart);
+            return this;
+        }
+
         public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
             PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
             return this;
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.search.path;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.util.AbstractVertexProgramBuilder;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.util.PureTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Computes the length of the shortest path from the source vertices to every vertex they can reach. Each reached
+ * vertex sends its distance along its incident edges, the length of the edge is added when the message is received
+ * and a vertex only adopts, and sends on, a distance that is shorter than the one it has. The messages are a single
+ * double that is combined down to the shortest one and the vertices that are not reached get no distance.
+ * <p/>
+ * The edges default to {@code outE()} with a length of one and may be given a length from a numeric edge property,
+ * which must not be negative. Without a source traversal every vertex is a source.
+ *
+ * @author agent (agent@local)
+ */
+public class ShortestPathVertexProgram extends StaticVertexProgram<Double> {
+
+    public static final String DISTANCE = "gremlin.shortestPathVertexProgram.distance";
+    private static final String PROPERTY = "gremlin.shortestPathVertexProgram.property";
+    private static final String WEIGHT = "gremlin.shortestPathVertexProgram.weight";
+    private static final String MAX_ITERATIONS = "gremlin.shortestPathVertexProgram.maxIterations";
+    private static final String SOURCE_TRAVERSAL = "gremlin.shortestPathVertexProgram.sourceTraversal";
+    private static final String EDGE_TRAVERSAL = "gremlin.shortestPathVertexProgram.edgeTraversal";
+    private static final String VOTE_TO_HALT = "gremlin.shortestPathVertexProgram.voteToHalt";
+
+    private MessageScope.Local<Double> scope = MessageScope.Local.of(__::outE, (distance, edge) -> distance + 1.0d);
+    private PureTraversal<Vertex, Edge> edgeTraversal = null;
+    private PureTraversal<Vertex, ?> sourceTraversal = null;
+    private String weight = null;
+    private int maxIterations = Integer.MAX_VALUE;
+    private String property = DISTANCE;
+
+    private static final Set<MemoryComputeKey> MEMORY_COMPUTE_KEYS = Collections.singleton(MemoryComputeKey.of(VOTE_TO_HALT, Operator.and, false, true));
+
+    private ShortestPathVertexProgram() {
+
+    }
+
+    @Override
+    public void loadState(final Graph graph, final Configuration configuration) {
+        if (configuration.containsKey(SOURCE_TRAVERSAL))
+            this.sourceTraversal = PureTraversal.loadState(configuration, SOURCE_TRAVERSAL, graph);
+        if (configuration.containsKey(EDGE_TRAVERSAL))
+            this.edgeTraversal = PureTraversal.loadState(configuration, EDGE_TRAVERSAL, graph);
+        this.weight = configuration.getString(WEIGHT, null);
+        this.property = configuration.getString(PROPERTY, DISTANCE);
+        this.maxIterations = configuration.getInt(MAX_ITERATIONS, Integer.MAX_VALUE);
+
+        final Supplier<Traversal<Vertex, Edge>> edges = null == this.edgeTraversal ?
+                __::outE :
+                () -> this.edgeTraversal.get().clone();
+        final String weightKey = this.weight;
+        final BiFunction<Double, Edge, Double> length = null == weightKey ?
+                (distance, edge) -> distance + 1.0d :
+                (distance, edge) -> distance + edge.<Number>property(weightKey).orElse(1.0d).doubleValue();
+        this.scope = MessageScope.Local.of(edges, length);
+    }
+
+    @Override
+    public void storeState(final Configuration configuration) {
+        super.storeState(configuration);
+        configuration.setProperty(PROPERTY, this.property);
+        configuration.setProperty(MAX_ITERATIONS, this.maxIterations);
+        if (null != this.weight)
+            configuration.setProperty(WEIGHT, this.weight);
+        if (null != this.edgeTraversal)
+            this.edgeTraversal.storeState(configuration, EDGE_TRAVERSAL);
+        if (null != this.sourceTraversal)
+            this.sourceTraversal.storeState(configuration, SOURCE_TRAVERSAL);
+    }
+
+    @Override
+    public Set<VertexComputeKey> getVertexComputeKeys() {
+        return Collections.singleton(VertexComputeKey.of(this.property, false));
+    }
+
+    @Override
+    public Set<MemoryComputeKey> getMemoryComputeKeys() {
+        return MEMORY_COMPUTE_KEYS;
+    }
+
+    @Override
+    public Set<MessageScope> getMessageScopes(final Memory memory) {
+        return Collections.singleton(this.scope);
+    }
+
+    @Override
+    public Optional<MessageCombiner<Double>> getMessageCombiner() {
+        return (Optional) ShortestPathMessageCombiner.instance();
+    }
+
+    @Override
+    public boolean usesActiveVertices() {
+        return true;
+    }
+
+    @Override
+    public GraphComputer.ResultGraph getPreferredResultGraph() {
+        return GraphComputer.ResultGraph.NEW;
+    }
+
+    @Override
+    public GraphComputer.Persist getPreferredPersist() {
+        return GraphComputer.Persist.VERTEX_PROPERTIES;
+    }
+
+    @Override
+    public void setup(final Memory memory) {
+        memory.set(VOTE_TO_HALT, false);
+    }
+
+    @Override
+    public void execute(final Vertex vertex, final Messenger<Double> messenger, final Memory memory) {
+        if (memory.isInitialIteration()) {
+            if (null == this.sourceTraversal || TraversalUtil.test(vertex, this.sourceTraversal.get())) {
+                vertex.property(VertexProperty.Cardinality.single, this.property, 0.0d);
+                messenger.sendMessage(this.scope, 0.0d);
+                memory.add(VOTE_TO_HALT, false);
+            }
+        } else {
+            // a distance only ever gets shorter so a vertex that did not change has nothing new to tell its
+            // neighbors and a stale message it receives can never be adopted
+            final VertexProperty<Double> current = vertex.property(this.property);
+            double distance = current.isPresent() ? current.value() : Double.POSITIVE_INFINITY;
+            boolean changed = false;
+            final Iterator<Double> messages = messenger.receiveMessages();
+            while (messages.hasNext()) {
+                final double message = messages.next();
+                if (message < distance) {
+                    distance = message;
+                    changed = true;
+                }
+            }
+            memory.add(VOTE_TO_HALT, !changed);
+            if (changed) {
+                vertex.property(VertexProperty.Cardinality.single, this.property, distance);
+                messenger.sendMessage(this.scope, distance);
+            }
+        }
+    }
+
+    @Override
+    public boolean terminate(final Memory memory) {
+        final boolean voteToHalt = memory.<Boolean>get(VOTE_TO_HALT) || memory.getIteration() >= this.maxIterations;
+        if (voteToHalt) {
+            return true;
+        } else {
+            memory.set(VOTE_TO_HALT, true);
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.vertexProgramString(this, (null == this.weight ? "" : "weight=" + this.weight + ", ") + "maxIterations=" + this.maxIterations);
+    }
+
+    //////////////////////////////
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static final class Builder extends AbstractVertexProgramBuilder<Builder> {
+
+        private Builder() {
+            super(ShortestPathVertexProgram.class);
+        }
+
+        public Builder property(final String key) {
+            this.configuration.setProperty(PROPERTY, key);
+            return this;
+        }
+
+        /**
+         * The numeric edge property that holds the length of an edge, where edges without it have a length of one.
+         */
+        public Builder weight(final String key) {
+            this.configuration.setProperty(WEIGHT, key);
+            return this;
+        }
+
+        public Builder maxIterations(final int iterations) {
+            this.configuration.setProperty(MAX_ITERATIONS, iterations);
+            return this;
+        }
+
+        public Builder edges(final Traversal.Admin<Vertex, Edge> edgeTraversal) {
+            PureTraversal.storeState(this.configuration, EDGE_TRAVERSAL, edgeTraversal);
+            return this;
+        }
+
+        /**
+         * The vertices for which the traversal has a result are the sources that the distances are measured from.
+         */
+        public Builder source(final Traversal.Admin<Vertex, ?> sourceTraversal) {
+            PureTraversal.storeState(this.configuration, SOURCE_TRAVERSAL, sourceTraversal);
+            return this;
+        }
+    }
+
+    ////////////////////////////
+
+    @Override
+    public Features getFeatures() {
+        return new Features() {
+            @Override
+            public boolean requiresLocalMessageScopes() {
+                return true;
+            }
+
+            @Override
+            public boolean requiresVertexPropertyAddition() {
+                return true;
+            }
+        };
+    }
+}
@@ -342,6 +342,25 @@ public final class TraversalVertexProgram implements VertexProgram<TraverserSet<
         }
     }
 
+    /**
+     * Traversers only move between vertices as messages, so after the first iteration a vertex with no messages has
+     * nothing to process.
+     */
+    @Override
+    public boolean usesActiveVertices() {
+        return true;
+    }
+
+    /**
+     * Every vertex is executed when the master traversal sent traversers back to the workers or completed a
+     * {@link LocalBarrier}, as those traversers are not messages.
+     */
+    @Override
+    public boolean requiresAllVertices(final Memory memory) {
+        return !memory.<TraverserSet<Object>>get(ACTIVE_TRAVERSERS).isEmpty() ||
+                memory.<Set<String>>get(COMPLETED_BARRIERS).stream().map(this.traversalMatrix::getStepById).anyMatch(step -> step instanceof LocalBarrier);
+    }
+
     @Override
     public Set<VertexComputeKey> getVertexComputeKeys() {
         return VERTEX_COMPUTE_KEYS;
@@ -30,29 +30,46 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ProfileStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalMetrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
-public abstract class VertexProgramStep extends AbstractStep<ComputerResult, ComputerResult> implements VertexComputing {
+public abstract class VertexProgramStep extends AbstractStep<ComputerResult, ComputerResult> implements VertexComputing, Profiling {
 
     public static final String ROOT_TRAVERSAL = "gremlin.vertexProgramStep.rootTraversal";
     public static final String STEP_ID = "gremlin.vertexProgramStep.stepId";
 
+    public static final String EXECUTED_VERTICES = "executedVertices";
+    public static final String SENT_MESSAGES = "sentMessages";
+    public static final String USED_MEMORY = "usedMemory";
+    private static final String COMPUTER_METRICS_SUFFIX = ".computer";
+
     protected Computer computer = Computer.compute();
 
     protected boolean first = true;
 
+    private MutableMetrics metrics = null;
+    private MutableMetrics computerMetrics = null;
+
     public VertexProgramStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -64,16 +81,18 @@ public abstract class VertexProgramStep extends AbstractStep<ComputerResult, Com
             if (this.first && this.getPreviousStep() instanceof EmptyStep) {
                 this.first = false;
                 final Graph graph = this.getTraversal().getGraph().get();
-                future = this.getComputer().apply(graph).program(this.generateProgram(graph, EmptyMemory.instance())).submit();
+                future = this.submit(this.getComputer().apply(graph).program(this.generateProgram(graph, EmptyMemory.instance())));
                 final ComputerResult result = future.get();
+                this.processComputerMetrics(result.memory());
                 this.processMemorySideEffects(result.memory());
                 return this.getTraversal().getTraverserGenerator().generate(result, this, 1l);
             } else {
                 final Traverser.Admin<ComputerResult> traverser = this.starts.next();
                 final Graph graph = traverser.get().graph();
                 final Memory memory = traverser.get().memory();
-                future = this.getComputer().apply(graph).program(this.generateProgram(graph, memory)).submit();
+                future = this.submit(this.getComputer().apply(graph).program(this.generateProgram(graph, memory)));
                 final ComputerResult result = future.get();
+                this.processComputerMetrics(result.memory());
                 this.processMemorySideEffects(result.memory());
                 return traverser.split(result, this);
             }
@@ -106,6 +125,14 @@ public abstract class VertexProgramStep extends AbstractStep<ComputerResult, Com
         this.computer = computer;
     }
 
+    /**
+     * The step is only given metrics when the traversal is profiled.
+     */
+    @Override
+    public void setMetrics(final MutableMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     protected boolean previousTraversalVertexProgram() {
         Step<?, ?> currentStep = this;
         while (!(currentStep instanceof EmptyStep)) {
@@ -128,6 +155,49 @@ public abstract class VertexProgramStep extends AbstractStep<ComputerResult, Com
         }
     }
 
+    private Future<ComputerResult> submit(final GraphComputer graphComputer) {
+        if (null == this.metrics) {
+            this.computerMetrics = null;
+            return graphComputer.submit();
+        }
+        final MutableMetrics computerMetrics = new MutableMetrics(this.getId() + COMPUTER_METRICS_SUFFIX, graphComputer.getClass().getSimpleName());
+        this.computerMetrics = computerMetrics;
+        return graphComputer.listener(iteration -> {
+            final MutableMetrics iterationMetrics = new MutableMetrics(computerMetrics.getId() + "." + iteration.getIteration(), "iteration " + iteration.getIteration());
+            iterationMetrics.setDuration(iteration.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            if (iteration.getExecutedVertices() >= 0)
+                iterationMetrics.setAnnotation(EXECUTED_VERTICES, iteration.getExecutedVertices());
+            if (iteration.getSentMessages() >= 0)
+                iterationMetrics.setAnnotation(SENT_MESSAGES, iteration.getSentMessages());
+            if (iteration.getUsedMemory() >= 0)
+                iterationMetrics.setAnnotation(USED_MEMORY, iteration.getUsedMemory());
+            computerMetrics.addNested(iterationMetrics);
+            computerMetrics.setDuration(computerMetrics.getDuration(TimeUnit.NANOSECONDS) + iteration.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }).submit();
+    }
+
+    /**
+     * The iterations of the {@link GraphComputer} are nested in the {@link TraversalMetrics} that the computation
+     * produced, either as a side-effect or as a halted traverser of {@code profile()}.
+     */
+    private void processComputerMetrics(final Memory memory) {
+        if (null == this.computerMetrics || this.computerMetrics.getNested().isEmpty())
+            return;
+        final Set<DefaultTraversalMetrics> traversalMetrics = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final String key : memory.keys()) {
+            final Object value = memory.get(key);
+            if (value instanceof DefaultTraversalMetrics)
+                traversalMetrics.add((DefaultTraversalMetrics) value);
+            else if (key.equals(TraversalVertexProgram.HALTED_TRAVERSERS)) {
+                for (final Traverser.Admin<?> traverser : (TraverserSet<?>) value) {
+                    if (traverser.get() instanceof DefaultTraversalMetrics)
+                        traversalMetrics.add((DefaultTraversalMetrics) traverser.get());
+                }
+            }
+        }
+        traversalMetrics.forEach(metrics -> metrics.addNested(this.computerMetrics));
+    }
+
     protected boolean isEndStep() {
         return this.getNextStep() instanceof ComputerResultStep || (this.getNextStep() instanceof ProfileStep && this.getNextStep().getNextStep() instanceof ComputerResultStep);
     }
@@ -0,0 +1,332 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal;
+
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.VertexComputing;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@code BytecodeTemplate} is a traversal with its strategies applied that can be reused for every {@link Bytecode}
+ * that only differs from the one it was compiled from in the values of its predicates. Those values are lifted out of
+ * the {@link Bytecode} by {@link #parameterize(Bytecode)}, much like {@link Bindings} would, which leaves a normalized
+ * {@link Bytecode} that can serve as a cache key. A request is then answered by {@link #bind(Parameters)} which
+ * clones the template and sets the values of the request into the clone.
+ * <p/>
+ * Only the predicates that are still held by the {@link HasContainer}s of the template after strategy application
+ * can be bound. The values of any other predicate (e.g. those of {@code is()}, which strategies may rewrite based on
+ * the value, or those that were merged into a new predicate) are fixed and a template only
+ * {@link #accepts(Parameters)} the parameters that have the same fixed values. Identifiers are always fixed as
+ * {@link HasContainer} converts them when they are tested as strings. Strategies are expected not to copy the value
+ * of a {@link HasContainer} predicate elsewhere.
+ * <p/>
+ * As the values are set into the predicates of a clone, a {@link HasContainerHolder} step must clone its
+ * {@link HasContainer}s (and so their predicates) in {@link Step#clone()}. A template is not compiled for a
+ * traversal whose clone shares a predicate with it, so that concurrent requests never bind the same predicate.
+ *
+ * @author agent (agent@local)
+ */
+public final class BytecodeTemplate {
+
+    private final Traversal.Admin<?, ?> template;
+    private final int[][] positions;
+    private final Map<Integer, P<?>> fixedValues = new HashMap<>();
+
+    private BytecodeTemplate(final Traversal.Admin<?, ?> traversal, final Parameters parameters) {
+        final List<P<?>> predicates = new ArrayList<>();
+        collectPredicates(traversal, predicates);
+        final List<P<?>> values = parameters.getValues();
+        final Map<P<?>, Integer> occurrences = new IdentityHashMap<>();
+        values.forEach(value -> occurrences.merge(value, 1, Integer::sum));
+        this.positions = new int[values.size()][];
+        for (int i = 0; i < values.size(); i++) {
+            final P<?> value = values.get(i);
+            final List<Integer> found = new ArrayList<>();
+            if (1 == occurrences.get(value)) {
+                for (int j = 0; j < predicates.size(); j++) {
+                    if (predicates.get(j) == value)
+                        found.add(j);
+                }
+            }
+            if (found.isEmpty())
+                this.fixedValues.put(i, value.clone());
+            else
+                this.positions[i] = found.stream().mapToInt(Integer::intValue).toArray();
+        }
+        // the traversal is cloned before it is iterated so that the template is never executed
+        this.template = traversal.clone();
+    }
+
+    /**
+     * Compiles a template from a traversal that was translated from {@link Parameters#getBytecode()} and that has
+     * had its strategies applied, but that has not yet been iterated. Traversals that are executed by a
+     * {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer} keep an uncompiled copy of their
+     * traversal, which can not be bound, so no template is produced for them.
+     */
+    public static Optional<BytecodeTemplate> compile(final Traversal.Admin<?, ?> traversal, final Parameters parameters) {
+        if (!traversal.isLocked())
+            throw new IllegalArgumentException("The traversal must have its strategies applied to be compiled into a template: " + traversal);
+        if (TraversalHelper.hasStepOfAssignableClassRecursively(VertexComputing.class, traversal))
+            return Optional.empty();
+        final BytecodeTemplate template = new BytecodeTemplate(traversal, parameters);
+        return template.clonesPredicates() ? Optional.of(template) : Optional.empty();
+    }
+
+    /**
+     * Determines if a clone of the template has its own instances of the predicates that are bound, which is not the
+     * case when a {@link HasContainerHolder} step shares its {@link HasContainer}s with its clones.
+     */
+    private boolean clonesPredicates() {
+        final List<P<?>> predicates = new ArrayList<>();
+        collectPredicates(this.template, predicates);
+        final List<P<?>> clonedPredicates = new ArrayList<>();
+        collectPredicates(this.template.clone(), clonedPredicates);
+        if (predicates.size() != clonedPredicates.size())
+            return false;
+        for (final int[] positions : this.positions) {
+            if (null == positions)
+                continue;
+            for (final int position : positions) {
+                if (predicates.get(position) == clonedPredicates.get(position))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if the parameters have the same values as the template for those predicates that it can not bind.
+     */
+    public boolean accepts(final Parameters parameters) {
+        if (parameters.getValues().size() != this.positions.length)
+            return false;
+        for (final Map.Entry<Integer, P<?>> fixedValue : this.fixedValues.entrySet()) {
+            if (!fixedValue.getValue().equals(parameters.getValues().get(fixedValue.getKey())))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Clones the template and sets the values of the parameters into the predicates of the clone. The
+     * {@link Traversal.Admin#getBytecode()} of the clone remains that of the template.
+     */
+    public <S, E> Traversal.Admin<S, E> bind(final Parameters parameters) {
+        if (!this.accepts(parameters))
+            throw new IllegalArgumentException("The parameters do not match the fixed values of the template: " + parameters.getValues());
+        final Traversal.Admin<S, E> traversal = (Traversal.Admin<S, E>) this.template.clone();
+        final List<P<?>> predicates = new ArrayList<>();
+        collectPredicates(traversal, predicates);
+        for (int i = 0; i < this.positions.length; i++) {
+            if (null == this.positions[i])
+                continue;
+            final P value = parameters.getValues().get(i);
+            for (final int position : this.positions[i]) {
+                final P predicate = predicates.get(position);
+                predicate.value = value.value;
+                predicate.originalValue = value.originalValue;
+            }
+        }
+        return traversal;
+    }
+
+    /**
+     * Lifts the values of the predicates out of the {@link Bytecode}. The value of a {@code has()} that is not given
+     * as a predicate is lifted as {@link P#eq(Object)}.
+     */
+    public static Parameters parameterize(final Bytecode bytecode) {
+        final Bytecode parameterized = new Bytecode();
+        final Bytecode normalized = new Bytecode();
+        final List<P<?>> values = new ArrayList<>();
+        for (final Bytecode.Instruction instruction : bytecode.getSourceInstructions()) {
+            final Object[][] arguments = parameterize(instruction, values);
+            parameterized.addSource(instruction.getOperator(), arguments[0]);
+            normalized.addSource(instruction.getOperator(), arguments[1]);
+        }
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            final Object[][] arguments = parameterize(instruction, values);
+            parameterized.addStep(instruction.getOperator(), arguments[0]);
+            normalized.addStep(instruction.getOperator(), arguments[1]);
+        }
+        return new Parameters(parameterized, normalized, values);
+    }
+
+    private static Object[][] parameterize(final Bytecode.Instruction instruction, final List<P<?>> values) {
+        final Object[] arguments = instruction.getArguments();
+        final Object[] parameterized = new Object[arguments.length];
+        final Object[] normalized = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            Object argument = arguments[i];
+            if (argument instanceof Bytecode.Binding && isLiftable(((Bytecode.Binding) argument).value()))
+                argument = ((Bytecode.Binding) argument).value();
+            // has(key,value) and has(label,key,value) test the value for equality
+            if (instruction.getOperator().equals(GraphTraversal.Symbols.has) && i > 0 && i == arguments.length - 1 && isLiteral(argument))
+                argument = P.eq(argument);
+            if (argument instanceof Bytecode) {
+                final Parameters nested = parameterize((Bytecode) argument);
+                values.addAll(nested.getValues());
+                parameterized[i] = nested.getBytecode();
+                normalized[i] = nested.getNormalizedBytecode();
+            } else if (argument instanceof P) {
+                collectLeaves((P<?>) argument, values);
+                parameterized[i] = argument;
+                normalized[i] = new Parameter((P<?>) argument);
+            } else {
+                parameterized[i] = arguments[i];
+                normalized[i] = arguments[i];
+            }
+        }
+        return new Object[][]{parameterized, normalized};
+    }
+
+    private static boolean isLiftable(final Object argument) {
+        return argument instanceof P || isLiteral(argument);
+    }
+
+    private static boolean isLiteral(final Object argument) {
+        return argument instanceof String || argument instanceof Number || argument instanceof Boolean;
+    }
+
+    private static void collectLeaves(final P<?> predicate, final List<P<?>> leaves) {
+        if (predicate instanceof ConnectiveP) {
+            for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                collectLeaves(p, leaves);
+            }
+        } else
+            leaves.add(predicate);
+    }
+
+    private static void collectPredicates(final Traversal.Admin<?, ?> traversal, final List<P<?>> predicates) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    if (!hasContainer.getKey().equals(T.id.getAccessor()))
+                        collectLeaves(hasContainer.getPredicate(), predicates);
+                }
+            }
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    collectPredicates(child, predicates);
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    collectPredicates(child, predicates);
+                }
+            }
+        }
+    }
+
+    /**
+     * The predicate values of a {@link Bytecode} along with the {@link Bytecode} to translate and the normalized
+     * {@link Bytecode} in which every predicate is reduced to its type and the type of its value.
+     */
+    public static final class Parameters {
+
+        private final Bytecode bytecode;
+        private final Bytecode normalizedBytecode;
+        private final List<P<?>> values;
+
+        private Parameters(final Bytecode bytecode, final Bytecode normalizedBytecode, final List<P<?>> values) {
+            this.bytecode = bytecode;
+            this.normalizedBytecode = normalizedBytecode;
+            this.values = Collections.unmodifiableList(values);
+        }
+
+        /**
+         * Gets the {@link Bytecode} to translate, which holds the predicates of {@link #getValues()}.
+         */
+        public Bytecode getBytecode() {
+            return this.bytecode;
+        }
+
+        /**
+         * Gets the {@link Bytecode} without the predicate values which is equal for all the {@link Bytecode} that can
+         * share a template.
+         */
+        public Bytecode getNormalizedBytecode() {
+            return this.normalizedBytecode;
+        }
+
+        public List<P<?>> getValues() {
+            return this.values;
+        }
+    }
+
+    /**
+     * Stands in for a predicate in a normalized {@link Bytecode}.
+     */
+    private static final class Parameter {
+
+        private final Class<?> predicateClass;
+        private final Object biPredicate;
+        private final Class<?> valueClass;
+        private final List<Parameter> children;
+
+        private Parameter(final P<?> predicate) {
+            this.predicateClass = predicate.getClass();
+            if (predicate instanceof ConnectiveP) {
+                this.biPredicate = null;
+                this.valueClass = null;
+                this.children = new ArrayList<>();
+                for (final P<?> p : ((ConnectiveP<?>) predicate).getPredicates()) {
+                    this.children.add(new Parameter(p));
+                }
+            } else {
+                this.biPredicate = predicate.getBiPredicate();
+                this.valueClass = null == predicate.getValue() ? null : predicate.getValue().getClass();
+                this.children = Collections.emptyList();
+            }
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Parameter &&
+                    this.predicateClass.equals(((Parameter) other).predicateClass) &&
+                    Objects.equals(this.biPredicate, ((Parameter) other).biPredicate) &&
+                    Objects.equals(this.valueClass, ((Parameter) other).valueClass) &&
+                    this.children.equals(((Parameter) other).children);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(new Object[]{this.predicateClass, this.biPredicate, this.valueClass, this.children});
+        }
+
+        @Override
+        public String toString() {
+            return this.children.isEmpty() ?
+                    this.biPredicate + "(" + (null == this.valueClass ? null : this.valueClass.getSimpleName()) + ")" :
+                    this.predicateClass.getSimpleName() + this.children;
+        }
+    }
+}
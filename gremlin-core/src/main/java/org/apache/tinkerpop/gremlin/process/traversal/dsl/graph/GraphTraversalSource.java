@@ -33,6 +33,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.AddVertexStartSte
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.InjectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.RequirementsStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelismStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -67,6 +68,7 @@ public class GraphTraversalSource implements TraversalSource {
         }
 
         public static final String withBulk = "withBulk";
+        public static final String withParallelism = "withParallelism";
         public static final String withPath = "withPath";
 
     }
@@ -211,6 +213,21 @@ public class GraphTraversalSource implements TraversalSource {
         return clone;
     }
 
+    /**
+     * Executes the steps that lead from the start {@code V()} or {@code E()} of a traversal to its first reducing,
+     * collecting or {@code dedup()} barrier on the given number of threads.
+     *
+     * @param parallelism the number of threads
+     * @return the traversal source with a {@link ParallelismStrategy}
+     * @since 3.3.1
+     */
+    public GraphTraversalSource withParallelism(final int parallelism) {
+        final GraphTraversalSource clone = this.clone();
+        clone.getStrategies().addStrategies(ParallelismStrategy.build().parallelism(parallelism).create());
+        clone.bytecode.addSource(Symbols.withParallelism, parallelism);
+        return clone;
+    }
+
     public GraphTraversalSource withPath() {
         final GraphTraversalSource clone = this.clone();
         RequirementsStrategy.addRequirements(clone.getStrategies(), TraverserRequirement.PATH);
@@ -28,7 +28,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.GraphComputing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.PathProcessor;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MemoryBudget;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
@@ -38,19 +41,23 @@ import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor {
+public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, GraphComputing, Barrier<Map<Object, Traverser.Admin<S>>>, ByModulating, PathProcessor, Spilling {
+
+    private static final int PARTITIONS = 16;
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
     private Set<Object> duplicateSet = new HashSet<>();
@@ -60,6 +67,11 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     private boolean executingAtMaster = false;
     private Map<Object, Traverser.Admin<S>> barrier;
     private Iterator<Map.Entry<Object, Traverser.Admin<S>>> barrierIterator;
+    private MemoryBudget memoryBudget = null;
+    private long memoryUsed = 0L;
+    private SpillFile[] partitions = null;
+    private long deferred = 0L;
+    private Iterator<Traverser.Admin<S>> deferredIterator = null;
 
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
@@ -70,15 +82,129 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     protected boolean filter(final Traverser.Admin<S> traverser) {
         if (this.onGraphComputer && !this.executingAtMaster) return true;
         traverser.setBulk(1L);
+        final Object object;
         if (null == this.dedupLabels) {
-            return this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
+            object = TraversalUtil.applyNullable(traverser, this.dedupTraversal);
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             this.dedupLabels.forEach(label -> objects.add(TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, label, traverser), this.dedupTraversal)));
-            return this.duplicateSet.add(objects);
+            object = objects;
+        }
+        return null == this.memoryBudget ? this.duplicateSet.add(object) : this.spillingFilter(object, traverser);
+    }
+
+    /**
+     * Once the budget is used up, the traversers of the objects that have not been seen yet are deferred to the
+     * partitions on disk that their objects hash to. The objects that the budget admitted are the first ones that
+     * were seen, so the deferred traversers are emitted after the starts of the step are exhausted and in the order
+     * that their objects were first seen.
+     */
+    private boolean spillingFilter(final Object object, final Traverser.Admin<S> traverser) {
+        if (this.duplicateSet.contains(object))
+            return false;
+        if (null == this.partitions && this.memoryBudget.tryAcquire()) {
+            this.memoryUsed++;
+            return this.duplicateSet.add(object);
+        }
+        if (null == this.partitions)
+            this.partitions = new SpillFile[PARTITIONS];
+        final int partition = null == object ? 0 : (object.hashCode() & Integer.MAX_VALUE) % PARTITIONS;
+        if (null == this.partitions[partition])
+            this.partitions[partition] = this.memoryBudget.createSpillFile();
+        this.partitions[partition].write(this.deferred++);
+        this.partitions[partition].write(object);
+        this.partitions[partition].write(traverser);
+        return false;
+    }
+
+    private Traverser.Admin<S> nextDeferred() {
+        if (null == this.deferredIterator)
+            this.deferredIterator = this.mergePartitions();
+        if (this.deferredIterator.hasNext())
+            return this.deferredIterator.next();
+        this.closePartitions();
+        throw FastNoSuchElementException.instance();
+    }
+
+    /**
+     * Deduplicates one partition at a time into a file of the first traversers of its objects and merges those files
+     * by the order in which the traversers were deferred.
+     */
+    private Iterator<Traverser.Admin<S>> mergePartitions() {
+        final PriorityQueue<Deferred> queue = new PriorityQueue<>(PARTITIONS, Comparator.comparingLong(deferred -> deferred.sequence));
+        for (int i = 0; i < PARTITIONS; i++) {
+            if (null == this.partitions[i])
+                continue;
+            final SpillFile firsts = this.memoryBudget.createSpillFile();
+            final Set<Object> objects = new HashSet<>();
+            final Iterator<Object> iterator = this.partitions[i].iterator(this.getTraversal());
+            while (iterator.hasNext()) {
+                final Object sequence = iterator.next();
+                final Object object = iterator.next();
+                final Object traverser = iterator.next();
+                if (objects.add(object)) {
+                    firsts.write(sequence);
+                    firsts.write(traverser);
+                }
+            }
+            this.partitions[i].close();
+            this.partitions[i] = firsts;
+            new Deferred(firsts.iterator(this.getTraversal())).offerTo(queue);
+        }
+        return new Iterator<Traverser.Admin<S>>() {
+            @Override
+            public boolean hasNext() {
+                return !queue.isEmpty();
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                final Deferred deferred = queue.remove();
+                final Traverser.Admin<S> traverser = deferred.traverser;
+                deferred.offerTo(queue);
+                return traverser;
+            }
+        };
+    }
+
+    private void closePartitions() {
+        if (null != this.partitions) {
+            for (final SpillFile partition : this.partitions) {
+                if (null != partition)
+                    partition.close();
+            }
+            this.partitions = null;
+        }
+        this.deferred = 0L;
+        this.deferredIterator = null;
+    }
+
+    @Override
+    public void setMemoryBudget(final MemoryBudget memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    @Override
+    public MemoryBudget getMemoryBudget() {
+        return this.memoryBudget;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            this.releaseSpill();
+        } finally {
+            TraversalParent.super.close();
         }
     }
 
+    private void releaseSpill() {
+        this.closePartitions();
+        if (null != this.memoryBudget)
+            this.memoryBudget.release(this.memoryUsed);
+        this.memoryUsed = 0L;
+    }
+
     @Override
     public void atMaster(final boolean atMaster) {
         this.executingAtMaster = atMaster;
@@ -102,7 +228,15 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
             if (this.duplicateSet.add(entry.getKey()))
                 return PathProcessor.processTraverserPathLabels(entry.getValue(), this.keepLabels);
         }
-        return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        if (null != this.deferredIterator)
+            return PathProcessor.processTraverserPathLabels(this.nextDeferred(), this.keepLabels);
+        try {
+            return PathProcessor.processTraverserPathLabels(super.processNextStart(), this.keepLabels);
+        } catch (final NoSuchElementException e) {
+            if (null == this.partitions)
+                throw e;
+            return PathProcessor.processTraverserPathLabels(this.nextDeferred(), this.keepLabels);
+        }
     }
 
     @Override
@@ -119,6 +253,10 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
         clone.duplicateSet = new HashSet<>();
+        clone.memoryUsed = 0L;
+        clone.partitions = null;
+        clone.deferred = 0L;
+        clone.deferredIterator = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = this.dedupTraversal.clone();
         return clone;
@@ -146,6 +284,7 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
         this.duplicateSet.clear();
         this.barrier = null;
         this.barrierIterator = null;
+        this.releaseSpill();
     }
 
     @Override
@@ -231,4 +370,25 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     public Set<String> getKeepLabels() {
         return this.keepLabels;
     }
+
+    ////////////////
+
+    private final class Deferred {
+
+        private final Iterator<Object> iterator;
+        private long sequence;
+        private Traverser.Admin<S> traverser;
+
+        private Deferred(final Iterator<Object> iterator) {
+            this.iterator = iterator;
+        }
+
+        private void offerTo(final PriorityQueue<Deferred> queue) {
+            if (this.iterator.hasNext()) {
+                this.sequence = (Long) this.iterator.next();
+                this.traverser = (Traverser.Admin<S>) this.iterator.next();
+                queue.add(this);
+            }
+        }
+    }
 }
@@ -29,8 +29,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MemoryBudget;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
@@ -39,7 +42,9 @@ import org.apache.tinkerpop.gremlin.util.function.HashMapSupplier;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -48,12 +53,17 @@ import java.util.function.BinaryOperator;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent {
+public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>> implements ByModulating, TraversalParent, Spilling {
+
+    private static final int PARTITIONS = 16;
 
     private char state = 'k';
     private Traversal.Admin<S, K> keyTraversal;
     private Traversal.Admin<S, V> valueTraversal;
     private Barrier barrierStep;
+    private MemoryBudget memoryBudget = null;
+    private long memoryUsed = 0L;
+    private SpillFile[] partitions = null;
 
     public GroupStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -91,6 +101,102 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         return map;
     }
 
+    @Override
+    public void processAllStarts() {
+        if (null != this.memoryBudget) {
+            while (this.starts.hasNext()) {
+                if (null == this.seed) this.seed = this.getSeedSupplier().get();
+                this.seed = this.getBiOperator().apply(this.seed, this.projectTraverser(this.starts.next()));
+                if (this.seed.size() > this.memoryUsed) {
+                    if (this.memoryBudget.tryAcquire())
+                        this.memoryUsed++;
+                    else
+                        this.spill(this.seed);
+                }
+            }
+        }
+        super.processAllStarts();
+    }
+
+    /**
+     * Appends the keys and the unreduced values of the map to the partitions on disk that their keys hash to.
+     */
+    private void spill(final Map<K, V> map) {
+        if (null == this.partitions)
+            this.partitions = new SpillFile[PARTITIONS];
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            final int partition = null == entry.getKey() ? 0 : (entry.getKey().hashCode() & Integer.MAX_VALUE) % PARTITIONS;
+            if (null == this.partitions[partition])
+                this.partitions[partition] = this.memoryBudget.createSpillFile();
+            this.partitions[partition].write(entry.getKey());
+            this.partitions[partition].write(entry.getValue());
+        }
+        map.clear();
+        this.memoryBudget.release(this.memoryUsed);
+        this.memoryUsed = 0L;
+    }
+
+    /**
+     * Reduces the groups of one partition on disk at a time. All the keys of a group are in the same partition so
+     * only the unreduced values of that partition are in memory with the final result.
+     */
+    private Map<K, V> mergePartitions(final Map<K, V> map) {
+        this.spill(map);
+        final Map<K, V> result = new HashMap<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            if (null == this.partitions[i])
+                continue;
+            final Map<K, V> partition = new HashMap<>();
+            final Iterator<Object> iterator = this.partitions[i].iterator(this.getTraversal());
+            while (iterator.hasNext()) {
+                final K key = (K) iterator.next();
+                this.getBiOperator().apply(partition, Collections.singletonMap(key, (V) iterator.next()));
+            }
+            this.partitions[i].close();
+            this.partitions[i] = null;
+            result.putAll(GroupStep.doFinalReduction((Map<K, Object>) partition, this.valueTraversal));
+        }
+        return result;
+    }
+
+    private void closePartitions() {
+        if (null != this.partitions) {
+            for (final SpillFile partition : this.partitions) {
+                if (null != partition)
+                    partition.close();
+            }
+            this.partitions = null;
+        }
+        if (null != this.memoryBudget)
+            this.memoryBudget.release(this.memoryUsed);
+        this.memoryUsed = 0L;
+    }
+
+    @Override
+    public void setMemoryBudget(final MemoryBudget memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    @Override
+    public MemoryBudget getMemoryBudget() {
+        return this.memoryBudget;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            this.closePartitions();
+        } finally {
+            TraversalParent.super.close();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.closePartitions();
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.keyTraversal, this.valueTraversal);
@@ -117,6 +223,8 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             clone.keyTraversal = this.keyTraversal.clone();
         clone.valueTraversal = this.valueTraversal.clone();
         clone.barrierStep = TraversalHelper.getFirstStepOfAssignableClass(Barrier.class, clone.valueTraversal).orElse(null);
+        clone.memoryUsed = 0L;
+        clone.partitions = null;
         return clone;
     }
 
@@ -137,7 +245,11 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
     @Override
     public Map<K, V> generateFinalResult(final Map<K, V> object) {
-        return GroupStep.doFinalReduction((Map<K, Object>) object, this.valueTraversal);
+        final Map<K, V> result = null == this.partitions ?
+                GroupStep.doFinalReduction((Map<K, Object>) object, this.valueTraversal) :
+                this.mergePartitions(object);
+        this.closePartitions();
+        return result;
     }
 
     ///////////////////////
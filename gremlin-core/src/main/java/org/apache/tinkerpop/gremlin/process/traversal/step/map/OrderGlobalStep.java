@@ -25,14 +25,19 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ByModulating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MemoryBudget;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.MultiComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.javatuples.Pair;
 
 import java.io.Serializable;
@@ -41,6 +46,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.stream.Collectors;
@@ -48,11 +54,15 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating {
+public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBarrierStep<S> implements ComparatorHolder<S, C>, TraversalParent, ByModulating, Spilling {
 
     private List<Pair<Traversal.Admin<S, C>, Comparator<C>>> comparators = new ArrayList<>();
     private MultiComparator<C> multiComparator = null;
     private long limit = Long.MAX_VALUE;
+    private MemoryBudget memoryBudget = null;
+    private long memoryUsed = 0L;
+    private List<SpillFile> spillFiles = new ArrayList<>();
+    private RunMerge runMerge = null;
 
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -72,9 +82,86 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
     public void processAllStarts() {
         while (this.starts.hasNext()) {
             this.traverserSet.add(this.createProjectedTraverser(this.starts.next()));
+            if (null != this.memoryBudget && this.traverserSet.size() > this.memoryUsed) {
+                if (this.memoryBudget.tryAcquire())
+                    this.memoryUsed++;
+                else
+                    this.spill();
+            }
+        }
+    }
+
+    @Override
+    public Traverser.Admin<S> processNextStart() {
+        if (null == this.memoryBudget)
+            return super.processNextStart();
+        while (true) {
+            if (null != this.runMerge) {
+                if (this.runMerge.hasNext())
+                    return ProjectedTraverser.tryUnwrap(this.runMerge.next());
+                this.closeSpillFiles();
+            }
+            if (this.traverserSet.isEmpty() && !this.starts.hasNext())
+                throw FastNoSuchElementException.instance();
+            this.processAllStarts();
+            this.barrierConsumer(this.traverserSet);
+            this.runMerge = new RunMerge();
+        }
+    }
+
+    /**
+     * Writes the traverser set to a sorted run on disk. A shuffled order does not need to be merged so it is never
+     * spilled.
+     */
+    private void spill() {
+        if (null == this.multiComparator) this.multiComparator = this.createMultiComparator();
+        if (this.multiComparator.isShuffle())
+            return;
+        this.barrierConsumer(this.traverserSet);
+        final SpillFile spillFile = this.memoryBudget.createSpillFile();
+        this.spillFiles.add(spillFile);
+        for (final Traverser.Admin<S> traverser : this.traverserSet) {
+            spillFile.write(traverser);
+        }
+        this.traverserSet.clear();
+        this.memoryBudget.release(this.memoryUsed);
+        this.memoryUsed = 0L;
+    }
+
+    private void closeSpillFiles() {
+        this.spillFiles.forEach(SpillFile::close);
+        this.spillFiles.clear();
+        this.runMerge = null;
+        if (null != this.memoryBudget)
+            this.memoryBudget.release(this.memoryUsed);
+        this.memoryUsed = 0L;
+    }
+
+    @Override
+    public void setMemoryBudget(final MemoryBudget memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    @Override
+    public MemoryBudget getMemoryBudget() {
+        return this.memoryBudget;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            this.closeSpillFiles();
+        } finally {
+            TraversalParent.super.close();
         }
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeSpillFiles();
+    }
+
     public void setLimit(final long limit) {
         this.limit = limit;
     }
@@ -134,6 +221,9 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
         for (final Pair<Traversal.Admin<S, C>, Comparator<C>> comparator : this.comparators) {
             clone.comparators.add(new Pair<>(comparator.getValue0().clone(), comparator.getValue1()));
         }
+        clone.memoryUsed = 0L;
+        clone.spillFiles = new ArrayList<>();
+        clone.runMerge = null;
         return clone;
     }
 
@@ -167,6 +257,62 @@ public final class OrderGlobalStep<S, C extends Comparable> extends CollectingBa
 
     ////////////////
 
+    /**
+     * Merges the sorted runs on disk with the sorted traverser set in memory. Traversers that compare as equal are
+     * taken from the earliest run so that the merge is as stable as the sort of a single traverser set.
+     */
+    private final class RunMerge implements Iterator<Traverser.Admin<S>> {
+
+        private final PriorityQueue<Run> queue;
+
+        private RunMerge() {
+            final List<Iterator<Traverser.Admin<S>>> iterators = new ArrayList<>(spillFiles.size() + 1);
+            for (final SpillFile spillFile : spillFiles) {
+                iterators.add((Iterator) spillFile.iterator(getTraversal()));
+            }
+            iterators.add(IteratorUtils.removeOnNext(traverserSet.iterator()));
+            this.queue = new PriorityQueue<>(iterators.size(), (runA, runB) -> {
+                final int comparison = multiComparator.compare((C) runA.head, (C) runB.head);
+                return 0 != comparison ? comparison : Integer.compare(runA.index, runB.index);
+            });
+            for (int i = 0; i < iterators.size(); i++) {
+                if (iterators.get(i).hasNext())
+                    this.queue.add(new Run(i, iterators.get(i)));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.queue.isEmpty();
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            final Run run = this.queue.remove();
+            final Traverser.Admin<S> traverser = run.head;
+            if (run.iterator.hasNext()) {
+                run.head = run.iterator.next();
+                this.queue.add(run);
+            }
+            return traverser;
+        }
+    }
+
+    private final class Run {
+
+        private final int index;
+        private final Iterator<Traverser.Admin<S>> iterator;
+        private Traverser.Admin<S> head;
+
+        private Run(final int index, final Iterator<Traverser.Admin<S>> iterator) {
+            this.index = index;
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+    }
+
+    ////////////////
+
     public static final class OrderBiOperator<S> implements BinaryOperator<TraverserSet<S>>, Serializable {
 
         private long limit;
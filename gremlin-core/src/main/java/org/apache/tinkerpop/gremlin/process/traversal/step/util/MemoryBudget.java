@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@code MemoryBudget} bounds the number of entries that the {@link Spilling} steps of a traversal hold in memory.
+ * The steps share the budget and acquire an entry at a time. A step that can not acquire an entry writes its entries
+ * to a {@link SpillFile} in the directory of the budget and releases them.
+ *
+ * @author agent (agent@local)
+ */
+public final class MemoryBudget implements Serializable {
+
+    private final long limit;
+    private final String directory;
+    private final AtomicLong used = new AtomicLong(0L);
+
+    public MemoryBudget(final long limit, final String directory) {
+        if (limit < 0)
+            throw new IllegalArgumentException("The memory budget can not be negative: " + limit);
+        this.limit = limit;
+        this.directory = directory;
+    }
+
+    /**
+     * Acquires an entry of the budget.
+     *
+     * @return {@code false} if the budget is used up
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final long current = this.used.get();
+            if (current >= this.limit)
+                return false;
+            if (this.used.compareAndSet(current, current + 1))
+                return true;
+        }
+    }
+
+    /**
+     * Releases entries that were acquired with {@link #tryAcquire()}.
+     */
+    public void release(final long entries) {
+        this.used.addAndGet(-entries);
+    }
+
+    public long getLimit() {
+        return this.limit;
+    }
+
+    public long getUsed() {
+        return this.used.get();
+    }
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    public SpillFile createSpillFile() {
+        return new SpillFile(new File(this.directory));
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code ParallelStep} sits in front of the first {@link ReducingBarrierStep}, {@link CollectingBarrierStep} or
+ * {@link DedupGlobalStep} of a traversal that starts with a {@link GraphStep} and executes the steps between the two
+ * on multiple threads. Every thread works on its own clone of the traversal and takes chunks of traversers from the
+ * shared {@link GraphStep}. A reducing or collecting barrier is computed for every chunk and the barriers are merged
+ * into the following step with {@link Barrier#addBarrier(Object)} in the order of the chunks, so that the result is
+ * the one of a single thread. The traversers of a {@link DedupGlobalStep} are passed on to it in the same order.
+ * <p/>
+ * The threads are taken from a pool of daemon threads that is shared by all the {@code ParallelStep} instances of the
+ * JVM, so executing a traversal does not start any threads once the pool has grown to the parallelism in use.
+ *
+ * @author agent (agent@local)
+ */
+public final class ParallelStep<S> extends AbstractStep<S, S> {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+    private static final ThreadFactory THREAD_FACTORY = runnable -> {
+        final Thread thread = new Thread(runnable, "gremlin-parallel-" + THREAD_COUNTER.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    };
+    // the workers never wait on one another so the pool can be shared without bounding it
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(THREAD_FACTORY);
+
+    private final int parallelism;
+    private final int chunkSize;
+    private int chunkCount = 0;
+    private boolean executed = false;
+    private Iterator<Traverser.Admin<S>> traversers = EmptyIterator.instance();
+
+    public ParallelStep(final Traversal.Admin traversal, final int parallelism, final int chunkSize) {
+        super(traversal);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart() {
+        if (!this.executed) {
+            this.executed = true;
+            this.traversers = this.execute();
+        }
+        if (this.traversers.hasNext())
+            return this.traversers.next();
+        throw FastNoSuchElementException.instance();
+    }
+
+    private Iterator<Traverser.Admin<S>> execute() {
+        final int index = this.traversal.getSteps().indexOf(this);
+        final Map<Integer, Object> barriers = new ConcurrentHashMap<>();
+        // the clones are made up front as a worker that already pulls on the graph step must not race the cloning
+        final List<Traversal.Admin<?, ?>> clones = new ArrayList<>(this.parallelism);
+        for (int i = 0; i < this.parallelism; i++) {
+            clones.add(this.traversal.clone());
+        }
+        final List<Future<?>> futures = new ArrayList<>(this.parallelism);
+        try {
+            for (final Traversal.Admin<?, ?> clone : clones) {
+                futures.add(EXECUTOR.submit(() -> this.work(clone, index, barriers)));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            throw new TraversalInterruptedException();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            else if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            else
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            // the workers that are still running after a failure are interrupted
+            for (final Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        final Step<S, ?> barrierStep = this.getNextStep();
+        final List<Traverser.Admin<S>> traversers = new ArrayList<>();
+        for (int i = 0; i < this.chunkCount; i++) {
+            final Object barrier = barriers.get(i);
+            if (null == barrier)
+                continue;
+            if (barrierStep instanceof DedupGlobalStep) {
+                for (final Traverser.Admin<S> traverser : (List<Traverser.Admin<S>>) barrier) {
+                    traverser.setSideEffects(this.traversal.getSideEffects());
+                    traversers.add(traverser);
+                }
+            } else
+                ((Barrier) barrierStep).addBarrier(barrier);
+        }
+        return traversers.iterator();
+    }
+
+    private void work(final Traversal.Admin<?, ?> clone, final int index, final Map<Integer, Object> barriers) {
+        // the clone of this step is cut out so that the steps in front of it feed the clone of the barrier step
+        final Step lastStep = clone.getSteps().get(index - 1);
+        final Step barrierStep = clone.getSteps().get(index + 1);
+        final Step firstStep;
+        if (index > 1) {
+            firstStep = clone.getSteps().get(1);
+            firstStep.setPreviousStep(EmptyStep.instance());
+            lastStep.setNextStep(barrierStep);
+            barrierStep.setPreviousStep(lastStep);
+        } else {
+            firstStep = barrierStep;
+            barrierStep.setPreviousStep(EmptyStep.instance());
+        }
+        final List<Traverser.Admin> chunk = new ArrayList<>(this.chunkSize);
+        while (true) {
+            chunk.clear();
+            final int chunkIndex = this.nextChunk(chunk);
+            if (chunk.isEmpty())
+                return;
+            firstStep.addStarts(chunk.iterator());
+            final Object barrier = barrierStep instanceof DedupGlobalStep ?
+                    drain(lastStep) :
+                    nextBarrier((AbstractStep) barrierStep);
+            if (null != barrier)
+                barriers.put(chunkIndex, barrier);
+        }
+    }
+
+    private synchronized int nextChunk(final List<Traverser.Admin> chunk) {
+        final Step<?, ?> graphStep = this.traversal.getStartStep();
+        while (chunk.size() < this.chunkSize && graphStep.hasNext()) {
+            chunk.add(graphStep.next());
+        }
+        return this.chunkCount++;
+    }
+
+    private static List<Traverser.Admin> drain(final Step<?, ?> step) {
+        final List<Traverser.Admin> traversers = new ArrayList<>();
+        while (step.hasNext()) {
+            traversers.add(step.next());
+        }
+        return traversers.isEmpty() ? null : traversers;
+    }
+
+    private static Object nextBarrier(final AbstractStep<?, ?> barrierStep) {
+        if (!barrierStep.starts.hasNext())
+            return null;
+        if (barrierStep instanceof CollectingBarrierStep) {
+            // the traversers are not detached as nextBarrier() would do for a GraphComputer
+            final CollectingBarrierStep<?> collectingStep = (CollectingBarrierStep) barrierStep;
+            final TraverserSet traverserSet = new TraverserSet<>();
+            while (collectingStep.starts.hasNext()) {
+                collectingStep.processAllStarts();
+                traverserSet.addAll(collectingStep.traverserSet);
+                collectingStep.traverserSet.clear();
+            }
+            return traverserSet;
+        } else {
+            ((Barrier) barrierStep).processAllStarts();
+            return ((Barrier) barrierStep).nextBarrier();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.chunkCount = 0;
+        this.executed = false;
+        this.traversers = EmptyIterator.instance();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.parallelism);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.parallelism ^ this.chunkSize;
+    }
+}
@@ -38,7 +38,7 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
     protected Supplier<E> seedSupplier;
     protected BinaryOperator<E> reducingBiOperator;
     private boolean hasProcessedOnce = false;
-    private E seed = null;
+    protected E seed = null;
 
     public ReducingBarrierStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.ProjectedTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoPool;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@code SpillFile} is a temporary file of Gryo serialized objects that a {@link org.apache.tinkerpop.gremlin.process.traversal.step.Spilling}
+ * step writes the entries that do not fit in its {@link MemoryBudget} to. Graph elements are written as references
+ * and they are attached to the graph of the traversal again when the file is read. The file is written once, read
+ * once and deleted when it is closed.
+ *
+ * @author agent (agent@local)
+ */
+public final class SpillFile implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final GryoPool GRYO_POOL = GryoPool.build()
+            .version(GryoVersion.V3_0)
+            .poolSize(Runtime.getRuntime().availableProcessors())
+            .type(GryoPool.Type.READER)
+            .initializeMapper(builder -> builder.registrationRequired(false))
+            .create();
+
+    private final File file;
+    private Output output;
+    private Input input = null;
+    private long size = 0L;
+
+    SpillFile(final File directory) {
+        try {
+            this.file = File.createTempFile("gremlin-spill-", ".gryo", directory);
+            this.output = new Output(new FileOutputStream(this.file), BUFFER_SIZE);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Appends the object to the file. Traversers, graph elements and the collections that hold them are detached
+     * while they are written.
+     */
+    public void write(final Object object) {
+        if (null == this.output)
+            throw new IllegalStateException("The spill file has already been read: " + this.file);
+        final Object detached = detach(object);
+        GRYO_POOL.writeWithKryo(kryo -> kryo.writeClassAndObject(this.output, detached));
+        this.size++;
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Reads the objects of the file in the order that they were written and attaches them to the graph and the
+     * side-effects of the traversal.
+     */
+    public Iterator<Object> iterator(final Traversal.Admin<?, ?> traversal) {
+        if (null == this.output)
+            throw new IllegalStateException("The spill file has already been read: " + this.file);
+        this.output.close();
+        this.output = null;
+        try {
+            this.input = new Input(new FileInputStream(this.file), BUFFER_SIZE);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        final Graph graph = traversal.getGraph().orElse(null);
+        return new Iterator<Object>() {
+            private long read = 0L;
+
+            @Override
+            public boolean hasNext() {
+                if (this.read < SpillFile.this.size)
+                    return true;
+                SpillFile.this.closeInput();
+                return false;
+            }
+
+            @Override
+            public Object next() {
+                if (!this.hasNext())
+                    throw new NoSuchElementException();
+                final Object object = GRYO_POOL.readWithKryo(kryo -> kryo.readClassAndObject(SpillFile.this.input));
+                this.read++;
+                return attach(object, graph, traversal);
+            }
+        };
+    }
+
+    /**
+     * Closes the file and deletes it.
+     */
+    @Override
+    public void close() {
+        if (null != this.output) {
+            this.output.close();
+            this.output = null;
+        }
+        this.closeInput();
+        this.file.delete();
+    }
+
+    private void closeInput() {
+        if (null != this.input) {
+            this.input.close();
+            this.input = null;
+        }
+    }
+
+    ////////////////
+
+    private static Object detach(final Object object) {
+        if (object instanceof ProjectedTraverser) {
+            final ProjectedTraverser<?, ?> traverser = (ProjectedTraverser<?, ?>) object;
+            return new ProjectedTraverser<>((Traverser.Admin<Object>) detach(ProjectedTraverser.tryUnwrap((Traverser.Admin) traverser)), (List<Object>) detach(traverser.getProjections()));
+        } else if (object instanceof Traverser.Admin) {
+            final Traverser.Admin<Object> traverser = (Traverser.Admin<Object>) object;
+            final Object t = detach(traverser.get());
+            traverser.detach();
+            traverser.set(t);
+            return traverser;
+        } else if (object instanceof TraverserSet) {
+            final TraverserSet<Object> set = new TraverserSet<>();
+            for (final Traverser.Admin<Object> traverser : (TraverserSet<Object>) object) {
+                set.add((Traverser.Admin<Object>) detach(traverser));
+            }
+            return set;
+        } else if (object instanceof Element || object instanceof Property || object instanceof Path) {
+            return ReferenceFactory.detach(object);
+        } else if (object instanceof BulkSet) {
+            final BulkSet<Object> set = new BulkSet<>();
+            for (final Map.Entry<Object, Long> entry : ((BulkSet<Object>) object).asBulk().entrySet()) {
+                set.add(detach(entry.getKey()), entry.getValue());
+            }
+            return set;
+        } else if (object instanceof List) {
+            final List<Object> list = new ArrayList<>(((List) object).size());
+            for (final Object item : (List) object) {
+                list.add(detach(item));
+            }
+            return list;
+        } else if (object instanceof Set) {
+            final Set<Object> set = object instanceof LinkedHashSet ? new LinkedHashSet<>() : new HashSet<>();
+            for (final Object item : (Set) object) {
+                set.add(detach(item));
+            }
+            return set;
+        } else if (object instanceof Map) {
+            final Map<Object, Object> map = object instanceof Tree ? new Tree() : object instanceof LinkedHashMap ? new LinkedHashMap<>() : new HashMap<>();
+            for (final Map.Entry<Object, Object> entry : ((Map<Object, Object>) object).entrySet()) {
+                map.put(detach(entry.getKey()), detach(entry.getValue()));
+            }
+            return map;
+        } else
+            return object;
+    }
+
+    private static Object attach(final Object object, final Graph graph, final Traversal.Admin<?, ?> traversal) {
+        if (object instanceof Traverser.Admin) {
+            // a projected traverser keeps its detached projections as they are only compared
+            final Traverser.Admin<Object> traverser = (Traverser.Admin<Object>) object;
+            traverser.set(attach(traverser.get(), graph, traversal));
+            traverser.setSideEffects(traversal.getSideEffects());
+            return traverser;
+        } else if (object instanceof TraverserSet) {
+            final TraverserSet<Object> set = new TraverserSet<>();
+            for (final Traverser.Admin<Object> traverser : (TraverserSet<Object>) object) {
+                set.add((Traverser.Admin<Object>) attach(traverser, graph, traversal));
+            }
+            return set;
+        } else if (object instanceof Path) {
+            // a path is not attached as its elements are not needed by the steps that spill
+            return object;
+        } else if (object instanceof Attachable) {
+            return null == graph ? object : ((Attachable<Object>) object).attach(Attachable.Method.get(graph));
+        } else if (object instanceof BulkSet) {
+            final BulkSet<Object> set = new BulkSet<>();
+            for (final Map.Entry<Object, Long> entry : ((BulkSet<Object>) object).asBulk().entrySet()) {
+                set.add(attach(entry.getKey(), graph, traversal), entry.getValue());
+            }
+            return set;
+        } else if (object instanceof List) {
+            final List<Object> list = new ArrayList<>(((List) object).size());
+            for (final Object item : (List) object) {
+                list.add(attach(item, graph, traversal));
+            }
+            return list;
+        } else if (object instanceof Set) {
+            final Set<Object> set = object instanceof LinkedHashSet ? new LinkedHashSet<>() : new HashSet<>();
+            for (final Object item : (Set) object) {
+                set.add(attach(item, graph, traversal));
+            }
+            return set;
+        } else if (object instanceof Map) {
+            final Map<Object, Object> map = object instanceof Tree ? new Tree() : object instanceof LinkedHashMap ? new LinkedHashMap<>() : new HashMap<>();
+            for (final Map.Entry<Object, Object> entry : ((Map<Object, Object>) object).entrySet()) {
+                map.put(attach(entry.getKey(), graph, traversal), attach(entry.getValue(), graph, traversal));
+            }
+            return map;
+        } else
+            return object;
+    }
+}
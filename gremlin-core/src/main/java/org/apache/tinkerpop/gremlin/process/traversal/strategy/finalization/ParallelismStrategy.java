@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LocalBarrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileSideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ParallelismStrategy} executes the steps of an OLTP traversal that lead from its start {@link GraphStep} to its
+ * first {@link ReducingBarrierStep}, {@link CollectingBarrierStep} or {@link DedupGlobalStep} on multiple threads by
+ * putting a {@link ParallelStep} in front of that barrier. Each thread takes chunks of elements from the
+ * {@link GraphStep} and the partial barriers of the chunks are merged with the {@link Barrier} methods that also merge
+ * the barriers of a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}. The strategy is not applied
+ * when those steps have side-effects, mutations, lambdas or ranges, or when the traversal is profiled. Neither is it
+ * applied to graphs that support transactions, as their transactions are usually bound to the thread that opened them
+ * and the other threads would read the graph outside of it. It is a finalization strategy so that the steps that
+ * provider optimizations put in place are the ones that are executed in parallel.
+ *
+ * @author agent (agent@local)
+ * @example <pre>
+ * g.withParallelism(4).V().has("age",gt(30)).out().values("age").sum()   // sum() merges the sums of 4 threads
+ * g.withParallelism(4).V().out().dedup()                                  // dedup() sees the serial order
+ * </pre>
+ */
+public final class ParallelismStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String PARALLELISM = "parallelism";
+    public static final String CHUNK_SIZE = "chunkSize";
+    private static final int DEFAULT_CHUNK_SIZE = 512;
+    private static final List<Class> INELIGIBLE_STEPS = Arrays.asList(
+            SideEffectStep.class,
+            SideEffectCapable.class,
+            Mutating.class,
+            LambdaHolder.class,
+            Ranging.class);
+
+    private final int parallelism;
+    private final int chunkSize;
+
+    private ParallelismStrategy(final int parallelism, final int chunkSize) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be positive: " + parallelism);
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunkSize);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (this.parallelism < 2 ||
+                !(traversal.getParent() instanceof EmptyStep) ||
+                TraversalHelper.onGraphComputer(traversal) ||
+                !(traversal.getStartStep() instanceof GraphStep) ||
+                !((GraphStep) traversal.getStartStep()).isStartStep() ||
+                TraversalHelper.hasStepOfAssignableClassRecursively(ProfileSideEffectStep.class, traversal) ||
+                traversal.getGraph().map(graph -> graph.features().graph().supportsTransactions()).orElse(false))
+            return;
+
+        final List<Step> steps = traversal.getSteps();
+        for (int i = 1; i < steps.size(); i++) {
+            final Step<?, ?> step = steps.get(i);
+            if (isIneligible(step))
+                return;
+            if (step instanceof ReducingBarrierStep || step instanceof CollectingBarrierStep || step instanceof DedupGlobalStep) {
+                // a dedup() right after the graph step leaves nothing to execute in parallel
+                if (!(step instanceof DedupGlobalStep) || i > 1)
+                    TraversalHelper.insertBeforeStep(new ParallelStep<>(traversal, this.parallelism, this.chunkSize), (Step) step, traversal);
+                return;
+            }
+            if (step instanceof Barrier && !(step instanceof LocalBarrier))
+                return;
+        }
+    }
+
+    private static boolean isIneligible(final Step<?, ?> step) {
+        for (final Class stepClass : INELIGIBLE_STEPS) {
+            if (stepClass.isAssignableFrom(step.getClass()))
+                return true;
+        }
+        if (step instanceof TraversalParent) {
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                if (TraversalHelper.hasStepOfAssignableClassRecursively((List) INELIGIBLE_STEPS, child))
+                    return true;
+            }
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                if (TraversalHelper.hasStepOfAssignableClassRecursively((List) INELIGIBLE_STEPS, child))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    public static ParallelismStrategy create(final Configuration configuration) {
+        return new ParallelismStrategy(
+                configuration.getInt(PARALLELISM, Runtime.getRuntime().availableProcessors()),
+                configuration.getInt(CHUNK_SIZE, DEFAULT_CHUNK_SIZE));
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(PARALLELISM, this.parallelism);
+        map.put(CHUNK_SIZE, this.chunkSize);
+        return new MapConfiguration(map);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of threads that execute the traversal, which defaults to the number of available processors.
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * The number of elements of the start step that a thread takes at a time, which defaults to 512.
+         */
+        public Builder chunkSize(final int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public ParallelismStrategy create() {
+            return new ParallelismStrategy(this.parallelism, this.chunkSize);
+        }
+    }
+}
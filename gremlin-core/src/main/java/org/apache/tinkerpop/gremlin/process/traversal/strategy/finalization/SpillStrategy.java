@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroupStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MemoryBudget;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.SpillFile;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code SpillStrategy} gives an OLTP traversal a {@link MemoryBudget} of entries that its {@link OrderGlobalStep},
+ * {@link GroupStep} and {@link DedupGlobalStep} may hold in memory. When the budget is used up, {@code order()}
+ * writes its sorted traversers to a run on disk and merges the runs when it is iterated, {@code group()} appends its
+ * groups to partitions on disk that are reduced one at a time and {@code dedup()} defers its unseen traversers to
+ * partitions on disk that are deduplicated one at a time once its starts are exhausted. The {@link SpillFile} instances
+ * are Gryo serialized and graph elements are attached to the graph again when they are read. The strategy is not
+ * applied to traversals that require paths as the elements of a spilled path are only references.
+ * <p/>
+ * The spill directory is chosen where the strategy is built, with {@link Builder#directory(String)}, or otherwise by
+ * the {@link #SPILL_DIRECTORY} system property of the JVM, which defaults to {@code java.io.tmpdir}. It is not part of
+ * the {@link #getConfiguration() configuration} of the strategy and {@link #create(Configuration)} rejects it, so a
+ * traversal that is sent to a server can not choose where the server writes files.
+ *
+ * @author agent (agent@local)
+ * @example <pre>
+ * g.withStrategies(SpillStrategy.build().budget(100000).create()).V().order().by("name")   // at most 100000 traversers are sorted in memory at a time
+ * g.withStrategies(SpillStrategy.build().directory("/data/tmp").create()).V().group().by("name")
+ * </pre>
+ */
+public final class SpillStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    public static final String BUDGET = "budget";
+    public static final String SPILL_DIRECTORY = "gremlin.spill.directory";
+    private static final String DIRECTORY = "directory";
+    private static final long DEFAULT_BUDGET = 1000000L;
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = Collections.singleton(ParallelismStrategy.class);
+
+    private final long budget;
+    private final String directory;
+
+    private SpillStrategy(final long budget, final String directory) {
+        if (budget < 0)
+            throw new IllegalArgumentException("The memory budget can not be negative: " + budget);
+        this.budget = budget;
+        this.directory = directory;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        // the partial barriers of a parallel traversal are merged in memory
+        if (!(traversal.getParent() instanceof EmptyStep) ||
+                TraversalHelper.onGraphComputer(traversal) ||
+                TraversalHelper.hasStepOfAssignableClass(ParallelStep.class, traversal))
+            return;
+        final Set<TraverserRequirement> requirements = traversal.getTraverserRequirements();
+        if (requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.LABELED_PATH))
+            return;
+
+        final MemoryBudget memoryBudget = new MemoryBudget(this.budget, this.directory);
+        for (final Spilling step : TraversalHelper.getStepsOfAssignableClass(Spilling.class, traversal)) {
+            step.setMemoryBudget(memoryBudget);
+        }
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public long getBudget() {
+        return this.budget;
+    }
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    public static SpillStrategy create(final Configuration configuration) {
+        if (configuration.containsKey(DIRECTORY))
+            throw new IllegalArgumentException("The spill directory can not be configured on the traversal, set the " + SPILL_DIRECTORY + " system property instead");
+        return new SpillStrategy(configuration.getLong(BUDGET, DEFAULT_BUDGET), defaultDirectory());
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(BUDGET, this.budget);
+        return new MapConfiguration(map);
+    }
+
+    private static String defaultDirectory() {
+        return System.getProperty(SPILL_DIRECTORY, System.getProperty("java.io.tmpdir"));
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public final static class Builder {
+
+        private long budget = DEFAULT_BUDGET;
+        private String directory = defaultDirectory();
+
+        private Builder() {
+        }
+
+        /**
+         * The number of traversers, groups and deduplicated objects that the steps of a traversal hold in memory
+         * together, which defaults to 1000000.
+         */
+        public Builder budget(final long budget) {
+            this.budget = budget;
+            return this;
+        }
+
+        /**
+         * The directory of the spill files, which defaults to the {@link #SPILL_DIRECTORY} system property or, if it
+         * is not set, to {@code java.io.tmpdir}. The directory is not sent with a remote traversal.
+         */
+        public Builder directory(final String directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public SpillStrategy create() {
+            return new SpillStrategy(this.budget, this.directory);
+        }
+    }
+}
@@ -20,76 +20,100 @@ package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
-import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.Serializable;
 import java.util.AbstractSet;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
+ * An insertion-ordered set of traversers that merges a traverser that is added into the equal traverser that it
+ * already holds. The traversers are kept in an array in the order that they were added and an open addressing table
+ * of their positions finds the equal traverser, so there is no entry object per traverser and every traverser is
+ * hashed only once. The table is only built once a second traverser is added as a lone traverser has nothing to merge
+ * with, which has a set that is filled and drained one traverser at a time act as a plain first-in-first-out queue.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements Set<Traverser.Admin<S>>, Queue<Traverser.Admin<S>>, Serializable {
 
-    private final Map<Traverser.Admin<S>, Traverser.Admin<S>> map = new LinkedHashMap<>();
+    private static final Traverser.Admin[] EMPTY_TRAVERSERS = new Traverser.Admin[0];
+    private static final int MINIMUM_CAPACITY = 8;
+    private static final int FREE = 0;
+    private static final int REMOVED = -1;
+
+    private Traverser.Admin<S>[] traversers = EMPTY_TRAVERSERS;
+    private int head = 0;
+    private int tail = 0;
+    private int size = 0;
+    // the slots of the table hold the position of a traverser plus one and the hashes are those of the positions
+    private transient int[] table = null;
+    private transient int[] hashes = null;
+    private transient int usedSlots = 0;
 
     public TraverserSet() {
 
     }
 
     public TraverserSet(final Traverser.Admin<S> traverser) {
-        this.map.put(traverser, traverser);
+        this.add(traverser);
     }
 
     @Override
     public Iterator<Traverser.Admin<S>> iterator() {
-        return this.map.values().iterator();
+        return new TraverserSetIterator();
     }
 
     public Traverser.Admin<S> get(final Traverser.Admin<S> traverser) {
-        return this.map.get(traverser);
+        final int position = this.positionOf(traverser);
+        return -1 == position ? null : this.traversers[position];
     }
 
     @Override
     public int size() {
-        return this.map.size();
+        return this.size;
     }
 
     public long bulkSize() {
         long bulk = 0L;
-        for (final Traverser.Admin<S> traverser : this.map.values()) {
-            bulk = bulk + traverser.bulk();
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                bulk = bulk + this.traversers[i].bulk();
         }
         return bulk;
     }
 
     @Override
     public boolean isEmpty() {
-        return this.map.isEmpty();
+        return 0 == this.size;
     }
 
     @Override
     public boolean contains(final Object traverser) {
-        return this.map.containsKey(traverser);
+        return -1 != this.positionOf(traverser);
     }
 
     @Override
     public boolean add(final Traverser.Admin<S> traverser) {
-        final Traverser.Admin<S> existing = this.map.get(traverser);
-        if (null == existing) {
-            this.map.put(traverser, traverser);
+        if (0 == this.size) {
+            this.append(traverser, 0);
+            return true;
+        }
+        if (null == this.table)
+            this.index();
+        final int hash = hash(traverser);
+        final int position = this.find(traverser, hash);
+        if (-1 == position) {
+            this.append(traverser, hash);
             return true;
         } else {
-            existing.merge(traverser);
+            this.traversers[position].merge(traverser);
             return false;
         }
     }
@@ -101,63 +125,224 @@ public class TraverserSet<S> extends AbstractSet<Traverser.Admin<S>> implements
 
     @Override
     public Traverser.Admin<S> remove() {  // pop, exception if empty
-        final Iterator<Traverser.Admin<S>> iterator = this.map.values().iterator();
-        if (!iterator.hasNext())
+        if (0 == this.size)
             throw FastNoSuchElementException.instance();
-        final Traverser.Admin<S> next = iterator.next();
-        iterator.remove();
+        final Traverser.Admin<S> next = this.traversers[this.head];
+        this.removeAt(this.head);
         return next;
     }
 
     @Override
     public Traverser.Admin<S> poll() {  // pop, null if empty
-        return this.map.isEmpty() ? null : this.remove();
+        return 0 == this.size ? null : this.remove();
     }
 
     @Override
     public Traverser.Admin<S> element() { // peek, exception if empty
-        return this.iterator().next();
+        if (0 == this.size)
+            throw FastNoSuchElementException.instance();
+        return this.traversers[this.head];
     }
 
     @Override
     public Traverser.Admin<S> peek() { // peek, null if empty
-        return this.map.isEmpty() ? null : this.iterator().next();
+        return 0 == this.size ? null : this.traversers[this.head];
     }
 
     @Override
     public boolean remove(final Object traverser) {
-        return this.map.remove(traverser) != null;
+        final int position = this.positionOf(traverser);
+        if (-1 == position)
+            return false;
+        this.removeAt(position);
+        return true;
     }
 
     @Override
     public void clear() {
-        this.map.clear();
+        Arrays.fill(this.traversers, this.head, this.tail, null);
+        this.head = 0;
+        this.tail = 0;
+        this.size = 0;
+        this.table = null;
     }
 
     @Override
     public Spliterator<Traverser.Admin<S>> spliterator() {
-        return this.map.values().spliterator();
-    }
-
-    @Override
-    public String toString() {
-        return this.map.values().toString();
+        return Spliterators.spliterator(this, Spliterator.DISTINCT | Spliterator.ORDERED);
     }
 
     public void sort(final Comparator<Traverser<S>> comparator) {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.sort(list, comparator);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        this.compact(this.traversers.length);
+        Arrays.sort(this.traversers, 0, this.size, comparator);
+        this.table = null;
     }
 
     public void shuffle() {
-        final List<Traverser.Admin<S>> list = new ArrayList<>(this.map.size());
-        IteratorUtils.removeOnNext(this.map.values().iterator()).forEachRemaining(list::add);
-        Collections.shuffle(list);
-        this.map.clear();
-        list.forEach(traverser -> this.map.put(traverser, traverser));
+        this.compact(this.traversers.length);
+        Collections.shuffle(Arrays.asList(this.traversers).subList(0, this.size));
+        this.table = null;
+    }
+
+    ///////////////
+
+    private static int hash(final Object traverser) {
+        final int hash = traverser.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private int positionOf(final Object traverser) {
+        if (0 == this.size || !(traverser instanceof Traverser.Admin))
+            return -1;
+        if (null == this.table) {
+            if (1 == this.size)
+                return traverser == this.traversers[this.head] || traverser.equals(this.traversers[this.head]) ? this.head : -1;
+            this.index();
+        }
+        return this.find(traverser, hash(traverser));
+    }
+
+    private int find(final Object traverser, final int hash) {
+        final int mask = this.table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int entry = this.table[slot];
+            if (FREE == entry)
+                return -1;
+            if (REMOVED != entry && this.hashes[entry - 1] == hash) {
+                final Traverser.Admin<S> other = this.traversers[entry - 1];
+                if (traverser == other || traverser.equals(other))
+                    return entry - 1;
+            }
+        }
+    }
+
+    private void append(final Traverser.Admin<S> traverser, final int hash) {
+        if (this.tail == this.traversers.length)
+            this.compact(this.size < this.traversers.length / 2 ?
+                    this.traversers.length :
+                    Math.max(MINIMUM_CAPACITY, this.traversers.length * 2));
+        final int position = this.tail++;
+        this.traversers[position] = traverser;
+        this.size++;
+        if (null != this.table) {
+            this.hashes[position] = hash;
+            this.insert(position);
+        }
+    }
+
+    private void removeAt(final int position) {
+        if (null != this.table) {
+            final int mask = this.table.length - 1;
+            int slot = this.hashes[position] & mask;
+            while (this.table[slot] != position + 1) {
+                slot = (slot + 1) & mask;
+            }
+            this.table[slot] = REMOVED;
+        }
+        this.traversers[position] = null;
+        this.size--;
+        if (0 == this.size) {
+            this.head = 0;
+            this.tail = 0;
+            this.table = null;
+        } else if (position == this.head) {
+            while (null == this.traversers[this.head]) {
+                this.head++;
+            }
+        }
+    }
+
+    /**
+     * Moves the traversers to the start of an array of the given capacity and re-indexes them if they are indexed.
+     */
+    private void compact(final int capacity) {
+        final Traverser.Admin<S>[] target = capacity == this.traversers.length ? this.traversers : new Traverser.Admin[capacity];
+        final int[] targetHashes = null == this.table ? null : (capacity == this.hashes.length ? this.hashes : new int[capacity]);
+        int count = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i]) {
+                if (null != targetHashes)
+                    targetHashes[count] = this.hashes[i];
+                target[count++] = this.traversers[i];
+            }
+        }
+        if (target == this.traversers)
+            Arrays.fill(target, count, this.tail, null);
+        this.traversers = target;
+        this.hashes = targetHashes;
+        this.head = 0;
+        this.tail = count;
+        if (null != this.table)
+            this.rehash();
+    }
+
+    /**
+     * Hashes the traversers and builds the table of their positions.
+     */
+    private void index() {
+        if (null == this.hashes || this.hashes.length != this.traversers.length)
+            this.hashes = new int[this.traversers.length];
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                this.hashes[i] = hash(this.traversers[i]);
+        }
+        this.rehash();
+    }
+
+    private void rehash() {
+        int capacity = 16;
+        while (capacity < this.size * 4) {
+            capacity = capacity << 1;
+        }
+        this.table = new int[capacity];
+        this.usedSlots = 0;
+        for (int i = this.head; i < this.tail; i++) {
+            if (null != this.traversers[i])
+                this.insert(i);
+        }
     }
 
+    private void insert(final int position) {
+        final int mask = this.table.length - 1;
+        int slot = this.hashes[position] & mask;
+        while (FREE != this.table[slot] && REMOVED != this.table[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        if (FREE == this.table[slot])
+            this.usedSlots++;
+        this.table[slot] = position + 1;
+        // removed slots are only reclaimed by a rehash and the table needs free slots to end a probe
+        if (this.usedSlots * 4 > this.table.length * 3)
+            this.rehash();
+    }
+
+    private final class TraverserSetIterator implements Iterator<Traverser.Admin<S>> {
+
+        private int position = head;
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            while (this.position < tail && null == traversers[this.position]) {
+                this.position++;
+            }
+            return this.position < tail;
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            if (!this.hasNext())
+                throw FastNoSuchElementException.instance();
+            this.last = this.position++;
+            return traversers[this.last];
+        }
+
+        @Override
+        public void remove() {
+            if (-1 == this.last || null == traversers[this.last])
+                throw new IllegalStateException("There is no traverser to remove");
+            removeAt(this.last);
+            this.last = -1;
+        }
+    }
 }
@@ -143,6 +143,22 @@ public final class DefaultTraversalMetrics implements TraversalMetrics, Serializ
         addTopLevelMetrics(traversal, onGraphComputer);
     }
 
+    /**
+     * Nests metrics that were gathered outside of the steps of the traversal under the metrics of its first step,
+     * such as those of the {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer} iterations that
+     * executed the traversal. This may be called once the metrics are finalized.
+     */
+    public synchronized void addNested(final Metrics metrics) {
+        final ImmutableMetrics first = this.positionIndexedMetrics.get(0);
+        if (null == first)
+            return;
+        final MutableMetrics mutableFirst = new MutableMetrics(first);
+        mutableFirst.addNested(new MutableMetrics(metrics));
+        final ImmutableMetrics nestedFirst = mutableFirst.getImmutableClone();
+        this.positionIndexedMetrics.put(0, nestedFirst);
+        this.stepIndexedMetrics.put(nestedFirst.getId(), nestedFirst);
+    }
+
     private void addTopLevelMetrics(final Traversal.Admin traversal, final boolean onGraphComputer) {
         this.totalStepDuration = 0;
 
@@ -327,4 +327,25 @@ public class GraphFilterTest {
         assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkEdgeLegality(Direction.IN, "created"));
         assertEquals(GraphFilter.Legal.MAYBE, graphFilter.checkEdgeLegality(Direction.BOTH, "created"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldDetermineIfEdgeLegalityIsDecidedByDirectionAndLabel() {
+        GraphFilter graphFilter = new GraphFilter();
+        assertTrue(graphFilter.decidesEdgeLegality());
+        graphFilter = new GraphFilter();
+        graphFilter.setEdgeFilter(__.outE("knows"));
+        assertTrue(graphFilter.decidesEdgeLegality());
+        graphFilter = new GraphFilter();
+        graphFilter.setEdgeFilter(__.union(__.outE("knows"), __.inE("created")));
+        assertTrue(graphFilter.decidesEdgeLegality());
+        graphFilter = new GraphFilter();
+        graphFilter.setEdgeFilter(__.<Vertex>bothE().limit(0));
+        assertTrue(graphFilter.decidesEdgeLegality());
+        graphFilter = new GraphFilter();
+        graphFilter.setEdgeFilter(__.<Vertex>outE("knows").has("weight", 1.0d));
+        assertFalse(graphFilter.decidesEdgeLegality());
+        graphFilter = new GraphFilter();
+        graphFilter.setEdgeFilter(__.<Vertex>bothE().limit(10));
+        assertFalse(graphFilter.decidesEdgeLegality());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal;
+
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.IsStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class BytecodeTemplateTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldNormalizeBytecodeThatOnlyDiffersInPredicateValues() {
+        final BytecodeTemplate.Parameters marko = BytecodeTemplate.parameterize(g.V().has("name", "marko").where(__.out().has("age", P.gt(30))).asAdmin().getBytecode());
+        final BytecodeTemplate.Parameters josh = BytecodeTemplate.parameterize(g.V().has("name", P.eq("josh")).where(__.out().has("age", P.gt(20))).asAdmin().getBytecode());
+        assertEquals(marko.getNormalizedBytecode(), josh.getNormalizedBytecode());
+        assertEquals(marko.getNormalizedBytecode().hashCode(), josh.getNormalizedBytecode().hashCode());
+        assertEquals(Arrays.asList(P.eq("marko"), P.gt(30)), marko.getValues());
+        assertEquals(Arrays.asList(P.eq("josh"), P.gt(20)), josh.getValues());
+
+        assertNotEquals(marko.getNormalizedBytecode(), BytecodeTemplate.parameterize(g.V().has("name", 29).where(__.out().has("age", P.gt(30))).asAdmin().getBytecode()).getNormalizedBytecode());
+        assertNotEquals(marko.getNormalizedBytecode(), BytecodeTemplate.parameterize(g.V().has("name", P.neq("marko")).where(__.out().has("age", P.gt(30))).asAdmin().getBytecode()).getNormalizedBytecode());
+        assertNotEquals(marko.getNormalizedBytecode(), BytecodeTemplate.parameterize(g.V().has("name", "marko").where(__.in().has("age", P.gt(30))).asAdmin().getBytecode()).getNormalizedBytecode());
+    }
+
+    @Test
+    public void shouldBindPredicateValuesIntoCloneOfTemplate() {
+        final BytecodeTemplate.Parameters marko = BytecodeTemplate.parameterize(g.V().has("name", "marko").where(__.out().has("age", P.gt(30).and(P.lt(40)))).asAdmin().getBytecode());
+        final BytecodeTemplate template = compile(marko);
+        final BytecodeTemplate.Parameters josh = BytecodeTemplate.parameterize(g.V().has("name", "josh").where(__.out().has("age", P.gt(20).and(P.lt(25)))).asAdmin().getBytecode());
+        assertTrue(template.accepts(josh));
+
+        final Traversal.Admin<?, ?> bound = template.bind(josh);
+        assertTrue(bound.isLocked());
+        final Traversal.Admin<?, ?> expected = JavaTranslator.of(g).translate(josh.getBytecode());
+        expected.applyStrategies();
+        assertEquals(expected.toString(), bound.toString());
+        final HasStep<?> hasStep = TraversalHelper.getFirstStepOfAssignableClass(HasStep.class, bound).get();
+        assertEquals("josh", hasStep.getHasContainers().get(0).getValue());
+
+        // the template is not changed by binding
+        assertEquals(expected.toString().replace("josh", "marko").replace("20", "30").replace("25", "40"), template.bind(marko).toString());
+    }
+
+    @Test
+    public void shouldFixPredicateValuesThatStrategiesDependOn() {
+        // a value that is not a predicate is only lifted from has()
+        assertNotEquals(BytecodeTemplate.parameterize(g.V().out().count().is(0).asAdmin().getBytecode()).getNormalizedBytecode(),
+                BytecodeTemplate.parameterize(g.V().out().count().is(5).asAdmin().getBytecode()).getNormalizedBytecode());
+
+        final BytecodeTemplate.Parameters none = BytecodeTemplate.parameterize(g.V().has("name", "marko").out().count().is(P.eq(0)).asAdmin().getBytecode());
+        final BytecodeTemplate template = compile(none);
+        assertTrue(template.accepts(BytecodeTemplate.parameterize(g.V().has("name", "josh").out().count().is(P.eq(0)).asAdmin().getBytecode())));
+        final BytecodeTemplate.Parameters some = BytecodeTemplate.parameterize(g.V().has("name", "marko").out().count().is(P.eq(5)).asAdmin().getBytecode());
+        assertEquals(none.getNormalizedBytecode(), some.getNormalizedBytecode());
+        assertFalse(template.accepts(some));
+        assertEquals(P.eq(0), TraversalHelper.getFirstStepOfAssignableClass(IsStep.class, template.bind(none)).get().getPredicate());
+    }
+
+    @Test
+    public void shouldNotCompileTraversalsOnGraphComputer() {
+        final BytecodeTemplate.Parameters parameters = BytecodeTemplate.parameterize(g.withComputer(Computer.compute()).V().has("name", "marko").asAdmin().getBytecode());
+        final Traversal.Admin<?, ?> traversal = JavaTranslator.of(g).translate(parameters.getBytecode());
+        traversal.applyStrategies();
+        assertFalse(BytecodeTemplate.compile(traversal, parameters).isPresent());
+    }
+
+    @Test
+    public void shouldNotCompileTraversalsWithStepsThatShareTheirPredicatesWithTheirClones() {
+        final BytecodeTemplate.Parameters parameters = BytecodeTemplate.parameterize(g.V().has("name", "marko").asAdmin().getBytecode());
+        final Traversal.Admin<?, ?> traversal = JavaTranslator.of(g).translate(parameters.getBytecode());
+        final HasStep<?> hasStep = TraversalHelper.getFirstStepOfAssignableClass(HasStep.class, traversal).get();
+        TraversalHelper.replaceStep((Step) hasStep, new SharingHasStep<>(traversal, hasStep.getHasContainers()), traversal);
+        traversal.applyStrategies();
+        assertFalse(BytecodeTemplate.compile(traversal, parameters).isPresent());
+    }
+
+    private BytecodeTemplate compile(final BytecodeTemplate.Parameters parameters) {
+        final Traversal.Admin<?, ?> traversal = JavaTranslator.of(g).translate(parameters.getBytecode());
+        traversal.applyStrategies();
+        return BytecodeTemplate.compile(traversal, parameters).get();
+    }
+
+    /**
+     * A step that keeps the {@link HasContainer}s of its original on {@link #clone()}.
+     */
+    private static final class SharingHasStep<S extends Element> extends FilterStep<S> implements HasContainerHolder {
+
+        private final List<HasContainer> hasContainers;
+
+        private SharingHasStep(final Traversal.Admin traversal, final List<HasContainer> hasContainers) {
+            super(traversal);
+            this.hasContainers = hasContainers;
+        }
+
+        @Override
+        protected boolean filter(final Traverser.Admin<S> traverser) {
+            return HasContainer.testAll(traverser.get(), this.hasContainers);
+        }
+
+        @Override
+        public List<HasContainer> getHasContainers() {
+            return this.hasContainers;
+        }
+
+        @Override
+        public void addHasContainer(final HasContainer hasContainer) {
+            this.hasContainers.add(hasContainer);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ParallelismStrategyTest {
+
+    private static final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldPlaceParallelStepInFrontOfTheFirstBarrier() {
+        assertParallelBefore(CountGlobalStep.class, g.V().out().has("age", gt(30)).count());
+        assertParallelBefore(CountGlobalStep.class, g.V().count());
+        assertParallelBefore(OrderGlobalStep.class, g.V().out().order().by("name").dedup());
+        assertParallelBefore(DedupGlobalStep.class, g.V().out().dedup().count());
+        assertParallelBefore(CountGlobalStep.class, g.E().where(__.inV().has("name", "marko")).count());
+    }
+
+    @Test
+    public void shouldNotParallelizeIneligibleTraversals() {
+        assertNotParallel(g.V().dedup().count());
+        assertNotParallel(g.V().out().limit(10).count());
+        assertNotParallel(g.V().out().aggregate("x").count());
+        assertNotParallel(g.V().out().map(t -> t.get()).count());
+        assertNotParallel(g.V().where(__.out().sideEffect(t -> {})).count());
+        assertNotParallel(g.V().out().property("name", "marko").count());
+        assertNotParallel(g.V().out().values("name"));
+        assertNotParallel(g.inject(1, 2, 3).sum());
+        assertNotParallel(g.V().out().count().profile());
+        assertNotParallel(g.V().out().count(), ParallelismStrategy.build().parallelism(1).create());
+    }
+
+    @Test
+    public void shouldNotParallelizeTraversalsOfTransactionalGraphs() {
+        final Graph graph = mock(Graph.class, RETURNS_DEEP_STUBS);
+        when(graph.features().graph().supportsTransactions()).thenReturn(true);
+        assertNotParallel(new GraphTraversalSource(graph).V().out().count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowAChunkSizeOfZero() {
+        ParallelismStrategy.build().chunkSize(0).create();
+    }
+
+    private static void assertParallelBefore(final Class barrierClass, final GraphTraversal<?, ?> traversal) {
+        final Traversal.Admin<?, ?> admin = applyStrategies(traversal, ParallelismStrategy.build().parallelism(4).create());
+        final List<ParallelStep> steps = TraversalHelper.getStepsOfClass(ParallelStep.class, admin);
+        assertEquals(1, steps.size());
+        assertEquals(4, steps.get(0).getParallelism());
+        assertTrue(barrierClass.isInstance(steps.get(0).getNextStep()));
+    }
+
+    private static void assertNotParallel(final GraphTraversal<?, ?> traversal) {
+        assertNotParallel(traversal, ParallelismStrategy.build().parallelism(4).create());
+    }
+
+    private static void assertNotParallel(final GraphTraversal<?, ?> traversal, final ParallelismStrategy strategy) {
+        assertFalse(TraversalHelper.hasStepOfClass(ParallelStep.class, applyStrategies(traversal, strategy)));
+    }
+
+    private static Traversal.Admin<?, ?> applyStrategies(final GraphTraversal<?, ?> traversal, final ParallelismStrategy strategy) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(strategy);
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().applyStrategies();
+        return traversal.asAdmin();
+    }
+}
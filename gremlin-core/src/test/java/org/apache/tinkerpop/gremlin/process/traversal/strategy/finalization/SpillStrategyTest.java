@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.commons.configuration.MapConfiguration;
+import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Spilling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MemoryBudget;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class SpillStrategyTest {
+
+    private static final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldShareOneMemoryBudgetBetweenTheSpillingSteps() {
+        final Traversal.Admin<?, ?> traversal = applyStrategies(g.V().out().dedup().order().by("name").group().by("age"), SpillStrategy.build().budget(10).create());
+        final List<Spilling> steps = TraversalHelper.getStepsOfAssignableClass(Spilling.class, traversal);
+        assertEquals(3, steps.size());
+        final MemoryBudget memoryBudget = steps.get(0).getMemoryBudget();
+        assertNotNull(memoryBudget);
+        assertEquals(10, memoryBudget.getLimit());
+        assertSame(memoryBudget, steps.get(1).getMemoryBudget());
+        assertSame(memoryBudget, steps.get(2).getMemoryBudget());
+    }
+
+    @Test
+    public void shouldNotSpillIneligibleTraversals() {
+        assertNotSpilling(g.V().as("a").out().order().by("name").select("a"));
+        assertNotSpilling(g.V().out().dedup().path());
+        assertNotSpilling(g.V().out().where(__.out().order()));
+        assertNotSpilling(g.V().out().order(), ParallelismStrategy.build().parallelism(4).create(), SpillStrategy.build().budget(10).create());
+    }
+
+    @Test
+    public void shouldReturnTheSameResultsWhenSpilling() {
+        final Random random = new Random(1);
+        final List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(random.nextInt(300));
+        }
+        final Integer[] starts = numbers.toArray(new Integer[numbers.size()]);
+        final File directory = TestHelper.makeTestDataPath(SpillStrategyTest.class, "spill");
+        final List<Function<GraphTraversalSource, GraphTraversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.inject(starts).order(),
+                s -> s.inject(starts).order().by(Order.decr),
+                s -> s.inject(starts).order().by(__.math("_ % 7")).by(Order.decr),
+                s -> s.inject(starts).dedup(),
+                s -> s.inject(starts).dedup().by(__.math("_ % 50")),
+                s -> s.inject(starts).group().by(__.math("_ % 13")),
+                s -> s.inject(starts).group().by(__.math("_ % 13")).by(__.order().fold()),
+                s -> s.inject(starts).groupCount(),
+                s -> s.inject(starts).dedup().order().by(Order.decr).group().by(__.math("_ % 5")).by(__.sum()));
+        for (final long budget : Arrays.asList(0L, 1L, 64L)) {
+            final GraphTraversalSource spilling = g.withStrategies(SpillStrategy.build().budget(budget).directory(directory.getAbsolutePath()).create());
+            for (final Function<GraphTraversalSource, GraphTraversal<?, ?>> traversal : traversals) {
+                assertEquals(traversal.apply(g).toList(), traversal.apply(spilling).toList());
+            }
+        }
+        assertEquals(Collections.emptyList(), Arrays.asList(directory.list()));
+    }
+
+    @Test
+    public void shouldDeleteTheSpillFilesOfAClosedTraversal() throws Exception {
+        final File directory = TestHelper.makeTestDataPath(SpillStrategyTest.class, "closed");
+        final Traversal<Integer, Integer> traversal = g.withStrategies(SpillStrategy.build().budget(2).directory(directory.getAbsolutePath()).create()).
+                inject(5, 3, 8, 1, 9, 2, 7).order();
+        assertEquals(1, traversal.next().intValue());
+        assertEquals(2, directory.list().length);
+        traversal.close();
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void shouldCloseTheChildTraversalsOfAClosedSpillingStep() throws Exception {
+        final List<Function<Traversal<?, ?>, GraphTraversal<?, ?>>> traversals = Arrays.asList(
+                child -> __.order().by(child, Order.incr),
+                child -> __.group().by(child),
+                child -> __.dedup().by(child));
+        for (final Function<Traversal<?, ?>, GraphTraversal<?, ?>> traversal : traversals) {
+            final Traversal.Admin<?, ?> child = __.identity().asAdmin();
+            final CloseableStep<?> step = new CloseableStep<>(child);
+            child.addStep(step);
+            traversal.apply(child).asAdmin().close();
+            assertTrue(step.closed);
+        }
+    }
+
+    @Test
+    public void shouldNotConfigureTheDirectory() {
+        final SpillStrategy strategy = SpillStrategy.build().budget(10).directory("/data/tmp").create();
+        final Configuration configuration = strategy.getConfiguration();
+        assertFalse(configuration.containsKey("directory"));
+        final SpillStrategy created = SpillStrategy.create(configuration);
+        assertEquals(10, created.getBudget());
+        assertEquals(System.getProperty(SpillStrategy.SPILL_DIRECTORY, System.getProperty("java.io.tmpdir")), created.getDirectory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowTheDirectoryInTheConfiguration() {
+        SpillStrategy.create(new MapConfiguration(Collections.singletonMap("directory", "/etc")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowANegativeBudget() {
+        SpillStrategy.build().budget(-1).create();
+    }
+
+    private static final class CloseableStep<S> extends AbstractStep<S, S> implements AutoCloseable {
+
+        private boolean closed = false;
+
+        private CloseableStep(final Traversal.Admin traversal) {
+            super(traversal);
+        }
+
+        @Override
+        protected Traverser.Admin<S> processNextStart() {
+            return this.starts.next();
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+
+    private static void assertNotSpilling(final GraphTraversal<?, ?> traversal, final TraversalStrategy... strategies) {
+        final Traversal.Admin<?, ?> admin = applyStrategies(traversal, 0 == strategies.length ? new TraversalStrategy[]{SpillStrategy.build().budget(10).create()} : strategies);
+        for (final Spilling step : TraversalHelper.getStepsOfAssignableClassRecursively(Spilling.class, admin)) {
+            assertNull(step.getMemoryBudget());
+        }
+    }
+
+    private static Traversal.Admin<?, ?> applyStrategies(final GraphTraversal<?, ?> traversal, final TraversalStrategy... strategies) {
+        final TraversalStrategies traversalStrategies = new DefaultTraversalStrategies();
+        traversalStrategies.addStrategies(strategies);
+        traversal.asAdmin().setStrategies(traversalStrategies);
+        traversal.asAdmin().applyStrategies();
+        return traversal.asAdmin();
+    }
+}
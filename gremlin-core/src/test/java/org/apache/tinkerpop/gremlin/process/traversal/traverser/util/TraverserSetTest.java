@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TraverserSetTest {
+
+    @Test
+    public void shouldMergeEqualTraversersInInsertionOrder() {
+        final TraverserSet<String> traverserSet = new TraverserSet<>();
+        assertTrue(traverserSet.add(traverser("a", 1)));
+        assertTrue(traverserSet.add(traverser("b", 2)));
+        assertFalse(traverserSet.add(traverser("a", 3)));
+        assertTrue(traverserSet.add(traverser("c", 1)));
+        assertEquals(3, traverserSet.size());
+        assertEquals(7, traverserSet.bulkSize());
+        assertEquals(4, traverserSet.get(traverser("a", 1)).bulk());
+        assertEquals("[a, b, c]", traverserSet.toString());
+        assertEquals("a", traverserSet.remove().get());
+        assertFalse(traverserSet.contains(traverser("a", 1)));
+        assertTrue(traverserSet.add(traverser("a", 1)));
+        assertEquals("[b, c, a]", traverserSet.toString());
+    }
+
+    @Test
+    public void shouldActAsAQueue() {
+        final TraverserSet<String> traverserSet = new TraverserSet<>();
+        assertNull(traverserSet.peek());
+        assertNull(traverserSet.poll());
+        for (int i = 0; i < 100; i++) {
+            // a lone traverser is never indexed so this has the set pass through its unindexed state every time
+            traverserSet.add(traverser("x" + i, 1));
+            assertEquals("x" + i, traverserSet.element().get());
+            assertEquals("x" + i, traverserSet.remove().get());
+            assertTrue(traverserSet.isEmpty());
+        }
+        traverserSet.add(traverser("a", 1));
+        assertTrue(traverserSet.contains(traverser("a", 1)));
+        assertFalse(traverserSet.contains(traverser("b", 1)));
+        assertFalse(traverserSet.add(traverser("a", 1)));
+        assertEquals(2, traverserSet.peek().bulk());
+    }
+
+    @Test(expected = FastNoSuchElementException.class)
+    public void shouldNotRemoveFromAnEmptySet() {
+        new TraverserSet<>().remove();
+    }
+
+    @Test
+    public void shouldRemoveThroughTheIterator() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 20; i++) {
+            traverserSet.add(traverser(i, 1));
+        }
+        final Iterator<Traverser.Admin<Integer>> iterator = traverserSet.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() % 2 == 0)
+                iterator.remove();
+        }
+        assertEquals(10, traverserSet.size());
+        assertTrue(traverserSet.remove(traverser(5, 1)));
+        assertFalse(traverserSet.remove(traverser(4, 1)));
+        assertEquals("[1, 3, 7, 9, 11, 13, 15, 17, 19]", traverserSet.toString());
+        assertEquals(1, traverserSet.remove().get().intValue());
+    }
+
+    @Test
+    public void shouldSortAndKeepMerging() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (int i = 0; i < 50; i++) {
+            traverserSet.add(traverser(i % 17, 1));
+        }
+        traverserSet.sort(Comparator.comparing(t -> -t.get()));
+        assertEquals(17, traverserSet.size());
+        assertEquals(16, traverserSet.peek().get().intValue());
+        assertFalse(traverserSet.add(traverser(16, 1)));
+        assertEquals(3, traverserSet.peek().bulk());
+        assertEquals(51, traverserSet.bulkSize());
+    }
+
+    @Test
+    public void shouldFindTraversersThatAreOnlyEqualToThemselves() {
+        final TraverserSet<String> traverserSet = new TraverserSet<>();
+        final Traverser.Admin<String> unmergeable = new B_O_Traverser<String>("a", 1) {
+            @Override
+            public boolean equals(final Object object) {
+                return false;
+            }
+        };
+        traverserSet.add(unmergeable);
+        assertSame(unmergeable, traverserSet.get(unmergeable));
+        assertTrue(traverserSet.add(traverser("b", 1)));
+        assertSame(unmergeable, traverserSet.get(unmergeable));
+        assertTrue(traverserSet.remove(unmergeable));
+        assertFalse(traverserSet.contains(unmergeable));
+        assertEquals("[b]", traverserSet.toString());
+    }
+
+    @Test
+    public void shouldBehaveLikeALinkedHashMap() {
+        final Random random = new Random(12345L);
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        final Map<Integer, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            final int operation = random.nextInt(10);
+            final int value = random.nextInt(i < 50000 ? 5000 : 50);
+            if (operation < 6) {
+                final long bulk = random.nextInt(3) + 1;
+                assertEquals(!map.containsKey(value), traverserSet.add(traverser(value, bulk)));
+                map.merge(value, bulk, Long::sum);
+            } else if (operation < 8) {
+                final Traverser.Admin<Integer> removed = traverserSet.poll();
+                if (map.isEmpty())
+                    assertNull(removed);
+                else {
+                    final Map.Entry<Integer, Long> first = map.entrySet().iterator().next();
+                    assertEquals(first.getKey(), removed.get());
+                    assertEquals(first.getValue().longValue(), removed.bulk());
+                    map.remove(first.getKey());
+                }
+            } else {
+                assertEquals(null != map.remove(value), traverserSet.remove(traverser(value, 1)));
+            }
+            assertEquals(map.size(), traverserSet.size());
+        }
+        final List<Integer> values = new ArrayList<>();
+        traverserSet.forEach(t -> values.add(t.get()));
+        assertEquals(new ArrayList<>(map.keySet()), values);
+        assertEquals(map.values().stream().mapToLong(Long::longValue).sum(), traverserSet.bulkSize());
+        assertEquals(new ArrayList<>(map.keySet()), traverserSet.stream().map(Traverser::get).collect(Collectors.toList()));
+    }
+
+    private static <T> Traverser.Admin<T> traverser(final T t, final long bulk) {
+        return new B_O_Traverser<>(t, bulk);
+    }
+}
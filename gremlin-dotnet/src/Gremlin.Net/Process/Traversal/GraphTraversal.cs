@@ -206,6 +206,15 @@ namespace Gremlin.Net.Process.Traversal
             return Wrap< S , E >(this);
         }
 
+        /// <summary>
+        ///     Adds the connectedComponent step to this <see cref="GraphTraversal{SType, EType}" />.
+        /// </summary>
+        public GraphTraversal< S , E > ConnectedComponent (params object[] args)
+        {
+            Bytecode.AddStep("connectedComponent", args);
+            return Wrap< S , E >(this);
+        }
+
         /// <summary>
         ///     Adds the constant step to this <see cref="GraphTraversal{SType, EType}" />.
         /// </summary>
@@ -737,6 +746,15 @@ namespace Gremlin.Net.Process.Traversal
             return Wrap< S , IDictionary<string, E2> >(this);
         }
 
+        /// <summary>
+        ///     Adds the shortestPath step to this <see cref="GraphTraversal{SType, EType}" />.
+        /// </summary>
+        public GraphTraversal< S , E > ShortestPath (params object[] args)
+        {
+            Bytecode.AddStep("shortestPath", args);
+            return Wrap< S , E >(this);
+        }
+
         /// <summary>
         ///     Adds the sideEffect step to this <see cref="GraphTraversal{SType, EType}" />.
         /// </summary>
@@ -80,6 +80,14 @@ namespace Gremlin.Net.Process.Traversal
             return source;
         }
 
+        public GraphTraversalSource WithParallelism(params object[] args)
+        {
+            var source = new GraphTraversalSource(new List<ITraversalStrategy>(TraversalStrategies),
+                                                  new Bytecode(Bytecode));
+            source.Bytecode.AddSource("withParallelism", args);
+            return source;
+        }
+
         public GraphTraversalSource WithPath(params object[] args)
         {
             var source = new GraphTraversalSource(new List<ITraversalStrategy>(TraversalStrategies),
@@ -47,6 +47,11 @@ class GraphTraversalSource(object):
         source.bytecode.add_source("withBulk", *args)
         return source
 
+    def withParallelism(self, *args):
+        source = self.get_graph_traversal_source()
+        source.bytecode.add_source("withParallelism", *args)
+        return source
+
     def withPath(self, *args):
         source = self.get_graph_traversal_source()
         source.bytecode.add_source("withPath", *args)
@@ -189,6 +194,10 @@ class GraphTraversal(Traversal):
         self.bytecode.add_step("coin", *args)
         return self
 
+    def connectedComponent(self, *args):
+        self.bytecode.add_step("connectedComponent", *args)
+        return self
+
     def constant(self, *args):
         self.bytecode.add_step("constant", *args)
         return self
@@ -425,6 +434,10 @@ class GraphTraversal(Traversal):
         self.bytecode.add_step("select", *args)
         return self
 
+    def shortestPath(self, *args):
+        self.bytecode.add_step("shortestPath", *args)
+        return self
+
     def sideEffect(self, *args):
         self.bytecode.add_step("sideEffect", *args)
         return self
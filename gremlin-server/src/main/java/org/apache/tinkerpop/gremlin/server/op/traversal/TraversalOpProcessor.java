@@ -18,9 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.server.op.traversal;
 
+import com.codahale.metrics.Counter;
 import com.codahale.metrics.Timer;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalListener;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
 import org.apache.tinkerpop.gremlin.driver.Tokens;
@@ -29,6 +31,7 @@ import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
 import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
 import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
 import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.BytecodeTemplate;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
@@ -51,6 +54,7 @@ import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONMapper;
 import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONVersion;
 import org.apache.tinkerpop.gremlin.util.function.ThrowingConsumer;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
+import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,6 +86,9 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
     private static final ObjectMapper mapper = GraphSONMapper.build().version(GraphSONVersion.V2_0).create().createMapper();
     public static final String OP_PROCESSOR_NAME = "traversal";
     public static final Timer traversalOpTimer = MetricManager.INSTANCE.getTimer(name(GremlinServer.class, "op", "traversal"));
+    public static final Counter planCacheHits = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "plan-cache", "hits"));
+    public static final Counter planCacheMisses = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "plan-cache", "misses"));
+    public static final Counter planCacheEvictions = MetricManager.INSTANCE.getCounter(name(GremlinServer.class, "op", "traversal", "plan-cache", "evictions"));
 
     public static final Settings.ProcessorSettings DEFAULT_SETTINGS = new Settings.ProcessorSettings();
 
@@ -105,16 +112,35 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
      */
     public static final long DEFAULT_CACHE_MAX_SIZE = 1000;
 
+    /**
+     * Configuration setting for the maximum number of {@link BytecodeTemplate} entries the plan cache will have. The
+     * plan cache is disabled when set to zero. Traversals whose steps do not clone their predicates are never cached,
+     * see {@link BytecodeTemplate#compile}.
+     */
+    public static final String CONFIG_PLAN_CACHE_MAX_SIZE = "planCacheMaxSize";
+
+    /**
+     * Default size of the max size of the plan cache.
+     */
+    public static final long DEFAULT_PLAN_CACHE_MAX_SIZE = 1000;
+
     static {
         DEFAULT_SETTINGS.className = TraversalOpProcessor.class.getCanonicalName();
         DEFAULT_SETTINGS.config = new HashMap<String, Object>() {{
             put(CONFIG_CACHE_EXPIRATION_TIME, DEFAULT_CACHE_EXPIRATION_TIME);
             put(CONFIG_CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+            put(CONFIG_PLAN_CACHE_MAX_SIZE, DEFAULT_PLAN_CACHE_MAX_SIZE);
         }};
     }
 
     protected static Cache<UUID, TraversalSideEffects> cache = null;
 
+    /**
+     * The strategy-applied traversals of the {@link Bytecode} requests keyed by their traversal source and their
+     * normalized {@link Bytecode} or {@code null} if the plan cache is disabled.
+     */
+    protected static Cache<Pair<TraversalSource, Bytecode>, BytecodeTemplate> planCache = null;
+
     private static final Bindings EMPTY_BINDINGS = new SimpleBindings();
 
     public TraversalOpProcessor() {
@@ -146,6 +172,19 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
 
         logger.info("Initialized cache for {} with size {} and expiration time of {} ms",
                 TraversalOpProcessor.class.getSimpleName(), maxSize, expirationTime);
+
+        final long planCacheMaxSize = Long.parseLong(processorSettings.config.getOrDefault(
+                TraversalOpProcessor.CONFIG_PLAN_CACHE_MAX_SIZE, DEFAULT_PLAN_CACHE_MAX_SIZE).toString());
+        if (planCacheMaxSize > 0) {
+            planCache = Caffeine.newBuilder()
+                    .maximumSize(planCacheMaxSize)
+                    .removalListener((RemovalListener<Pair<TraversalSource, Bytecode>, BytecodeTemplate>) (key, template, cause) -> {
+                        if (cause.wasEvicted()) planCacheEvictions.inc();
+                    })
+                    .build();
+            logger.info("Initialized plan cache for {} with size {}", TraversalOpProcessor.class.getSimpleName(), planCacheMaxSize);
+        } else
+            planCache = null;
     }
 
     @Override
@@ -361,12 +400,30 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
         final TraversalSource g = graphManager.getTraversalSource(traversalSourceName);
 
         final Traversal.Admin<?, ?> traversal;
+        final BytecodeTemplate.Parameters uncachedParameters;
         try {
             final Optional<String> lambdaLanguage = BytecodeHelper.getLambdaLanguage(bytecode);
-            if (!lambdaLanguage.isPresent())
-                traversal = JavaTranslator.of(g).translate(bytecode);
-            else
+            if (lambdaLanguage.isPresent()) {
+                uncachedParameters = null;
                 traversal = context.getGremlinExecutor().eval(bytecode, EMPTY_BINDINGS, lambdaLanguage.get(), traversalSourceName);
+            } else if (null == planCache) {
+                uncachedParameters = null;
+                traversal = JavaTranslator.of(g).translate(bytecode);
+            } else {
+                // bytecode that only differs in the values of its predicates shares the template of the traversal
+                // that was translated and had its strategies applied for the first of them
+                final BytecodeTemplate.Parameters parameters = BytecodeTemplate.parameterize(bytecode);
+                final BytecodeTemplate template = planCache.getIfPresent(Pair.with(g, parameters.getNormalizedBytecode()));
+                if (null != template && template.accepts(parameters)) {
+                    planCacheHits.inc();
+                    uncachedParameters = null;
+                    traversal = template.bind(parameters);
+                } else {
+                    planCacheMisses.inc();
+                    uncachedParameters = parameters;
+                    traversal = JavaTranslator.of(g).translate(parameters.getBytecode());
+                }
+            }
         } catch (Exception ex) {
             logger.error("Could not deserialize the Traversal instance", context);
             throw new OpProcessorException("Could not deserialize the Traversal instance",
@@ -384,8 +441,14 @@ public class TraversalOpProcessor extends AbstractOpProcessor {
                 beforeProcessing(graph, context);
 
                 try {
-                    // compile the traversal - without it getEndStep() has nothing in it
-                    traversal.applyStrategies();
+                    // compile the traversal - without it getEndStep() has nothing in it. a traversal bound from the
+                    // plan cache is already compiled
+                    if (!traversal.isLocked()) {
+                        traversal.applyStrategies();
+                        if (null != uncachedParameters)
+                            BytecodeTemplate.compile(traversal, uncachedParameters).ifPresent(template ->
+                                    planCache.put(Pair.with(g, uncachedParameters.getNormalizedBytecode()), template));
+                    }
                     handleIterator(context, new TraverserIterator(traversal), graph);
                 } catch (Exception ex) {
                     Throwable t = ex;
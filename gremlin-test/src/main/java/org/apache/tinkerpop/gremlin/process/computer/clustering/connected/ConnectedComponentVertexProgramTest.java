@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.clustering.connected;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ConnectedComponentVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecuteConnectedComponent() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final String smallestId = g.V().id().toStream().map(Object::toString).min(String::compareTo).get();
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ConnectedComponentVertexProgram.build().create(graph)).submit().get();
+            result.graph().traversal().V().forEachRemaining(v -> {
+                assertEquals(3, v.keys().size()); // name, age/lang, component
+                assertTrue(v.keys().contains(ConnectedComponentVertexProgram.COMPONENT));
+                assertEquals(1, IteratorUtils.count(v.values(ConnectedComponentVertexProgram.COMPONENT)));
+                assertEquals(smallestId, v.value(ConnectedComponentVertexProgram.COMPONENT));
+            });
+            assertEquals(0, result.memory().asMap().size());
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecuteConnectedComponentOverEdges() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ConnectedComponentVertexProgram.build().edges(__.<Vertex>bothE("knows").asAdmin()).property("component").create(graph)).submit().get();
+            final Map<String, String> components = new HashMap<>();
+            result.graph().traversal().V().forEachRemaining(v -> components.put(v.value("name"), v.value("component")));
+            assertEquals(6, components.size());
+            assertEquals(4, new HashSet<>(components.values()).size());
+            assertEquals(components.get("marko"), components.get("vadas"));
+            assertEquals(components.get("marko"), components.get("josh"));
+            assertNotEquals(components.get("marko"), components.get("lop"));
+            assertEquals(convertToVertexId("lop").toString(), components.get("lop"));
+            assertEquals(convertToVertexId("ripple").toString(), components.get("ripple"));
+            assertEquals(convertToVertexId("peter").toString(), components.get("peter"));
+            assertEquals(0, result.memory().asMap().size());
+        }
+    }
+}
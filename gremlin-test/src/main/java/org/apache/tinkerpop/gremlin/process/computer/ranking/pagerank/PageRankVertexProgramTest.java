@@ -18,13 +18,20 @@
  */
 package org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank;
 
+import org.apache.tinkerpop.gremlin.FeatureRequirement;
 import org.apache.tinkerpop.gremlin.LoadGraphWith;
 import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -111,4 +118,82 @@ public class PageRankVertexProgramTest extends AbstractGremlinProcessTest {
         final double sum = result.graph().traversal().V().values(PageRankVertexProgram.PAGE_RANK).sum().next().doubleValue();
         assertEquals(1.0d, sum, 0.01d);
     }
-}
\ No newline at end of file
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecuteDeltaPageRank() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(PageRankVertexProgram.build().delta(true).epsilon(0.00001d).iterations(30).create(graph)).submit().get();
+            result.graph().traversal().V().forEachRemaining(v -> {
+                assertEquals(1, IteratorUtils.count(v.values(PageRankVertexProgram.PAGE_RANK)));
+                final String name = v.value("name");
+                final Double pageRank = v.value(PageRankVertexProgram.PAGE_RANK);
+                if (name.equals("marko"))
+                    assertTrue(pageRank > 0.10 && pageRank < 0.12);
+                else if (name.equals("vadas"))
+                    assertTrue(pageRank > 0.13 && pageRank < 0.15);
+                else if (name.equals("lop"))
+                    assertTrue(pageRank > 0.29 && pageRank < 0.31);
+                else if (name.equals("josh"))
+                    assertTrue(pageRank > 0.13 && pageRank < 0.15);
+                else if (name.equals("ripple"))
+                    assertTrue(pageRank > 0.16 && pageRank < 0.18);
+                else if (name.equals("peter"))
+                    assertTrue(pageRank > 0.10 && pageRank < 0.12);
+                else
+                    throw new IllegalStateException("The following vertex should not exist in the graph: " + name);
+            });
+            assertTrue(result.memory().getIteration() < 30);
+            assertEquals(1.0d, result.graph().traversal().V().values(PageRankVertexProgram.PAGE_RANK).sum().next().doubleValue(), 0.01d);
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecuteWarmStartedPageRank() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.ORIGINAL, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult coldResult = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(PageRankVertexProgram.build().epsilon(0.00001d).iterations(30).create(graph)).
+                    result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            final ComputerResult warmResult = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(PageRankVertexProgram.build().warmStart(true).epsilon(0.00001d).iterations(30).create(graph)).
+                    result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            warmResult.graph().traversal().V().forEachRemaining(v -> {
+                assertEquals(1, IteratorUtils.count(v.values(PageRankVertexProgram.PAGE_RANK)));
+                final String name = v.value("name");
+                final Double pageRank = v.value(PageRankVertexProgram.PAGE_RANK);
+                if (name.equals("lop"))
+                    assertTrue(pageRank > 0.29 && pageRank < 0.31);
+                else if (name.equals("ripple"))
+                    assertTrue(pageRank > 0.16 && pageRank < 0.18);
+            });
+            assertTrue(warmResult.memory().getIteration() < coldResult.memory().getIteration());
+            assertEquals(1.0d, warmResult.graph().traversal().V().values(PageRankVertexProgram.PAGE_RANK).sum().next().doubleValue(), 0.01d);
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    @FeatureRequirement(featureClass = Graph.Features.EdgeFeatures.class, feature = Graph.Features.EdgeFeatures.FEATURE_ADD_EDGES)
+    public void shouldExecuteIncrementalPageRankWithWarmStart() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.ORIGINAL, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(PageRankVertexProgram.build().delta(true).epsilon(0.00001d).iterations(30).create(graph)).
+                    result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            final Vertex josh = convertToVertex(graph, "josh");
+            final Vertex ripple = convertToVertex(graph, "ripple");
+            josh.addEdge("created", ripple, "weight", 0.5d);
+            final ComputerResult incrementalResult = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(PageRankVertexProgram.build().delta(true).warmStart(true).epsilon(0.00001d).iterations(30).create(graph)).
+                    incremental(Arrays.asList(josh.id(), ripple.id())).
+                    result(GraphComputer.ResultGraph.ORIGINAL).persist(GraphComputer.Persist.VERTEX_PROPERTIES).submit().get();
+            final Map<String, Double> incrementalRanks = new HashMap<>();
+            incrementalResult.graph().traversal().V().forEachRemaining(v -> incrementalRanks.put(v.value("name"), v.value(PageRankVertexProgram.PAGE_RANK)));
+            final ComputerResult fullResult = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(PageRankVertexProgram.build().delta(true).epsilon(0.00001d).iterations(30).create(graph)).submit().get();
+            fullResult.graph().traversal().V().forEachRemaining(v ->
+                    assertEquals(v.<Double>value(PageRankVertexProgram.PAGE_RANK), incrementalRanks.get(v.<String>value("name")), 0.001d));
+        }
+    }
+}
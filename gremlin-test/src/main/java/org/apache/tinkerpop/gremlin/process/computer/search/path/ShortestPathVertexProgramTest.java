@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.computer.search.path;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author agent (agent@local)
+ */
+public class ShortestPathVertexProgramTest extends AbstractGremlinProcessTest {
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecuteShortestPath() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ShortestPathVertexProgram.build().source(__.<Vertex>has("name", "marko").asAdmin()).create(graph)).submit().get();
+            final Map<String, Double> distances = getDistances(result);
+            assertEquals(5, distances.size());
+            assertEquals(0.0d, distances.get("marko"), 0.0d);
+            assertEquals(1.0d, distances.get("vadas"), 0.0d);
+            assertEquals(1.0d, distances.get("josh"), 0.0d);
+            assertEquals(1.0d, distances.get("lop"), 0.0d);
+            assertEquals(2.0d, distances.get("ripple"), 0.0d);
+            assertFalse(distances.containsKey("peter"));
+            assertEquals(0, result.memory().asMap().size());
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecuteWeightedShortestPath() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ShortestPathVertexProgram.build().source(__.<Vertex>has("name", "marko").asAdmin()).weight("weight").create(graph)).submit().get();
+            final Map<String, Double> distances = getDistances(result);
+            assertEquals(5, distances.size());
+            assertEquals(0.0d, distances.get("marko"), 0.0d);
+            assertEquals(0.5d, distances.get("vadas"), 0.0001d);
+            assertEquals(1.0d, distances.get("josh"), 0.0001d);
+            assertEquals(0.4d, distances.get("lop"), 0.0001d);
+            assertEquals(2.0d, distances.get("ripple"), 0.0001d);
+            assertEquals(0, result.memory().asMap().size());
+        }
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void shouldExecuteShortestPathOverEdges() throws Exception {
+        if (graphProvider.getGraphComputer(graph).features().supportsResultGraphPersistCombination(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES)) {
+            final ComputerResult result = graph.compute(graphProvider.getGraphComputer(graph).getClass()).
+                    program(ShortestPathVertexProgram.build().source(__.<Vertex>has("name", "peter").asAdmin()).edges(__.<Vertex>bothE().asAdmin()).maxIterations(2).create(graph)).submit().get();
+            final Map<String, Double> distances = getDistances(result);
+            assertEquals(4, distances.size());
+            assertEquals(0.0d, distances.get("peter"), 0.0d);
+            assertEquals(1.0d, distances.get("lop"), 0.0d);
+            assertEquals(2.0d, distances.get("marko"), 0.0d);
+            assertEquals(2.0d, distances.get("josh"), 0.0d);
+            assertEquals(2, result.memory().getIteration());
+            assertEquals(0, result.memory().asMap().size());
+        }
+    }
+
+    private static Map<String, Double> getDistances(final ComputerResult result) {
+        final Map<String, Double> distances = new HashMap<>();
+        result.graph().traversal().V().has(ShortestPathVertexProgram.DISTANCE).forEachRemaining(v ->
+                distances.put(v.value("name"), v.value(ShortestPathVertexProgram.DISTANCE)));
+        return distances;
+    }
+}
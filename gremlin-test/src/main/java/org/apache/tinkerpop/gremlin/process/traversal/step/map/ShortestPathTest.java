@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * @author agent (agent@local)
+ */
+public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
+
+    public abstract Traversal<Vertex, Vertex> get_g_V_shortestPath();
+
+    public abstract Traversal<Vertex, Map<String, List<Object>>> get_g_V_hasXname_markoX_shortestPath_byXdistanceX_repeatXunionXidentity__bothX_timesX2X_dedup_valueMapXname_distanceX();
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_V_shortestPath() {
+        final Traversal<Vertex, Vertex> traversal = get_g_V_shortestPath();
+        printTraversalForm(traversal);
+        int counter = 0;
+        while (traversal.hasNext()) {
+            final Vertex vertex = traversal.next();
+            counter++;
+            assertEquals(0.0d, vertex.<Double>value(ShortestPathVertexProgram.DISTANCE), 0.0d);
+        }
+        assertEquals(6, counter);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_V_hasXname_markoX_shortestPath_byXdistanceX_repeatXunionXidentity__bothX_timesX2X_dedup_valueMapXname_distanceX() {
+        final Traversal<Vertex, Map<String, List<Object>>> traversal = get_g_V_hasXname_markoX_shortestPath_byXdistanceX_repeatXunionXidentity__bothX_timesX2X_dedup_valueMapXname_distanceX();
+        printTraversalForm(traversal);
+        final List<Map<String, List<Object>>> results = traversal.toList();
+        assertEquals(6, results.size());
+        final Map<String, Object> distances = new HashMap<>();
+        results.stream().filter(m -> m.containsKey("distance")).forEach(m -> distances.put((String) m.get("name").get(0), m.get("distance").get(0)));
+        assertEquals(5, distances.size());
+        assertEquals(0.0d, distances.get("marko"));
+        assertEquals(1.0d, distances.get("vadas"));
+        assertEquals(1.0d, distances.get("josh"));
+        assertEquals(1.0d, distances.get("lop"));
+        assertEquals(2.0d, distances.get("ripple"));
+        assertFalse(distances.containsKey("peter"));
+    }
+
+    public static class Traversals extends ShortestPathTest {
+
+        @Override
+        public Traversal<Vertex, Vertex> get_g_V_shortestPath() {
+            return g.V().shortestPath();
+        }
+
+        @Override
+        public Traversal<Vertex, Map<String, List<Object>>> get_g_V_hasXname_markoX_shortestPath_byXdistanceX_repeatXunionXidentity__bothX_timesX2X_dedup_valueMapXname_distanceX() {
+            return g.V().has("name", "marko").shortestPath().by("distance").repeat(__.union(__.identity(), __.both())).times(2).dedup().valueMap("name", "distance");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.computer.Computer;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer} benchmarks against a
+ * {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph} loaded with the Grateful Dead data set with
+ * a varying number of workers, to show how the computer scales with the cores it is given.
+ *
+ * @author agent (agent@local)
+ */
+@LoadGraphWith(LoadGraphWith.GraphData.GRATEFUL)
+public class GraphComputerBenchmark extends AbstractGraphBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int workers;
+
+    private int workers() {
+        return Math.min(workers, Runtime.getRuntime().availableProcessors());
+    }
+
+    @Benchmark
+    public ComputerResult pageRank() throws Exception {
+        return graph.compute().workers(workers()).program(PageRankVertexProgram.build().create(graph)).submit().get();
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_pageRank_order_limit() throws Exception {
+        return g.withComputer(Computer.compute().workers(workers()))
+                .V().pageRank().order().by(PageRankVertexProgram.PAGE_RANK).limit(10).toList();
+    }
+
+    @Benchmark
+    public List<Map<Object, Long>> g_V_out_groupCount() throws Exception {
+        return g.withComputer(Computer.compute().workers(workers()))
+                .V().out().groupCount().by("name").toList();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process;
+
+import org.apache.tinkerpop.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * {@code GraphConcurrentMutateBenchmark} benchmarks {@link org.apache.tinkerpop.gremlin.structure.Graph} mutation
+ * methods called from many threads at once against a single {@link TinkerGraph} with hash, sorted and composite
+ * indices, much as the worker threads of Gremlin Server would.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class GraphConcurrentMutateBenchmark extends AbstractBenchmarkBase {
+
+    private static final int VERTEX_COUNT = 10000;
+    private static final int NAME_COUNT = 100;
+
+    private TinkerGraph graph;
+
+    @Setup(Level.Iteration)
+    public void prepare() {
+        graph = TinkerGraph.open();
+        graph.createIndex("name", Vertex.class);
+        graph.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        graph.createIndex(Vertex.class, "name", "age");
+        for (int ix = 0; ix < VERTEX_COUNT; ix++) {
+            graph.addVertex("name", "name" + (ix % NAME_COUNT), "age", ix % 100);
+        }
+    }
+
+    /**
+     * The vertices that a single thread updates. A vertex is not safe to update from several threads at once so each
+     * thread keeps to its own, while the index they all share is updated concurrently.
+     */
+    @State(Scope.Thread)
+    public static class ThreadVertices {
+        private List<Vertex> vertices;
+
+        @Setup(Level.Iteration)
+        public void prepare(final GraphConcurrentMutateBenchmark benchmark) {
+            vertices = new ArrayList<>(VERTEX_COUNT / 10);
+            for (int ix = 0; ix < VERTEX_COUNT / 10; ix++) {
+                vertices.add(benchmark.graph.addVertex("name", "name" + (ix % NAME_COUNT), "age", ix % 100));
+            }
+        }
+    }
+
+    @Benchmark
+    public Vertex testAddVertexWithIndexedProps() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return graph.addVertex("name", "name" + random.nextInt(NAME_COUNT), "age", random.nextInt(100));
+    }
+
+    @Benchmark
+    public VertexProperty testUpdateIndexedProperty(final ThreadVertices threadVertices) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<Vertex> vertices = threadVertices.vertices;
+        return vertices.get(random.nextInt(vertices.size())).property(VertexProperty.Cardinality.single, "age", random.nextInt(100));
+    }
+
+    @Benchmark
+    public Vertex testAddAndRemoveVertexWithIndexedProps() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Vertex v = graph.addVertex("name", "name" + random.nextInt(NAME_COUNT), "age", random.nextInt(100));
+        v.remove();
+        return v;
+    }
+}
@@ -43,7 +43,7 @@ import java.util.List;
  */
 public final class Neo4jGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private List<HasContainer> hasContainers = new ArrayList<>();
 
     public Neo4jGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -85,6 +85,17 @@ public final class Neo4jGraphStep<S, E extends Element> extends GraphStep<S, E>
             this.hasContainers.add(hasContainer);
     }
 
+    @Override
+    public Neo4jGraphStep<S, E> clone() {
+        final Neo4jGraphStep<S, E> clone = (Neo4jGraphStep<S, E>) super.clone();
+        clone.hasContainers = new ArrayList<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.hasContainers.add(hasContainer.clone());
+        }
+        clone.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(clone.returnClass) ? clone.vertices() : clone.edges()));
+        return clone;
+    }
+
     @Override
     public int hashCode() {
         return super.hashCode() ^ this.hasContainers.hashCode();
@@ -49,6 +49,8 @@ import org.apache.tinkerpop.gremlin.hadoop.structure.io.VertexWritable;
 import org.apache.tinkerpop.gremlin.hadoop.structure.util.ConfUtil;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.IterationListener;
+import org.apache.tinkerpop.gremlin.process.computer.IterationMetrics;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.Memory;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
@@ -78,8 +80,10 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.kryoshim.KryoShimServiceLo
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
@@ -94,6 +98,7 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
 
     private final org.apache.commons.configuration.Configuration sparkConfiguration;
     private boolean workersSet = false;
+    private final List<IterationListener> listeners = new ArrayList<>();
     private final ThreadFactory threadFactoryBoss = new BasicThreadFactory.Builder().namingPattern(SparkGraphComputer.class.getSimpleName() + "-boss").build();
 
     private static final Set<String> KEYS_PASSED_IN_JVM_SYSTEM_PROPERTIES = new HashSet<>(Arrays.asList(
@@ -128,6 +133,12 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
         return this;
     }
 
+    @Override
+    public GraphComputer listener(final IterationListener listener) {
+        this.listeners.add(listener);
+        return this;
+    }
+
     @Override
     public GraphComputer configure(final String key, final Object value) {
         this.sparkConfiguration.setProperty(key, value);
@@ -315,10 +326,18 @@ public final class SparkGraphComputer extends AbstractHadoopGraphComputer {
                                 sparkContext.cancelAllJobs();
                                 throw new TraversalInterruptedException();
                             }
+                            final long iterationStart = System.nanoTime();
                             memory.setInExecute(true);
                             viewIncomingRDD = SparkExecutor.executeVertexProgramIteration(loadedGraphRDD, viewIncomingRDD, memory, graphComputerConfiguration, vertexProgramConfiguration);
                             memory.setInExecute(false);
-                            if (this.vertexProgram.terminate(memory))
+                            final boolean terminate = this.vertexProgram.terminate(memory);
+                            // the vertices and messages are not counted as that would take another job per iteration
+                            if (!this.listeners.isEmpty()) {
+                                final IterationMetrics metrics = new IterationMetrics(memory.getIteration(), System.nanoTime() - iterationStart,
+                                        -1L, -1L, Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+                                this.listeners.forEach(listener -> listener.iterationCompleted(metrics));
+                            }
+                            if (terminate)
                                 break;
                             else {
                                 memory.incrIteration();
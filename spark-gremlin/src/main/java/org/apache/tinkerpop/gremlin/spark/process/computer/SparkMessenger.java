@@ -63,7 +63,7 @@ public final class SparkMessenger<M> implements Messenger<M> {
             final MessageScope.Local<M> localMessageScope = (MessageScope.Local) messageScope;
             final Traversal.Admin<Vertex, Edge> incidentTraversal = SparkMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
             final Direction direction = SparkMessenger.getOppositeDirection(incidentTraversal);
-            incidentTraversal.forEachRemaining(edge -> this.outgoingMessages.add(new Tuple2<>(edge.vertices(direction).next().id(), message)));
+            incidentTraversal.forEachRemaining(edge -> this.outgoingMessages.add(new Tuple2<>(SparkMessenger.getNeighbor(edge, direction, this.vertex).id(), localMessageScope.getEdgeFunction().apply(message, edge))));
         } else {
             ((MessageScope.Global) messageScope).vertices().forEach(v -> this.outgoingMessages.add(new Tuple2<>(v.id(), message)));
         }
@@ -80,4 +80,10 @@ public final class SparkMessenger<M> implements Messenger<M> {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection().opposite();
     }
+
+    private static Vertex getNeighbor(final Edge edge, final Direction direction, final Vertex vertex) {
+        return Direction.BOTH == direction ?
+                (vertex.id().equals(edge.outVertex().id()) ? edge.inVertex() : edge.outVertex()) :
+                edge.vertices(direction).next();
+    }
 }
@@ -22,6 +22,9 @@ import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.IterationListener;
+import org.apache.tinkerpop.gremlin.process.computer.IterationMetrics;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.process.computer.traversal.strategy.optimization.GraphFilterStrategy;
@@ -31,6 +34,7 @@ import org.apache.tinkerpop.gremlin.process.computer.util.GraphComputerHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalInterruptedException;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -38,17 +42,24 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -68,11 +79,13 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
     private final GraphFilter graphFilter = new GraphFilter();
+    private Collection<?> changedVertexIds = null;
+    private final List<IterationListener> listeners = new ArrayList<>();
 
     private final ThreadFactory threadFactoryBoss = new BasicThreadFactory.Builder().namingPattern(TinkerGraphComputer.class.getSimpleName() + "-boss").build();
 
@@ -128,6 +141,18 @@ public final class TinkerGraphComputer implements GraphComputer {
         return this;
     }
 
+    @Override
+    public GraphComputer incremental(final Collection<?> changedVertexIds) {
+        this.changedVertexIds = changedVertexIds;
+        return this;
+    }
+
+    @Override
+    public GraphComputer listener(final IterationListener listener) {
+        this.listeners.add(listener);
+        return this;
+    }
+
     @Override
     public Future<ComputerResult> submit() {
         // a graph computer can only be executed once
@@ -160,73 +185,108 @@ public final class TinkerGraphComputer implements GraphComputer {
             final TinkerWorkerPool workers = new TinkerWorkerPool(this.graph, this.memory, this.workers);
             try {
                 if (null != this.vertexProgram) {
+                    this.messageBoard = new TinkerMessageBoard<>(view, this.vertexProgram.getMessageCombiner(), this.vertexProgram.usesActiveVertices());
                     // execute the vertex program
+                    // a program that starts from its previous results only has to be executed where the changes reach
+                    if (null != this.changedVertexIds && this.vertexProgram.startsFromComputeKeys())
+                        this.messageBoard.seed(TinkerGraphComputer.changedNeighborhoods(this.graph, this.changedVertexIds));
                     this.vertexProgram.setup(this.memory);
                     while (true) {
                         if (Thread.interrupted()) throw new TraversalInterruptedException();
+                        final long iterationStart = System.nanoTime();
+                        final LongAdder executedVertices = new LongAdder();
                         this.memory.completeSubRound();
+                        // after the first iteration only the active vertices are executed if the program allows it
+                        final Object[] activeVertices = this.messageBoard.skipsInactiveVertices() &&
+                                !this.memory.isInitialIteration() && !this.vertexProgram.requiresAllVertices(this.memory) ?
+                                this.messageBoard.getActiveVertices() : null;
+                        if (null != activeVertices)
+                            this.messageBoard.completeSeeding();
                         workers.setVertexProgram(this.vertexProgram);
-                        workers.executeVertexProgram((vertices, vertexProgram, workerMemory) -> {
+                        workers.executeVertexProgram(activeVertices, (vertices, vertexProgram, workerMemory) -> {
                             vertexProgram.workerIterationStart(workerMemory.asImmutable());
                             while (vertices.hasNext()) {
                                 final Vertex vertex = vertices.next();
                                 if (Thread.interrupted()) throw new TraversalInterruptedException();
+                                executedVertices.increment();
                                 vertexProgram.execute(
                                         ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                        new TinkerMessenger<>(vertex, this.messageBoard),
                                         workerMemory);
                             }
                             vertexProgram.workerIterationEnd(workerMemory.asImmutable());
                             workerMemory.complete();
                         });
-                        this.messageBoard.completeIteration();
                         this.memory.completeSubRound();
-                        if (this.vertexProgram.terminate(this.memory)) {
-                            this.memory.incrIteration();
-                            break;
-                        } else {
-                            this.memory.incrIteration();
+                        final boolean terminate = this.vertexProgram.terminate(this.memory);
+                        if (!this.listeners.isEmpty()) {
+                            final IterationMetrics metrics = new IterationMetrics(this.memory.getIteration(), System.nanoTime() - iterationStart,
+                                    executedVertices.sum(), this.messageBoard.takeSentMessages(), Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+                            this.listeners.forEach(listener -> listener.iterationCompleted(metrics));
                         }
+                        this.memory.incrIteration();
+                        if (terminate)
+                            break;
+                        else
+                            this.messageBoard.completeIteration(this.vertexProgram.getMessageScopes(this.memory));
                     }
                     view.complete(); // drop all transient vertex compute keys
                 }
 
                 // execute mapreduce jobs
                 for (final MapReduce mapReduce : mapReducers) {
-                    final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                    final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                    final boolean doReduce = mapReduce.doStage(MapReduce.Stage.REDUCE);
+                    final boolean doCombine = doReduce && mapReduce.doStage(MapReduce.Stage.COMBINE);
+                    final int numberOfPartitions = workers.getNumberOfReducePartitions();
+                    final Queue<TinkerMapEmitter<?, ?>> mapEmitters = new ConcurrentLinkedQueue<>();
                     workers.setMapReduce(mapReduce);
-                    workers.executeMapReduce(workerMapReduce -> {
+                    workers.executeMapReduce((vertices, workerMapReduce) -> {
+                        // the partitions of the emitter are combined while it fills up so the uncombined output is never held in full
+                        final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(doReduce, numberOfPartitions, doCombine ? workerMapReduce : null);
                         workerMapReduce.workerStart(MapReduce.Stage.MAP);
-                        while (true) {
+                        while (vertices.hasNext()) {
                             if (Thread.interrupted()) throw new TraversalInterruptedException();
-                            final Vertex vertex = vertices.next();
-                            if (null == vertex) break;
-                            workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
+                            workerMapReduce.map(ComputerGraph.mapReduce(vertices.next()), mapEmitter);
                         }
                         workerMapReduce.workerEnd(MapReduce.Stage.MAP);
+                        if (doCombine) {
+                            // shrink what is left of the output of the worker before the outputs are merged
+                            workerMapReduce.workerStart(MapReduce.Stage.COMBINE);
+                            mapEmitter.combine();
+                            workerMapReduce.workerEnd(MapReduce.Stage.COMBINE);
+                        }
+                        mapEmitter.complete(workerMapReduce); // sort the run of the worker if a map output sort is defined
+                        mapEmitters.add(mapEmitter);
                     });
-                    // sort results if a map output sort is defined
-                    mapEmitter.complete(mapReduce);
-
-                    // no need to run combiners as this is single machine
-                    if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
-                        final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                        final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
-                        workers.executeMapReduce(workerMapReduce -> {
+
+                    if (doReduce) {
+                        // each partition of keys is merged across the workers and reduced on its own
+                        final Optional<Comparator> mapKeySort = mapReduce.getMapKeySort();
+                        final Queue<TinkerReduceEmitter<?, ?>> reduceEmitters = new ConcurrentLinkedQueue<>();
+                        workers.executeMapReduce(partitionIndices(numberOfPartitions), (partitions, workerMapReduce) -> {
+                            final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
                             workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
-                            while (true) {
-                                if (Thread.interrupted()) throw new TraversalInterruptedException();
-                                final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                if (null == entry) break;
-                                workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
+                            while (partitions.hasNext()) {
+                                final Map<Object, List<Object>> partition = mergePartition(mapEmitters, partitions.next());
+                                final Collection<Object> keys = mapKeySort.isPresent() ? new ArrayList<>(partition.keySet()) : partition.keySet();
+                                if (mapKeySort.isPresent())
+                                    ((List<Object>) keys).sort(mapKeySort.get());
+                                for (final Object key : keys) {
+                                    if (Thread.interrupted()) throw new TraversalInterruptedException();
+                                    workerMapReduce.reduce(key, partition.get(key).iterator(), reduceEmitter);
+                                }
                             }
                             workerMapReduce.workerEnd(MapReduce.Stage.REDUCE);
+                            reduceEmitter.complete(workerMapReduce); // sort the run of the worker if a reduce output sort is defined
+                            reduceEmitters.add(reduceEmitter);
                         });
-                        reduceEmitter.complete(mapReduce); // sort results if a reduce output sort is defined
-                        mapReduce.addResultToMemory(this.memory, reduceEmitter.reduceQueue.iterator());
+                        final List<List<KeyValue>> runs = new ArrayList<>();
+                        reduceEmitters.forEach(reduceEmitter -> runs.add((List) reduceEmitter.reduceList));
+                        mapReduce.addResultToMemory(this.memory, mergeRuns(workers, runs, mapReduce.getReduceKeySort()).iterator());
                     } else {
-                        mapReduce.addResultToMemory(this.memory, mapEmitter.mapQueue.iterator());
+                        final List<List<KeyValue>> runs = new ArrayList<>();
+                        mapEmitters.forEach(mapEmitter -> runs.add((List) mapEmitter.getMapList()));
+                        mapReduce.addResultToMemory(this.memory, mergeRuns(workers, runs, mapReduce.getMapKeySort()).iterator());
                     }
                 }
                 // update runtime and return the newly computed graph
@@ -250,22 +310,57 @@ public final class TinkerGraphComputer implements GraphComputer {
         return result;
     }
 
-    @Override
-    public String toString() {
-        return StringFactory.graphComputerString(this);
+    private static Iterator<Vertex> changedNeighborhoods(final TinkerGraph graph, final Collection<?> changedVertexIds) {
+        if (changedVertexIds.isEmpty())
+            return Collections.emptyIterator();
+        final List<Vertex> vertices = new ArrayList<>();
+        graph.vertices(changedVertexIds.toArray()).forEachRemaining(vertex -> {
+            vertices.add(vertex);
+            vertex.vertices(Direction.BOTH).forEachRemaining(vertices::add);
+        });
+        return vertices.iterator();
     }
 
-    private static class SynchronizedIterator<V> {
-
-        private final Iterator<V> iterator;
-
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
+    private static List<Integer> partitionIndices(final int numberOfPartitions) {
+        final List<Integer> indices = new ArrayList<>(numberOfPartitions);
+        for (int i = 0; i < numberOfPartitions; i++) {
+            indices.add(i);
         }
+        return indices;
+    }
 
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
+    /**
+     * Gathers the values of each key of the partition from the map output of every worker, reusing the largest
+     * output as the one the others are added to.
+     */
+    private static Map<Object, List<Object>> mergePartition(final Collection<TinkerMapEmitter<?, ?>> mapEmitters, final int index) {
+        final List<Map<Object, List<Object>>> partitions = new ArrayList<>(mapEmitters.size());
+        mapEmitters.forEach(mapEmitter -> partitions.add((Map) mapEmitter.takePartition(index)));
+        partitions.sort(Comparator.comparingInt(partition -> -partition.size()));
+        final Map<Object, List<Object>> merged = partitions.isEmpty() ? new HashMap<>() : partitions.get(0);
+        for (int i = 1; i < partitions.size(); i++) {
+            partitions.get(i).forEach((key, values) -> merged.merge(key, values, (a, b) -> {
+                a.addAll(b);
+                return a;
+            }));
         }
+        return merged;
+    }
+
+    /**
+     * Concatenates the runs of the workers or, if there is a sort, merges their sorted runs.
+     */
+    private static List<KeyValue> mergeRuns(final TinkerWorkerPool workers, final List<List<KeyValue>> runs, final Optional<Comparator> sort) throws InterruptedException {
+        if (sort.isPresent())
+            return workers.mergeSortedRuns(runs, Comparator.<KeyValue, Object>comparing(KeyValue::getKey, sort.get()));
+        final List<KeyValue> keyValues = new ArrayList<>();
+        runs.forEach(keyValues::addAll);
+        return keyValues;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.graphComputerString(this);
     }
 
     @Override
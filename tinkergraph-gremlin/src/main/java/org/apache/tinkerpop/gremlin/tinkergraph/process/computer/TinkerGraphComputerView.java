@@ -21,8 +21,12 @@ package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
-import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -30,6 +34,7 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.apache.tinkerpop.gremlin.structure.util.wrapped.WrappedVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
@@ -42,53 +47,72 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * The view of a {@link TinkerGraph} that a {@link TinkerGraphComputer} runs against. Each vertex is given a dense
+ * ordinal when the view is created, which is kept on the {@link TinkerVertex} itself, and the values of every
+ * {@link VertexComputeKey} are held in a {@link ComputeColumn} indexed by that ordinal rather than in a map per vertex.
+ * A column keeps {@code double} and {@code long} values in primitive arrays and any other value as is, so a write does
+ * not allocate a property, and the properties that are read are made from the value of the slot. A column is only
+ * written at the ordinal of the vertex that a worker is executing so the slots need no synchronization, and a
+ * transient key is dropped by releasing its column. The legal vertices of a {@link GraphFilter} are likewise a bit
+ * per ordinal, and an edge filter that only selects edges by direction and label is answered per edge with no state
+ * at all.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerGraphComputerView {
 
     private final TinkerGraph graph;
     protected final Map<String, VertexComputeKey> computeKeys;
-    private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
-    private final Set<Object> legalVertices = new HashSet<>();
-    private final Map<Object, Set<Object>> legalEdges = new HashMap<>();
+    private final Map<String, ComputeColumn> computeColumns = new HashMap<>();
+    private final Vertex[] vertices;
     private final GraphFilter graphFilter;
+    private final long[] legalVertices;
+    private final Object[] legalEdges;
 
     public TinkerGraphComputerView(final TinkerGraph graph, final GraphFilter graphFilter, final Set<VertexComputeKey> computeKeys) {
         this.graph = graph;
         this.computeKeys = new HashMap<>();
         computeKeys.forEach(key -> this.computeKeys.put(key.getKey(), key));
-        this.computeProperties = new ConcurrentHashMap<>();
         this.graphFilter = graphFilter;
-        if (this.graphFilter.hasFilter()) {
-            graph.vertices().forEachRemaining(vertex -> {
-                boolean legalVertex = false;
-                if (this.graphFilter.hasVertexFilter() && this.graphFilter.legalVertex(vertex)) {
-                    this.legalVertices.add(vertex.id());
-                    legalVertex = true;
-                }
-                if ((legalVertex || !this.graphFilter.hasVertexFilter()) && this.graphFilter.hasEdgeFilter()) {
+        final List<Vertex> vertices = new ArrayList<>();
+        graph.vertices().forEachRemaining(vertex -> {
+            TinkerHelper.setComputeOrdinal((TinkerVertex) vertex, vertices.size());
+            vertices.add(vertex);
+        });
+        this.vertices = vertices.toArray(new Vertex[vertices.size()]);
+        this.computeKeys.keySet().forEach(key -> this.computeColumns.put(key, new ComputeColumn(this.computeColumns.size(), this.vertices.length)));
+        // the vertex filter is tested while the vertex properties are still those of the graph and the legal vertices
+        // are kept as a bit per ordinal
+        if (this.graphFilter.hasVertexFilter()) {
+            this.legalVertices = new long[(this.vertices.length + 63) >>> 6];
+            final List<HasContainer> hasContainers = TinkerGraphComputerView.getHasContainers(this.graphFilter.getVertexFilter());
+            for (int i = 0; i < this.vertices.length; i++) {
+                if (null == hasContainers ? this.graphFilter.legalVertex(this.vertices[i]) : HasContainer.testAll(this.vertices[i], hasContainers))
+                    this.legalVertices[i >>> 6] |= 1L << i;
+            }
+        } else
+            this.legalVertices = null;
+        // an edge filter that the direction and label of an edge decide is answered without generating the legal
+        // edges of every vertex, which otherwise have to be generated before the view hides the illegal ones
+        if (this.graphFilter.hasEdgeFilter() && !this.graphFilter.decidesEdgeLegality()) {
+            this.legalEdges = new Object[this.vertices.length];
+            for (int i = 0; i < this.vertices.length; i++) {
+                if (this.legalVertex(i)) {
                     final Set<Object> edges = new HashSet<>();
-                    this.legalEdges.put(vertex.id(), edges);
-                    this.graphFilter.legalEdges(vertex).forEachRemaining(edge -> edges.add(edge.id()));
+                    this.graphFilter.legalEdges(this.vertices[i]).forEachRemaining(edge -> edges.add(edge.id()));
+                    this.legalEdges[i] = edges;
                 }
-            });
-        }
+            }
+        } else
+            this.legalEdges = null;
     }
 
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
-            this.addValue(vertex, key, property);
-            return property;
+            return this.addValue(vertex, key, value);
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
@@ -103,12 +127,21 @@ public final class TinkerGraphComputerView {
 
     public List<Property> getProperties(final TinkerVertex vertex) {
         final List<Property> list = new ArrayList<>();
-        for (final List<VertexProperty> properties : TinkerHelper.getProperties(vertex).values()) {
-            list.addAll(properties);
+        final List<Property> computedList = new ArrayList<>();
+        final Set<String> computedKeys = new HashSet<>();
+        for (final String key : this.computeColumns.keySet()) {
+            final List<VertexProperty<?>> properties = this.getValue(vertex, key);
+            if (!properties.isEmpty()) {
+                computedList.addAll(properties);
+                computedKeys.add(key);
+            }
         }
-        for (final List<VertexProperty<?>> properties : this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).values()) {
-            list.addAll(properties);
+        // as with getProperty(), the computed values of a key hide those the vertex had before
+        for (final Map.Entry<String, List<VertexProperty>> properties : TinkerHelper.getProperties(vertex).entrySet()) {
+            if (!computedKeys.contains(properties.getKey()))
+                list.addAll(properties.getValue());
         }
+        list.addAll(computedList);
         return list;
     }
 
@@ -121,21 +154,76 @@ public final class TinkerGraphComputerView {
     }
 
     public boolean legalVertex(final Vertex vertex) {
-        return !this.graphFilter.hasVertexFilter() || this.legalVertices.contains(vertex.id());
+        return null == this.legalVertices || this.legalVertex(this.ordinal(vertex));
     }
 
     public boolean legalEdge(final Vertex vertex, final Edge edge) {
-        return !this.graphFilter.hasEdgeFilter() || this.legalEdges.get(vertex.id()).contains(edge.id());
+        if (!this.graphFilter.hasEdgeFilter())
+            return true;
+        final int ordinal = this.ordinal(vertex);
+        if (!this.legalVertex(ordinal))
+            return false;
+        else if (null != this.legalEdges)
+            return ((Set<Object>) this.legalEdges[ordinal]).contains(edge.id());
+        // a self-loop is legal in either direction
+        final String label = edge.label();
+        final Object id = vertex.id();
+        return (id.equals(edge.outVertex().id()) && this.graphFilter.checkEdgeLegality(Direction.OUT, label).positive()) ||
+                (id.equals(edge.inVertex().id()) && this.graphFilter.checkEdgeLegality(Direction.IN, label).positive());
+    }
+
+    private boolean legalVertex(final int ordinal) {
+        return ordinal >= 0 && (null == this.legalVertices || 0 != (this.legalVertices[ordinal >>> 6] & (1L << ordinal)));
+    }
+
+    /**
+     * Gets the filters of a vertex filter that only has {@code has()} steps, which are then tested on the vertex
+     * directly rather than by running the traversal, or {@code null} if there are other steps.
+     */
+    private static List<HasContainer> getHasContainers(final Traversal.Admin<Vertex, Vertex> vertexFilter) {
+        final List<HasContainer> hasContainers = new ArrayList<>();
+        for (final Step<?, ?> step : vertexFilter.getSteps()) {
+            if (!(step instanceof HasStep))
+                return null;
+            hasContainers.addAll(((HasStep<?>) step).getHasContainers());
+        }
+        return hasContainers;
+    }
+
+    /**
+     * Gets the dense ordinal of the vertex, from {@code 0} to {@link #getVertexCount()} exclusive, which is fixed for
+     * the life of the view, or {@code -1} if the vertex is not in the graph.
+     */
+    int ordinal(final Vertex vertex) {
+        final Vertex baseVertex = vertex instanceof WrappedVertex ? ((WrappedVertex<Vertex>) vertex).getBaseVertex() : vertex;
+        if (baseVertex instanceof TinkerVertex) {
+            final int ordinal = this.ordinal((TinkerVertex) baseVertex);
+            if (ordinal >= 0)
+                return ordinal;
+        }
+        // a reference to a vertex of the graph is resolved by its id
+        final Vertex graphVertex = TinkerHelper.getVertices(this.graph).get(vertex.id());
+        return null == graphVertex || graphVertex == baseVertex ? -1 : this.ordinal((TinkerVertex) graphVertex);
+    }
+
+    private int ordinal(final TinkerVertex vertex) {
+        final int ordinal = TinkerHelper.getComputeOrdinal(vertex);
+        return ordinal < this.vertices.length && this.vertices[ordinal] == vertex ? ordinal : -1;
+    }
+
+    int getVertexCount() {
+        return this.vertices.length;
+    }
+
+    Vertex getVertex(final int ordinal) {
+        return this.vertices[ordinal];
     }
 
     protected void complete() {
         // remove all transient properties from the vertices
         for (final VertexComputeKey computeKey : this.computeKeys.values()) {
-            if (computeKey.isTransient()) {
-                for (final Map<String, List<VertexProperty<?>>> properties : this.computeProperties.values()) {
-                    properties.remove(computeKey.getKey());
-                }
-            }
+            if (computeKey.isTransient())
+                this.computeColumns.remove(computeKey.getKey());
         }
     }
 
@@ -193,17 +281,22 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
-        this.computeProperties.forEach((element, properties) -> {
-            properties.forEach((key, vertexProperties) -> {
-                vertexProperties.forEach(vertexProperty -> {
-                    final VertexProperty<?> newVertexProperty = ((Vertex) element).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
+        // the ids of the computed properties are those of their slots so the graph gives them ids of its own
+        for (final Map.Entry<String, ComputeColumn> column : this.computeColumns.entrySet()) {
+            for (int i = 0; i < this.vertices.length; i++) {
+                final Vertex vertex = this.vertices[i];
+                final List<VertexProperty<?>> properties = this.getValue((TinkerVertex) vertex, column.getKey(), column.getValue(), i);
+                if (!properties.isEmpty())
+                    vertex.properties(column.getKey()).forEachRemaining(VertexProperty::remove);
+                properties.forEach(vertexProperty -> {
+                    final VertexProperty<?> newVertexProperty = vertex.property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value());
                     vertexProperty.properties().forEachRemaining(property -> {
                         newVertexProperty.property(property.key(), property.value());
                     });
                 });
-            });
-        });
-        this.computeProperties.clear();
+            }
+        }
+        this.computeColumns.clear();
     }
 
     //////////////////////
@@ -212,20 +305,213 @@ public final class TinkerGraphComputerView {
         return this.computeKeys.containsKey(key);
     }
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new HashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = new ArrayList<>();
-            v.add(property);
-            return v;
-        });
+    /**
+     * Adds the value to the slot of the vertex in the column of its key. A slot holds the value itself while there is
+     * only one and a {@link ComputeProperties} list otherwise, so only a vertex with several values of a key keeps a
+     * property for each of them.
+     */
+    private <V> VertexProperty<V> addValue(final TinkerVertex vertex, final String key, final V value) {
+        final ComputeColumn column = this.computeColumns.get(key);
+        final int ordinal = this.ordinal(vertex);
+        if (null == column || ordinal < 0)
+            return new ComputeProperty<>(vertex, key, value);
+        final Object slot = column.get(ordinal);
+        if (null == slot) {
+            column.set(ordinal, value);
+            return new ComputeProperty<>(column.id(ordinal), vertex, key, value);
+        }
+        final ComputeProperty<V> property = new ComputeProperty<>(vertex, key, value);
+        if (slot instanceof ComputeProperties)
+            ((ComputeProperties) slot).add(property);
+        else {
+            final ComputeProperties properties = new ComputeProperties();
+            properties.add(this.toProperty(vertex, key, column, ordinal, slot));
+            properties.add(property);
+            column.clear(ordinal);
+            column.set(ordinal, properties);
+        }
+        return property;
+    }
+
+    private void removeValue(final TinkerVertex vertex, final String key, final VertexProperty property) {
+        final ComputeColumn column = this.computeColumns.get(key);
+        final int ordinal = this.ordinal(vertex);
+        if (null == column || ordinal < 0)
+            return;
+        final Object slot = column.get(ordinal);
+        if (slot instanceof ComputeProperties) {
+            final ComputeProperties properties = (ComputeProperties) slot;
+            properties.remove(property);
+            if (properties.size() < 2) {
+                column.clear(ordinal);
+                if (!properties.isEmpty())
+                    column.set(ordinal, properties.get(0));
+            }
+        } else if (slot instanceof ComputeProperty ? slot.equals(property) : null != slot && column.id(ordinal).equals(property.id()))
+            column.clear(ordinal);
+    }
+
+    /**
+     * Keeps the property in the slot of its value, as a property that has meta-properties can not be made again from
+     * the value alone.
+     */
+    private void pinValue(final ComputeProperty<?> property) {
+        final ComputeColumn column = this.computeColumns.get(property.key());
+        final int ordinal = this.ordinal((TinkerVertex) property.element());
+        if (null == column || ordinal < 0)
+            return;
+        final Object slot = column.get(ordinal);
+        if (null != slot && !(slot instanceof ComputeProperty) && !(slot instanceof ComputeProperties) &&
+                column.id(ordinal).equals(property.id())) {
+            column.clear(ordinal);
+            column.set(ordinal, property);
+        }
+    }
+
+    private List<VertexProperty<?>> getValue(final TinkerVertex vertex, final String key) {
+        final ComputeColumn column = this.computeColumns.get(key);
+        return null == column ? Collections.emptyList() : this.getValue(vertex, key, column, this.ordinal(vertex));
+    }
+
+    private List<VertexProperty<?>> getValue(final TinkerVertex vertex, final String key, final ComputeColumn column, final int ordinal) {
+        final Object slot = ordinal < 0 ? null : column.get(ordinal);
+        if (null == slot)
+            return Collections.emptyList();
+        return slot instanceof ComputeProperties ?
+                (ComputeProperties) slot :
+                Collections.singletonList(this.toProperty(vertex, key, column, ordinal, slot));
     }
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.<List<Map<String, VertexProperty<?>>>>getOrDefault(vertex, Collections.emptyMap()).get(key).remove(property);
+    private VertexProperty<?> toProperty(final TinkerVertex vertex, final String key, final ComputeColumn column,
+                                         final int ordinal, final Object slot) {
+        return slot instanceof ComputeProperty ?
+                (ComputeProperty<?>) slot :
+                new ComputeProperty<>(column.id(ordinal), vertex, key, slot);
+    }
+
+    /**
+     * The values of a {@link VertexComputeKey} for every ordinal. The kind of each slot is a byte so that slots of
+     * different vertices never share a word, and its value is in the {@code double}, {@code long} or object array
+     * for that kind, each of which is only allocated once a value of that kind is set. The property that is made
+     * from the value of a slot is given a negative id that is derived from the slot, so that it is the same each time
+     * the slot is read and is apart from the ids that the graph generates.
+     */
+    private static final class ComputeColumn {
+
+        private static final byte ABSENT = 0;
+        private static final byte DOUBLE = 1;
+        private static final byte LONG = 2;
+        private static final byte OBJECT = 3;
+
+        private final int index;
+        private final byte[] kinds;
+        private volatile double[] doubles;
+        private volatile long[] longs;
+        private volatile Object[] objects;
+
+        private ComputeColumn(final int index, final int size) {
+            this.index = index;
+            this.kinds = new byte[size];
+        }
+
+        private Object get(final int ordinal) {
+            switch (this.kinds[ordinal]) {
+                case DOUBLE:
+                    return this.doubles[ordinal];
+                case LONG:
+                    return this.longs[ordinal];
+                case OBJECT:
+                    return this.objects[ordinal];
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Sets the value of an empty slot.
+         */
+        private void set(final int ordinal, final Object value) {
+            if (value instanceof Double) {
+                this.doubles()[ordinal] = (Double) value;
+                this.kinds[ordinal] = DOUBLE;
+            } else if (value instanceof Long) {
+                this.longs()[ordinal] = (Long) value;
+                this.kinds[ordinal] = LONG;
+            } else {
+                this.objects()[ordinal] = value;
+                this.kinds[ordinal] = OBJECT;
+            }
+        }
+
+        private void clear(final int ordinal) {
+            if (OBJECT == this.kinds[ordinal])
+                this.objects[ordinal] = null;
+            this.kinds[ordinal] = ABSENT;
+        }
+
+        private Object id(final int ordinal) {
+            return -1L - ((long) this.index * this.kinds.length + ordinal);
+        }
+
+        private double[] doubles() {
+            if (null == this.doubles) {
+                synchronized (this) {
+                    if (null == this.doubles)
+                        this.doubles = new double[this.kinds.length];
+                }
+            }
+            return this.doubles;
+        }
+
+        private long[] longs() {
+            if (null == this.longs) {
+                synchronized (this) {
+                    if (null == this.longs)
+                        this.longs = new long[this.kinds.length];
+                }
+            }
+            return this.longs;
+        }
+
+        private Object[] objects() {
+            if (null == this.objects) {
+                synchronized (this) {
+                    if (null == this.objects)
+                        this.objects = new Object[this.kinds.length];
+                }
+            }
+            return this.objects;
+        }
+    }
+
+    /**
+     * A property of a compute key, which is removed from the view rather than from the vertex.
+     */
+    private final class ComputeProperty<V> extends TinkerVertexProperty<V> {
+
+        private ComputeProperty(final TinkerVertex vertex, final String key, final V value) {
+            super(vertex, key, value);
+        }
+
+        private ComputeProperty(final Object id, final TinkerVertex vertex, final String key, final V value) {
+            super(id, vertex, key, value);
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            pinValue(this);
+            return super.property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            removeProperty((TinkerVertex) this.element(), this.key(), this);
+        }
     }
 
-    private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    /**
+     * The properties of a slot that holds more than one.
+     */
+    private static final class ComputeProperties extends ArrayList<VertexProperty<?>> {
     }
-}
\ No newline at end of file
+}
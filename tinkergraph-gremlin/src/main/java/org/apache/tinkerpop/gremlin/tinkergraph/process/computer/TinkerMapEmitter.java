@@ -22,54 +22,134 @@ import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
+ * The map output of a single worker. Nothing is shared between workers so the emits need no synchronization. When
+ * there is a reduce stage the values are grouped by key into partitions by the hash of the key so that each partition
+ * can be merged across the workers and reduced independently of the others, otherwise the key/value pairs are kept in
+ * the order they were emitted. When there is a combiner, a partition is combined as soon as the number of values it
+ * buffers passes a threshold, so the uncombined output of the worker is never held in full.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerMapEmitter<K, V> implements MapReduce.MapEmitter<K, V> {
 
-    public Map<K, Queue<V>> reduceMap;
-    public Queue<KeyValue<K, V>> mapQueue;
+    private static final int COMBINE_THRESHOLD = 8192;
+
+    private Map<K, List<V>>[] partitions;
+    private final List<KeyValue<K, V>> mapList;
     private final boolean doReduce;
+    private final MapReduce<K, V, K, V, ?> combiner;
+    // the number of values buffered by each partition and the number at which the partition is combined
+    private final int[] buffered;
+    private final int[] thresholds;
+
+    public TinkerMapEmitter(final boolean doReduce, final int numberOfPartitions) {
+        this(doReduce, numberOfPartitions, null);
+    }
+
+    public TinkerMapEmitter(final boolean doReduce, final int numberOfPartitions, final MapReduce<K, V, K, V, ?> combiner) {
+        this(doReduce, numberOfPartitions, combiner, COMBINE_THRESHOLD);
+    }
 
-    public TinkerMapEmitter(final boolean doReduce) {
+    TinkerMapEmitter(final boolean doReduce, final int numberOfPartitions, final MapReduce<K, V, K, V, ?> combiner,
+                     final int combineThreshold) {
         this.doReduce = doReduce;
-        if (this.doReduce)
-            this.reduceMap = new ConcurrentHashMap<>();
-        else
-            this.mapQueue = new ConcurrentLinkedQueue<>();
+        this.partitions = doReduce ? newPartitions(numberOfPartitions) : null;
+        this.mapList = doReduce ? null : new ArrayList<>();
+        this.combiner = doReduce ? combiner : null;
+        this.buffered = null == this.combiner ? null : new int[numberOfPartitions];
+        this.thresholds = null == this.combiner ? null : new int[numberOfPartitions];
+        if (null != this.thresholds)
+            Arrays.fill(this.thresholds, combineThreshold);
     }
 
     @Override
-    public void emit(K key, V value) {
-        if (this.doReduce)
-            this.reduceMap.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(value);
-        else
-            this.mapQueue.add(new KeyValue<>(key, value));
+    public void emit(final K key, final V value) {
+        if (this.doReduce) {
+            final int partition = this.add(key, value);
+            if (null != this.combiner && this.buffered[partition] > this.thresholds[partition])
+                this.combine(partition);
+        } else
+            this.mapList.add(new KeyValue<>(key, value));
+    }
+
+    /**
+     * Combines the values that are still buffered by the partitions, which shrinks the output of the worker before it
+     * is merged with the output of the others.
+     */
+    protected void combine() {
+        if (null != this.combiner) {
+            for (int i = 0; i < this.partitions.length; i++) {
+                this.combine(i);
+            }
+        }
+    }
+
+    /**
+     * Combines the values of every key of the partition that has more than one value with {@link MapReduce#combine}
+     * and regroups what it emits. A partition that stays above half of its threshold, as one with many distinct keys
+     * does, has its threshold doubled so that it is not combined again after every few emits.
+     */
+    private void combine(final int partition) {
+        final Map<K, List<V>> uncombined = this.partitions[partition];
+        this.partitions[partition] = new HashMap<>();
+        this.buffered[partition] = 0;
+        final MapReduce.ReduceEmitter<K, V> emitter = this::add;
+        for (final Map.Entry<K, List<V>> entry : uncombined.entrySet()) {
+            if (entry.getValue().size() > 1)
+                this.combiner.combine(entry.getKey(), entry.getValue().iterator(), emitter);
+            else
+                this.add(entry.getKey(), entry.getValue().get(0));
+        }
+        if (this.buffered[partition] > this.thresholds[partition] / 2 && this.thresholds[partition] < Integer.MAX_VALUE / 2)
+            this.thresholds[partition] = this.thresholds[partition] * 2;
     }
 
+    private int add(final K key, final V value) {
+        final int partition = partition(key, this.partitions.length);
+        this.partitions[partition].computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        if (null != this.buffered)
+            this.buffered[partition]++;
+        return partition;
+    }
+    /**
+     * Sorts the map-only output of the worker into a run if a map output sort is defined.
+     */
     protected void complete(final MapReduce<K, V, ?, ?, ?> mapReduce) {
         if (!this.doReduce && mapReduce.getMapKeySort().isPresent()) {
             final Comparator<K> comparator = mapReduce.getMapKeySort().get();
-            final List<KeyValue<K, V>> list = new ArrayList<>(this.mapQueue);
-            Collections.sort(list, Comparator.comparing(KeyValue::getKey, comparator));
-            this.mapQueue.clear();
-            this.mapQueue.addAll(list);
-        } else if (mapReduce.getMapKeySort().isPresent()) {
-            final Comparator<K> comparator = mapReduce.getMapKeySort().get();
-            final List<Map.Entry<K, Queue<V>>> list = new ArrayList<>();
-            list.addAll(this.reduceMap.entrySet());
-            Collections.sort(list, Comparator.comparing(Map.Entry::getKey, comparator));
-            this.reduceMap = new LinkedHashMap<>();
-            list.forEach(entry -> this.reduceMap.put(entry.getKey(), entry.getValue()));
+            this.mapList.sort(Comparator.comparing(KeyValue::getKey, comparator));
+        }
+    }
+
+    /**
+     * Hands the values grouped by key of the partition over to the reduce stage and releases them from this emitter.
+     */
+    protected Map<K, List<V>> takePartition(final int partition) {
+        final Map<K, List<V>> values = this.partitions[partition];
+        this.partitions[partition] = null;
+        return values;
+    }
+
+    protected List<KeyValue<K, V>> getMapList() {
+        return this.mapList;
+    }
+
+    private static int partition(final Object key, final int numberOfPartitions) {
+        return (null == key ? 0 : key.hashCode() & Integer.MAX_VALUE) % numberOfPartitions;
+    }
+
+    private static <K, V> Map<K, List<V>>[] newPartitions(final int numberOfPartitions) {
+        final Map<K, List<V>>[] partitions = new Map[numberOfPartitions];
+        for (int i = 0; i < numberOfPartitions; i++) {
+            partitions[i] = new HashMap<>();
         }
+        return partitions;
     }
 }
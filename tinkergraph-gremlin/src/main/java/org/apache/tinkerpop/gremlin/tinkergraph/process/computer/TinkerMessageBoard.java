@@ -18,29 +18,360 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * The messages of a {@link TinkerGraphComputer}, held in two sets of buffers that are swapped at the end of each
+ * iteration: one that the current iteration sends to and one that it receives from. The buffers of a scope are
+ * arrays indexed by the ordinal of a vertex in the {@link TinkerGraphComputerView} and they are cleared and reused by
+ * later iterations rather than allocated anew, with each buffer tracking the slots it filled so that clearing it costs
+ * no more than filling it did. With a {@link MessageCombiner} each slot holds one message that every new message is
+ * combined into as it is sent, where {@code Double} messages, such as those of PageRank, are held as raw bits in a
+ * primitive array. Without one each slot holds a queue of all of its messages.
+ * <p/>
+ * The messages of a {@link MessageScope.Local} are stored at the sending vertex and read by the receiving vertex from
+ * its neighbors, while all {@link MessageScope.Global} messages share one buffer as they are stored at the receiving
+ * vertex. A message to a vertex that is not in the graph is dropped as nothing could ever receive it.
+ * <p/>
+ * For a {@link VertexProgram} that {@link VertexProgram#usesActiveVertices()} the board also collects the vertices
+ * that are active in the next iteration and carries the local messages of the vertices that did not send new ones
+ * over to the next iteration.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<MessageScope, Map<Vertex,Queue<M>>> sendMessages = new ConcurrentHashMap<>();
-    public Map<MessageScope, Map<Vertex, Queue<M>>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    private final TinkerGraphComputerView view;
+    private final MessageCombiner<M> combiner;
+    private final boolean activeVertices;
+    private Map<MessageScope, Messages<M>> sendMessages = new ConcurrentHashMap<>();
+    private Map<MessageScope, Messages<M>> receiveMessages = new ConcurrentHashMap<>();
+    private List<MessageScope> receiveScopes = Collections.emptyList();
+    private Ordinals active;
+    private Ordinals nextActive;
+    private Ordinals seeds;
+    private final LongAdder sentMessages = new LongAdder();
+
+    public TinkerMessageBoard(final TinkerGraphComputerView view, final Optional<MessageCombiner<M>> combiner,
+                              final boolean activeVertices) {
+        this.view = view;
+        this.combiner = combiner.orElse(null);
+        this.activeVertices = activeVertices;
+        if (activeVertices) {
+            this.active = new Ordinals(view.getVertexCount());
+            this.nextActive = new Ordinals(view.getVertexCount());
+        }
+    }
+
+    public boolean skipsInactiveVertices() {
+        return this.activeVertices;
+    }
+
+    /**
+     * Sends the message and determines if it was the first one stored at the slot of the vertex in this iteration.
+     */
+    public boolean sendMessage(final MessageScope messageScope, final Vertex vertex, final M message) {
+        final int ordinal = this.view.ordinal(vertex);
+        if (ordinal < 0)
+            return false;
+        // all global messages are stored at the receiving vertex so they can share a buffer
+        final boolean global = messageScope instanceof MessageScope.Global;
+        final MessageScope scope = global ? MessageScope.Global.instance() : messageScope;
+        Messages<M> messages = this.sendMessages.get(scope);
+        if (null == messages)
+            messages = this.sendMessages.computeIfAbsent(scope, s -> new Messages<>(this.view.getVertexCount(), this.combiner, message instanceof Double));
+        this.sentMessages.increment();
+        return messages.add(ordinal, message);
+    }
+
+    /**
+     * Gets the number of messages sent since the last call.
+     */
+    public long takeSentMessages() {
+        return this.sentMessages.sumThenReset();
+    }
+
+    /**
+     * Restricts the vertices that are active in the iterations up to the first one that only executes the active
+     * vertices to the provided vertices and to those that they send messages to or keep active.
+     */
+    public void seed(final Iterator<Vertex> vertices) {
+        if (!this.activeVertices)
+            return;
+        this.seeds = new Ordinals(this.view.getVertexCount());
+        vertices.forEachRemaining(vertex -> {
+            final int ordinal = this.view.ordinal(vertex);
+            if (ordinal >= 0)
+                this.seeds.add(ordinal);
+        });
+    }
+
+    /**
+     * Lifts the restriction of the seed vertices once an iteration only executes the active vertices.
+     */
+    public void completeSeeding() {
+        this.seeds = null;
+    }
+
+    /**
+     * Determines if the messages that the vertex sends, or its keeping active, make vertices active.
+     */
+    public boolean activatesFrom(final Vertex vertex) {
+        if (null == this.seeds)
+            return true;
+        final int ordinal = this.view.ordinal(vertex);
+        return ordinal >= 0 && this.seeds.contains(ordinal);
+    }
+
+    /**
+     * Makes the vertex active in the next iteration.
+     */
+    public void activate(final Vertex vertex) {
+        final int ordinal = this.view.ordinal(vertex);
+        if (ordinal >= 0 && this.activeVertices)
+            this.nextActive.add(ordinal);
+    }
+
+    /**
+     * Gets the vertices that are active in the current iteration.
+     */
+    public Object[] getActiveVertices() {
+        final List<Vertex> vertices = new ArrayList<>(this.active.size());
+        for (int i = 0; i < this.active.size(); i++) {
+            final Vertex vertex = this.view.getVertex(this.active.get(i));
+            if (this.view.legalVertex(vertex))
+                vertices.add(vertex);
+        }
+        return vertices.toArray();
+    }
+
+    /**
+     * Gets the scopes that messages were received on in the last iteration.
+     */
+    public List<MessageScope> getReceiveScopes() {
+        return this.receiveScopes;
+    }
+
+    public Iterator<M> receiveMessages(final MessageScope messageScope, final Vertex vertex) {
+        final Messages<M> messages = this.receiveMessages.get(messageScope);
+        final int ordinal = this.view.ordinal(vertex);
+        return null == messages || ordinal < 0 ? Collections.emptyIterator() : messages.get(ordinal);
+    }
 
-    public void completeIteration() {
+    /**
+     * Swaps the buffers for the next iteration, which sends messages on the provided scopes.
+     */
+    public void completeIteration(final Set<MessageScope> messageScopes) {
+        final Map<MessageScope, Messages<M>> previousMessages = this.receiveMessages;
         this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
-        this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        if (this.activeVertices) {
+            previousMessages.forEach((scope, messages) -> {
+                if (scope instanceof MessageScope.Local && !messages.isEmpty() && messageScopes.contains(scope))
+                    this.receiveMessages.computeIfAbsent(scope, s -> new Messages<>(this.view.getVertexCount(), this.combiner, messages.hasDoubles()))
+                            .carry(messages);
+            });
+            final Ordinals previousActive = this.active;
+            this.active = this.nextActive;
+            previousActive.clear();
+            this.nextActive = previousActive;
+            if (null != this.seeds) {
+                for (int i = 0; i < this.seeds.size(); i++) {
+                    this.active.add(this.seeds.get(i));
+                }
+            }
+        }
+        previousMessages.values().forEach(Messages::clear);
+        this.sendMessages = previousMessages;
+
+        final List<MessageScope> scopes = new ArrayList<>();
+        this.receiveMessages.forEach((scope, messages) -> {
+            if (!messages.isEmpty()) scopes.add(scope);
+        });
+        this.receiveScopes = scopes;
+    }
+
+    /**
+     * A set of vertex ordinals that can be added to from several threads at once and that lists its members in the
+     * order they were added, so that it can be iterated and cleared in time proportional to its size.
+     */
+    private static final class Ordinals {
+
+        private final AtomicLongArray bits;
+        private final int[] ordinals;
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Ordinals(final int capacity) {
+            this.bits = new AtomicLongArray((capacity + 63) >>> 6);
+            this.ordinals = new int[capacity];
+        }
+
+        private boolean add(final int ordinal) {
+            final int word = ordinal >>> 6;
+            final long mask = 1L << ordinal;
+            while (true) {
+                final long current = this.bits.get(word);
+                if (0 != (current & mask))
+                    return false;
+                if (this.bits.compareAndSet(word, current, current | mask)) {
+                    this.ordinals[this.size.getAndIncrement()] = ordinal;
+                    return true;
+                }
+            }
+        }
+
+        private boolean contains(final int ordinal) {
+            return 0 != (this.bits.get(ordinal >>> 6) & (1L << ordinal));
+        }
+
+        private int size() {
+            return this.size.get();
+        }
+
+        private int get(final int index) {
+            return this.ordinals[index];
+        }
+
+        private void clear() {
+            for (int i = 0; i < this.size.get(); i++) {
+                this.bits.lazySet(this.ordinals[i] >>> 6, 0L);
+            }
+            this.size.set(0);
+        }
+    }
+
+    /**
+     * The buffer of one scope. Sends to the same slot may come from several workers at once, so slots are updated
+     * with compare-and-set where the message is immutable and under a striped lock where the {@link MessageCombiner}
+     * may change the message it combines into.
+     */
+    private static final class Messages<M> {
+
+        // a signaling NaN that Double.doubleToRawLongBits() of a computed value will not produce
+        private static final long EMPTY = 0x7ff0dead0000beefL;
+        private static final int LOCK_STRIPES = 64;
+
+        private final MessageCombiner<M> combiner;
+        private final AtomicLongArray doubles;
+        private final AtomicReferenceArray<Object> objects;
+        private final Ordinals filled;
+        private final Object[] locks = new Object[LOCK_STRIPES];
+
+        private Messages(final int size, final MessageCombiner<M> combiner, final boolean doubles) {
+            this.combiner = combiner;
+            this.doubles = null != combiner && doubles ? new AtomicLongArray(size) : null;
+            this.objects = new AtomicReferenceArray<>(size);
+            this.filled = new Ordinals(size);
+            for (int i = 0; i < LOCK_STRIPES; i++) {
+                this.locks[i] = new Object();
+            }
+            if (null != this.doubles) {
+                for (int i = 0; i < size; i++) {
+                    this.doubles.set(i, EMPTY);
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return 0 == this.filled.size();
+        }
+
+        private boolean hasDoubles() {
+            return null != this.doubles;
+        }
+
+        private boolean add(final int ordinal, final M message) {
+            final boolean first = this.filled.add(ordinal);
+            if (null == this.combiner)
+                this.queue(ordinal).add(message);
+            else if (null != this.doubles && message instanceof Double && Double.doubleToRawLongBits((Double) message) != EMPTY)
+                this.combineDouble(ordinal, (Double) message);
+            else {
+                synchronized (this.locks[ordinal % LOCK_STRIPES]) {
+                    final M current = (M) this.objects.get(ordinal);
+                    this.objects.set(ordinal, null == current ? message : this.combiner.combine(current, message));
+                }
+            }
+            return first;
+        }
+
+        private void combineDouble(final int ordinal, final Double message) {
+            while (true) {
+                final long current = this.doubles.get(ordinal);
+                final long combined = Double.doubleToRawLongBits(EMPTY == current ?
+                        message :
+                        (Double) this.combiner.combine((M) (Double) Double.longBitsToDouble(current), (M) message));
+                if (this.doubles.compareAndSet(ordinal, current, combined))
+                    return;
+            }
+        }
+
+        private Queue<M> queue(final int ordinal) {
+            Queue<M> queue = (Queue<M>) this.objects.get(ordinal);
+            if (null == queue) {
+                this.objects.compareAndSet(ordinal, null, new ConcurrentLinkedQueue<>());
+                queue = (Queue<M>) this.objects.get(ordinal);
+            }
+            return queue;
+        }
+
+        private Iterator<M> get(final int ordinal) {
+            if (null == this.combiner) {
+                final Queue<M> queue = (Queue<M>) this.objects.get(ordinal);
+                return null == queue ? Collections.emptyIterator() : queue.iterator();
+            }
+            final M object = (M) this.objects.get(ordinal);
+            final long bits = null == this.doubles ? EMPTY : this.doubles.get(ordinal);
+            if (EMPTY == bits)
+                return null == object ? Collections.emptyIterator() : IteratorUtils.of(object);
+            final M value = (M) (Double) Double.longBitsToDouble(bits);
+            return IteratorUtils.of(null == object ? value : this.combiner.combine(value, object));
+        }
+
+        /**
+         * Takes over the messages of the slots that were filled in the other buffer but not in this one.
+         */
+        private void carry(final Messages<M> other) {
+            for (int i = 0; i < other.filled.size(); i++) {
+                final int ordinal = other.filled.get(i);
+                if (this.filled.contains(ordinal))
+                    continue;
+                if (null == this.combiner) {
+                    this.filled.add(ordinal);
+                    this.objects.set(ordinal, other.objects.getAndSet(ordinal, null));
+                } else
+                    other.get(ordinal).forEachRemaining(message -> this.add(ordinal, message));
+            }
+        }
+
+        /**
+         * Empties the filled slots for reuse.
+         */
+        private void clear() {
+            for (int i = 0; i < this.filled.size(); i++) {
+                final int ordinal = this.filled.get(i);
+                if (null != this.doubles) this.doubles.lazySet(ordinal, EMPTY);
+                this.objects.lazySet(ordinal, null);
+            }
+            this.filled.clear();
+        }
     }
 }
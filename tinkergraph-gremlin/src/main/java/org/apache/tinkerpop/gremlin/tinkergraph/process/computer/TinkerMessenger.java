@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
-import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
 import org.apache.tinkerpop.gremlin.process.computer.Messenger;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramHelper;
@@ -33,14 +32,6 @@ import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 
 import java.util.Iterator;
-import java.util.Optional;
-import java.util.Queue;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -49,37 +40,25 @@ public final class TinkerMessenger<M> implements Messenger<M> {
 
     private final Vertex vertex;
     private final TinkerMessageBoard<M> messageBoard;
-    private final MessageCombiner<M> combiner;
 
-    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard, final Optional<MessageCombiner<M>> combiner) {
+    public TinkerMessenger(final Vertex vertex, final TinkerMessageBoard<M> messageBoard) {
         this.vertex = vertex;
         this.messageBoard = messageBoard;
-        this.combiner = combiner.isPresent() ? combiner.get() : null;
     }
 
     @Override
     public Iterator<M> receiveMessages() {
         final MultiIterator<M> multiIterator = new MultiIterator<>();
-        for (final MessageScope messageScope : this.messageBoard.receiveMessages.keySet()) {
-//        for (final MessageScope messageScope : this.messageBoard.previousMessageScopes) {
+        for (final MessageScope messageScope : this.messageBoard.getReceiveScopes()) {
             if (messageScope instanceof MessageScope.Local) {
                 final MessageScope.Local<M> localMessageScope = (MessageScope.Local<M>) messageScope;
                 final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(localMessageScope.getIncidentTraversal().get().asAdmin(), this.vertex);
                 final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
-                final Edge[] edge = new Edge[1]; // simulates storage side-effects available in Gremlin, but not Java8 streams
-                multiIterator.addIterator(StreamSupport.stream(Spliterators.spliteratorUnknownSize(VertexProgramHelper.reverse(incidentTraversal.asAdmin()), Spliterator.IMMUTABLE | Spliterator.SIZED), false)
-                        .map(e -> this.messageBoard.receiveMessages.get(messageScope).get((edge[0] = e).vertices(direction).next()))
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .map(message -> localMessageScope.getEdgeFunction().apply(message, edge[0]))
-                        .iterator());
-
+                multiIterator.addIterator(IteratorUtils.flatMap(VertexProgramHelper.reverse(incidentTraversal.asAdmin()),
+                        edge -> IteratorUtils.map(this.messageBoard.receiveMessages(messageScope, TinkerMessenger.getNeighbor(edge, direction.opposite(), this.vertex)),
+                                message -> localMessageScope.getEdgeFunction().apply(message, edge))));
             } else {
-                multiIterator.addIterator(Stream.of(this.vertex)
-                        .map(this.messageBoard.receiveMessages.get(messageScope)::get)
-                        .filter(q -> null != q)
-                        .flatMap(Queue::stream)
-                        .iterator());
+                multiIterator.addIterator(this.messageBoard.receiveMessages(messageScope, this.vertex));
             }
         }
         return multiIterator;
@@ -87,24 +66,33 @@ public final class TinkerMessenger<M> implements Messenger<M> {
 
     @Override
     public void sendMessage(final MessageScope messageScope, final M message) {
-//        this.messageBoard.currentMessageScopes.add(messageScope);
         if (messageScope instanceof MessageScope.Local) {
-            addMessage(this.vertex, message, messageScope);
+            // the neighbors that read the messages of the vertex are active once it has sent any
+            if (this.messageBoard.sendMessage(messageScope, this.vertex, message) && this.messageBoard.skipsInactiveVertices() &&
+                    this.messageBoard.activatesFrom(this.vertex)) {
+                final Traversal.Admin<Vertex, Edge> incidentTraversal = TinkerMessenger.setVertexStart(((MessageScope.Local<M>) messageScope).getIncidentTraversal().get().asAdmin(), this.vertex);
+                final Direction direction = TinkerMessenger.getDirection(incidentTraversal);
+                incidentTraversal.forEachRemaining(edge -> this.messageBoard.activate(TinkerMessenger.getNeighbor(edge, direction, this.vertex)));
+            }
         } else {
-            ((MessageScope.Global) messageScope).vertices().forEach(v -> addMessage(v, message, messageScope));
+            final boolean activates = this.messageBoard.skipsInactiveVertices() && this.messageBoard.activatesFrom(this.vertex);
+            for (final Vertex vertex : ((MessageScope.Global) messageScope).vertices()) {
+                this.messageBoard.sendMessage(messageScope, vertex, message);
+                if (activates)
+                    this.messageBoard.activate(vertex);
+            }
         }
     }
 
-    private void addMessage(final Vertex vertex, final M message, MessageScope messageScope) {
-        this.messageBoard.sendMessages.compute(messageScope, (ms, messages) -> {
-            if(null==messages) messages = new ConcurrentHashMap<>();
-            return messages;
-        });
-        this.messageBoard.sendMessages.get(messageScope).compute(vertex, (v, queue) -> {
-            if (null == queue) queue = new ConcurrentLinkedQueue<>();
-            queue.add(null != this.combiner && !queue.isEmpty() ? this.combiner.combine(queue.remove(), message) : message);
-            return queue;
-        });
+    @Override
+    public void keepActive() {
+        if (this.messageBoard.activatesFrom(this.vertex))
+            this.messageBoard.activate(this.vertex);
+    }
+
+    @Override
+    public boolean skipsInactiveVertices() {
+        return this.messageBoard.skipsInactiveVertices();
     }
 
     ///////////
@@ -118,4 +106,13 @@ public final class TinkerMessenger<M> implements Messenger<M> {
         final VertexStep step = TraversalHelper.getLastStepOfAssignableClass(VertexStep.class, incidentTraversal).get();
         return step.getDirection();
     }
+
+    private static Vertex getNeighbor(final Edge edge, final Direction direction, final Vertex vertex) {
+        if (Direction.OUT == direction)
+            return edge.inVertex();
+        else if (Direction.IN == direction)
+            return edge.outVertex();
+        else
+            return vertex.equals(edge.outVertex()) ? edge.inVertex() : edge.outVertex();
+    }
 }
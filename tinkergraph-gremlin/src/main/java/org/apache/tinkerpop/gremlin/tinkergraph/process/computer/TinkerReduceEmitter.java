@@ -22,31 +22,28 @@ import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
 import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
+ * The reduce output of a single worker, which is sorted into a run of its own when a reduce output sort is defined so
+ * that the runs of the workers only have to be merged.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerReduceEmitter<OK, OV> implements MapReduce.ReduceEmitter<OK, OV> {
 
-    protected Queue<KeyValue<OK, OV>> reduceQueue = new ConcurrentLinkedQueue<>();
+    protected final List<KeyValue<OK, OV>> reduceList = new ArrayList<>();
 
     @Override
     public void emit(final OK key, final OV value) {
-        this.reduceQueue.add(new KeyValue<>(key, value));
+        this.reduceList.add(new KeyValue<>(key, value));
     }
 
     protected void complete(final MapReduce<?, ?, OK, OV, ?> mapReduce) {
         if (mapReduce.getReduceKeySort().isPresent()) {
             final Comparator<OK> comparator = mapReduce.getReduceKeySort().get();
-            final List<KeyValue<OK, OV>> list = new ArrayList<>(this.reduceQueue);
-            Collections.sort(list, Comparator.comparing(KeyValue::getKey, comparator));
-            this.reduceQueue.clear();
-            this.reduceQueue.addAll(list);
+            this.reduceList.sort(Comparator.comparing(KeyValue::getKey, comparator));
         }
     }
 }
@@ -25,21 +25,32 @@ import org.apache.tinkerpop.gremlin.process.computer.util.MapReducePool;
 import org.apache.tinkerpop.gremlin.process.computer.util.VertexProgramPool;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
-import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.util.function.TriConsumer;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 /**
+ * Runs the workers of a {@link TinkerGraphComputer}. The vertices, and the keys of a reduce, are split into
+ * {@link Partitions} of fixed size chunks where each worker starts on the chunks of its own partition and, once they are
+ * done, steals the chunks that other workers have yet to claim. A chunk is claimed with a single atomic increment so
+ * workers never contend on a lock per vertex, while a worker that draws a slow part of the graph, like a vertex with
+ * many edges, has its remaining chunks taken up by the others rather than leaving them idle.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
@@ -47,6 +58,18 @@ public final class TinkerWorkerPool implements AutoCloseable {
 
     private static final BasicThreadFactory THREAD_FACTORY_WORKER = new BasicThreadFactory.Builder().namingPattern("tinker-worker-%d").build();
 
+    /**
+     * The number of chunks each partition is split into, which bounds the amount of work left over when a worker
+     * runs out of chunks of its own.
+     */
+    private static final int CHUNKS_PER_WORKER = 16;
+
+    /**
+     * The number of partitions per worker that the keys of a reduce are hashed into, which lets the workers that are
+     * done with their partitions take up the ones that remain.
+     */
+    private static final int REDUCE_PARTITIONS_PER_WORKER = 4;
+
     private final int numberOfWorkers;
     private final ExecutorService workerPool;
     private final CompletionService<Object> completionService;
@@ -54,7 +77,7 @@ public final class TinkerWorkerPool implements AutoCloseable {
     private VertexProgramPool vertexProgramPool;
     private MapReducePool mapReducePool;
     private final Queue<TinkerWorkerMemory> workerMemoryPool = new ConcurrentLinkedQueue<>();
-    private final List<List<Vertex>> workerVertices = new ArrayList<>();
+    private final Object[] vertices;
 
     public TinkerWorkerPool(final TinkerGraph graph, final TinkerMemory memory, final int numberOfWorkers) {
         this.numberOfWorkers = numberOfWorkers;
@@ -62,26 +85,8 @@ public final class TinkerWorkerPool implements AutoCloseable {
         this.completionService = new ExecutorCompletionService<>(this.workerPool);
         for (int i = 0; i < this.numberOfWorkers; i++) {
             this.workerMemoryPool.add(new TinkerWorkerMemory(memory));
-            this.workerVertices.add(new ArrayList<>());
-        }
-        int batchSize = TinkerHelper.getVertices(graph).size() / this.numberOfWorkers;
-        if (0 == batchSize)
-            batchSize = 1;
-        int counter = 0;
-        int index = 0;
-
-        List<Vertex> currentWorkerVertices = this.workerVertices.get(index);
-        final Iterator<Vertex> iterator = graph.vertices();
-        while (iterator.hasNext()) {
-            final Vertex vertex = iterator.next();
-            if (counter++ < batchSize || index == this.workerVertices.size() - 1) {
-                currentWorkerVertices.add(vertex);
-            } else {
-                currentWorkerVertices = this.workerVertices.get(++index);
-                currentWorkerVertices.add(vertex);
-                counter = 1;
-            }
         }
+        this.vertices = IteratorUtils.list(graph.vertices()).toArray();
     }
 
     public void setVertexProgram(final VertexProgram vertexProgram) {
@@ -93,35 +98,90 @@ public final class TinkerWorkerPool implements AutoCloseable {
     }
 
     public void executeVertexProgram(final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            final int index = i;
-            this.completionService.submit(() -> {
-                final VertexProgram vp = this.vertexProgramPool.take();
-                final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
-                final List<Vertex> vertices = this.workerVertices.get(index);
-                worker.accept(vertices.iterator(), vp, workerMemory);
-                this.vertexProgramPool.offer(vp);
-                this.workerMemoryPool.offer(workerMemory);
-                return null;
+        this.executeVertexProgram(null, worker);
+    }
+
+    /**
+     * Executes the {@link VertexProgram} over the provided vertices or over all of the vertices of the graph if they
+     * are {@code null}.
+     */
+    public void executeVertexProgram(final Object[] vertices, final TriConsumer<Iterator<Vertex>, VertexProgram, TinkerWorkerMemory> worker) throws InterruptedException {
+        final Partitions<Vertex> partitions = new Partitions<>(null == vertices ? this.vertices : vertices, this.numberOfWorkers);
+        this.execute(index -> {
+            final VertexProgram vp = this.vertexProgramPool.take();
+            final TinkerWorkerMemory workerMemory = this.workerMemoryPool.poll();
+            worker.accept(partitions.iterator(index), vp, workerMemory);
+            this.vertexProgramPool.offer(vp);
+            this.workerMemoryPool.offer(workerMemory);
+        });
+    }
+
+    /**
+     * Executes the map stage of the {@link MapReduce} over the vertices of the graph.
+     */
+    public void executeMapReduce(final BiConsumer<Iterator<Vertex>, MapReduce> worker) throws InterruptedException {
+        this.executeMapReduce(new Partitions<>(this.vertices, this.numberOfWorkers), worker);
+    }
+
+    /**
+     * Executes a stage of the {@link MapReduce} over the items, such as the keys of the reduce stage.
+     */
+    public <T> void executeMapReduce(final Collection<T> items, final BiConsumer<Iterator<T>, MapReduce> worker) throws InterruptedException {
+        this.executeMapReduce(new Partitions<>(items.toArray(), this.numberOfWorkers), worker);
+    }
+
+    private <T> void executeMapReduce(final Partitions<T> partitions, final BiConsumer<Iterator<T>, MapReduce> worker) throws InterruptedException {
+        this.execute(index -> {
+            final MapReduce mr = this.mapReducePool.take();
+            worker.accept(partitions.iterator(index), mr);
+            this.mapReducePool.offer(mr);
+        });
+    }
+
+    public int getNumberOfReducePartitions() {
+        return this.numberOfWorkers * REDUCE_PARTITIONS_PER_WORKER;
+    }
+
+    /**
+     * Merges runs that are each sorted by the comparator into a single sorted list. Each round merges pairs of runs
+     * in parallel so that there are half as many runs after it and elements that compare as equal keep the order of
+     * their runs.
+     */
+    public <T> List<T> mergeSortedRuns(final List<List<T>> runs, final Comparator<? super T> comparator) throws InterruptedException {
+        List<List<T>> current = runs;
+        while (current.size() > 1) {
+            final List<List<T>> previous = current;
+            final int pairs = previous.size() / 2;
+            final List<List<T>> merged = new ArrayList<>(Collections.nCopies((previous.size() + 1) / 2, null));
+            if (previous.size() % 2 == 1)
+                merged.set(pairs, previous.get(previous.size() - 1));
+            this.execute(index -> {
+                for (int i = index; i < pairs; i += this.numberOfWorkers) {
+                    merged.set(i, merge(previous.get(2 * i), previous.get(2 * i + 1), comparator));
+                }
             });
+            current = merged;
         }
-        for (int i = 0; i < this.numberOfWorkers; i++) {
-            try {
-                this.completionService.take().get();
-            } catch (InterruptedException ie) {
-                throw ie;
-            } catch (final Exception e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
+        return current.isEmpty() ? new ArrayList<>() : current.get(0);
+    }
+
+    private static <T> List<T> merge(final List<T> left, final List<T> right, final Comparator<? super T> comparator) {
+        final List<T> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            merged.add(comparator.compare(right.get(j), left.get(i)) < 0 ? right.get(j++) : left.get(i++));
         }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return merged;
     }
 
-    public void executeMapReduce(final Consumer<MapReduce> worker) throws InterruptedException {
+    private void execute(final WorkerTask task) throws InterruptedException {
         for (int i = 0; i < this.numberOfWorkers; i++) {
+            final int index = i;
             this.completionService.submit(() -> {
-                final MapReduce mr = this.mapReducePool.take();
-                worker.accept(mr);
-                this.mapReducePool.offer(mr);
+                task.run(index);
                 return null;
             });
         }
@@ -144,4 +204,76 @@ public final class TinkerWorkerPool implements AutoCloseable {
     public void close() throws Exception {
         this.workerPool.shutdown();
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    private interface WorkerTask {
+        void run(final int index);
+    }
+
+    /**
+     * The items of a stage split into one contiguous partition of chunks per worker. Each partition has a cursor to
+     * its next unclaimed chunk which its own worker advances first and the other workers advance once their own
+     * partitions are exhausted.
+     */
+    static final class Partitions<T> {
+
+        private final Object[] items;
+        private final int chunkSize;
+        private final int[] ends;
+        private final AtomicInteger[] cursors;
+
+        Partitions(final Object[] items, final int numberOfWorkers) {
+            this.items = items;
+            this.chunkSize = Math.max(1, items.length / (numberOfWorkers * CHUNKS_PER_WORKER));
+            final int chunks = (items.length + this.chunkSize - 1) / this.chunkSize;
+            this.ends = new int[numberOfWorkers];
+            this.cursors = new AtomicInteger[numberOfWorkers];
+            for (int i = 0; i < numberOfWorkers; i++) {
+                this.cursors[i] = new AtomicInteger((int) ((long) chunks * i / numberOfWorkers));
+                this.ends[i] = (int) ((long) chunks * (i + 1) / numberOfWorkers);
+            }
+        }
+
+        /**
+         * Claims the next chunk, starting with the partition of the worker and then moving on to those that follow
+         * it, or returns {@code -1} if every chunk has been claimed.
+         */
+        private int claim(final int worker) {
+            for (int i = 0; i < this.cursors.length; i++) {
+                final int partition = (worker + i) % this.cursors.length;
+                if (this.cursors[partition].get() >= this.ends[partition])
+                    continue;
+                final int chunk = this.cursors[partition].getAndIncrement();
+                if (chunk < this.ends[partition])
+                    return chunk;
+            }
+            return -1;
+        }
+
+        Iterator<T> iterator(final int worker) {
+            return new Iterator<T>() {
+                private int position = 0;
+                private int end = 0;
+
+                @Override
+                public boolean hasNext() {
+                    if (this.position < this.end)
+                        return true;
+                    final int chunk = claim(worker);
+                    if (-1 == chunk)
+                        return false;
+                    this.position = chunk * chunkSize;
+                    this.end = Math.min(items.length, this.position + chunkSize);
+                    return true;
+                }
+
+                @Override
+                public T next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+                    return (T) items[this.position++];
+                }
+            };
+        }
+    }
+}
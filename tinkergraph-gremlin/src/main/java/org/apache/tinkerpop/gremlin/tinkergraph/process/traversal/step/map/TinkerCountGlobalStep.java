@@ -30,19 +30,38 @@ import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 
 /**
+ * Counts the vertices or edges of the graph, or only those with one of a set of labels, without iterating them.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep<S, Long> {
 
     private final Class<S> elementClass;
+    private final Set<String> labels;
     private boolean done = false;
 
     public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass) {
+        this(traversal, elementClass, null);
+    }
+
+    /**
+     * @param labels the labels of the elements to count or {@code null} to count all of them
+     */
+    public TinkerCountGlobalStep(final Traversal.Admin traversal, final Class<S> elementClass, final Set<String> labels) {
         super(traversal);
         this.elementClass = elementClass;
+        this.labels = null == labels ? null : Collections.unmodifiableSet(new LinkedHashSet<>(labels));
+    }
+
+    public Set<String> getElementLabels() {
+        return this.labels;
     }
 
     @Override
@@ -51,8 +70,8 @@ public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep
             this.done = true;
             final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
             return this.getTraversal().getTraverserGenerator().generate(Vertex.class.isAssignableFrom(this.elementClass) ?
-                            (long) TinkerHelper.getVertices(graph).size() :
-                            (long) TinkerHelper.getEdges(graph).size(),
+                            TinkerHelper.countVertices(graph, this.labels) :
+                            TinkerHelper.countEdges(graph, this.labels),
                     (Step) this, 1L);
         } else
             throw FastNoSuchElementException.instance();
@@ -60,12 +79,14 @@ public final class TinkerCountGlobalStep<S extends Element> extends AbstractStep
 
     @Override
     public String toString() {
-        return StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase());
+        return null == this.labels ?
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase()) :
+                StringFactory.stepString(this, this.elementClass.getSimpleName().toLowerCase(), this.labels);
     }
 
     @Override
     public int hashCode() {
-        return super.hashCode() ^ this.elementClass.hashCode();
+        return super.hashCode() ^ this.elementClass.hashCode() ^ Objects.hashCode(this.labels);
     }
 
     @Override
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link VertexStep} for incident edges that has the filters on those edges folded into it, so that they can be
+ * answered by the vertex-centric indices of the vertex.
+ *
+ * @author agent (agent@local)
+ */
+public final class TinkerVertexStep extends VertexStep<Edge> implements HasContainerHolder {
+
+    private List<HasContainer> hasContainers = new ArrayList<>();
+
+    public TinkerVertexStep(final VertexStep<Edge> originalVertexStep) {
+        super(originalVertexStep.getTraversal(), Edge.class, originalVertexStep.getDirection(), originalVertexStep.getEdgeLabels());
+        originalVertexStep.getLabels().forEach(this::addLabel);
+    }
+
+    @Override
+    protected Iterator<Edge> flatMap(final Traverser.Admin<Vertex> traverser) {
+        final Vertex vertex = traverser.get();
+        final Iterator<? extends Edge> edges = vertex instanceof TinkerVertex ?
+                TinkerHelper.getEdges((TinkerVertex) vertex, this.getDirection(), this.getEdgeLabels(), this.hasContainers) :
+                vertex.edges(this.getDirection(), this.getEdgeLabels());
+        return IteratorUtils.filter((Iterator<Edge>) edges, edge -> HasContainer.testAll(edge, this.hasContainers));
+    }
+
+    @Override
+    public String toString() {
+        return this.hasContainers.isEmpty() ?
+                super.toString() :
+                StringFactory.stepString(this, this.getDirection(), Arrays.asList(this.getEdgeLabels()), "edge", this.hasContainers);
+    }
+
+    @Override
+    public List<HasContainer> getHasContainers() {
+        return Collections.unmodifiableList(this.hasContainers);
+    }
+
+    @Override
+    public void addHasContainer(final HasContainer hasContainer) {
+        if (hasContainer.getPredicate() instanceof AndP) {
+            for (final P<?> predicate : ((AndP<?>) hasContainer.getPredicate()).getPredicates()) {
+                this.addHasContainer(new HasContainer(hasContainer.getKey(), predicate));
+            }
+        } else
+            this.hasContainers.add(hasContainer);
+    }
+
+    @Override
+    public TinkerVertexStep clone() {
+        final TinkerVertexStep clone = (TinkerVertexStep) super.clone();
+        clone.hasContainers = new ArrayList<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.hasContainers.add(hasContainer.clone());
+        }
+        return clone;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.hasContainers.hashCode();
+    }
+}
@@ -18,18 +18,22 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.sideEffect;
 
-import org.apache.tinkerpop.gremlin.process.traversal.Compare;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerEdge;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
@@ -37,8 +41,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -46,7 +48,8 @@ import java.util.stream.Collectors;
  */
 public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E> implements HasContainerHolder {
 
-    private final List<HasContainer> hasContainers = new ArrayList<>();
+    private List<HasContainer> hasContainers = new ArrayList<>();
+    private Boolean mutating = null;
 
     public TinkerGraphStep(final GraphStep<S, E> originalGraphStep) {
         super(originalGraphStep.getTraversal(), originalGraphStep.getReturnClass(), originalGraphStep.isStartStep(), originalGraphStep.getIds());
@@ -61,38 +64,36 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
 
     private Iterator<? extends Edge> edges() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Edge.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
             return this.iteratorList(graph.edges(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.edges()) :
-                    TinkerHelper.queryEdgeIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).stream()
-                            .filter(edge -> HasContainer.testAll(edge, this.hasContainers))
-                            .collect(Collectors.<Edge>toList()).iterator();
+        final Iterator<TinkerEdge> indexedEdges = TinkerHelper.queryEdgeIndex(graph, this.hasContainers);
+        return null == indexedEdges ?
+                this.iteratorList(graph.edges()) :
+                this.iteratorList(indexedEdges);
     }
 
     private Iterator<? extends Vertex> vertices() {
         final TinkerGraph graph = (TinkerGraph) this.getTraversal().getGraph().get();
-        final HasContainer indexedContainer = getIndexKey(Vertex.class);
         // ids are present, filter on them first
         if (this.ids != null && this.ids.length > 0)
             return this.iteratorList(graph.vertices(this.ids));
-        else
-            return null == indexedContainer ?
-                    this.iteratorList(graph.vertices()) :
-                    IteratorUtils.filter(TinkerHelper.queryVertexIndex(graph, indexedContainer.getKey(), indexedContainer.getPredicate().getValue()).iterator(),
-                            vertex -> HasContainer.testAll(vertex, this.hasContainers));
+        final Iterator<TinkerVertex> indexedVertices = TinkerHelper.queryVertexIndex(graph, this.hasContainers);
+        return null == indexedVertices ?
+                this.iteratorList(graph.vertices()) :
+                this.iteratorList(indexedVertices);
     }
 
-    private HasContainer getIndexKey(final Class<? extends Element> indexedClass) {
-        final Set<String> indexedKeys = ((TinkerGraph) this.getTraversal().getGraph().get()).getIndexedKeys(indexedClass);
-
-        final Iterator<HasContainer> itty = IteratorUtils.filter(hasContainers.iterator(),
-                c -> c.getPredicate().getBiPredicate() == Compare.eq && indexedKeys.contains(c.getKey()));
-        return itty.hasNext() ? itty.next() : null;
-
+    /**
+     * Determines if the traversal could modify the graph while this step iterates it, in which case the matching
+     * elements have to be gathered up front so that the traversal neither sees the elements it adds nor changes the
+     * index buckets that are being read.
+     */
+    private boolean isMutating() {
+        if (null == this.mutating)
+            this.mutating = TraversalHelper.hasStepOfAssignableClassRecursively(
+                    Arrays.asList(Mutating.class, LambdaHolder.class), TraversalHelper.getRootTraversal(this.getTraversal()));
+        return this.mutating;
     }
 
     @Override
@@ -106,6 +107,9 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
     }
 
     private <E extends Element> Iterator<E> iteratorList(final Iterator<E> iterator) {
+        if (!this.isMutating())
+            return IteratorUtils.filter(iterator, e -> HasContainer.testAll(e, this.hasContainers));
+
         final List<E> list = new ArrayList<>();
         while (iterator.hasNext()) {
             final E e = iterator.next();
@@ -130,6 +134,17 @@ public final class TinkerGraphStep<S, E extends Element> extends GraphStep<S, E>
             this.hasContainers.add(hasContainer);
     }
 
+    @Override
+    public TinkerGraphStep<S, E> clone() {
+        final TinkerGraphStep<S, E> clone = (TinkerGraphStep<S, E>) super.clone();
+        clone.hasContainers = new ArrayList<>();
+        for (final HasContainer hasContainer : this.hasContainers) {
+            clone.hasContainers.add(hasContainer.clone());
+        }
+        clone.setIteratorSupplier(() -> (Iterator<E>) (Vertex.class.isAssignableFrom(clone.returnClass) ? clone.vertices() : clone.edges()));
+        return clone;
+    }
+
     @Override
     public int hashCode() {
         return super.hashCode() ^ this.hasContainers.hashCode();
@@ -19,10 +19,13 @@
 
 package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
@@ -32,24 +35,31 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentitySt
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.SideEffectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerCountGlobalStep;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 /**
- * This strategy will do a direct {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper#getVertices}
- * size call if the traversal is a count of the vertices and edges of the graph or a one-to-one map chain thereof.
+ * This strategy will do a direct {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper#countVertices}
+ * call if the traversal is a count of the vertices and edges of the graph, or of those with certain labels, or a
+ * one-to-one map chain thereof.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  * @example <pre>
- * g.V().count()               // is replaced by TinkerCountGlobalStep
- * g.V().map(out()).count()    // is replaced by TinkerCountGlobalStep
- * g.E().label().count()       // is replaced by TinkerCountGlobalStep
+ * g.V().count()                          // is replaced by TinkerCountGlobalStep
+ * g.V().map(out()).count()               // is replaced by TinkerCountGlobalStep
+ * g.E().label().count()                  // is replaced by TinkerCountGlobalStep
+ * g.V().hasLabel("person").count()       // is replaced by TinkerCountGlobalStep
+ * g.E().hasLabel("knows","likes").count() // is replaced by TinkerCountGlobalStep
  * </pre>
  */
 public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
@@ -69,7 +79,24 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
                 0 != ((GraphStep) steps.get(0)).getIds().length ||
                 !(steps.get(steps.size() - 1) instanceof CountGlobalStep))
             return;
-        for (int i = 1; i < steps.size() - 1; i++) {
+
+        // label filters directly on the graph step narrow the count to the elements of those labels
+        Set<String> labels = null;
+        int start = 1;
+        while (start < steps.size() - 1 && steps.get(start) instanceof HasStep) {
+            for (final HasContainer hasContainer : ((HasStep<?>) steps.get(start)).getHasContainers()) {
+                final Set<String> containerLabels = labels(hasContainer);
+                if (null == containerLabels)
+                    return;
+                if (null == labels)
+                    labels = containerLabels;
+                else
+                    labels.retainAll(containerLabels);
+            }
+            start++;
+        }
+
+        for (int i = start; i < steps.size() - 1; i++) {
             final Step current = steps.get(i);
             if (!(current instanceof MapStep ||
                     current instanceof IdentityStep ||
@@ -81,7 +108,23 @@ public final class TinkerGraphCountStrategy extends AbstractTraversalStrategy<Tr
         }
         final Class<? extends Element> elementClass = ((GraphStep<?, ?>) steps.get(0)).getReturnClass();
         TraversalHelper.removeAllSteps(traversal);
-        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass));
+        traversal.addStep(new TinkerCountGlobalStep<>(traversal, elementClass, labels));
+    }
+
+    /**
+     * Gets the labels that the container requires the element to have one of, or {@code null} if it is not a label
+     * equality or {@code within} test.
+     */
+    private static Set<String> labels(final HasContainer hasContainer) {
+        if (!hasContainer.getKey().equals(T.label.getAccessor()))
+            return null;
+        final Object value = hasContainer.getValue();
+        if (hasContainer.getBiPredicate() == Compare.eq && value instanceof String)
+            return new LinkedHashSet<>(Collections.singletonList((String) value));
+        if (hasContainer.getBiPredicate() == Contains.within && value instanceof Collection &&
+                ((Collection<?>) value).stream().allMatch(label -> label instanceof String))
+            return new LinkedHashSet<>((Collection<String>) value);
+        return null;
     }
 
     @Override
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerVertexStep;
+
+/**
+ * This strategy folds the {@code has()} filters that follow an incident edge step into a {@link TinkerVertexStep}
+ * so that they can be answered by the vertex-centric indices of a
+ * {@link org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph}.
+ *
+ * @author agent (agent@local)
+ * @example <pre>
+ * g.V().outE("rated").has("stars", 5)            // is replaced by TinkerVertexStep(OUT,[rated],edge,[stars.eq(5)])
+ * g.V().bothE().has("weight", gt(0.5)).otherV()  // is replaced by TinkerVertexStep(BOTH,[],edge,[weight.gt(0.5)]), EdgeOtherVertexStep
+ * </pre>
+ */
+public final class TinkerVertexStepStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final TinkerVertexStepStrategy INSTANCE = new TinkerVertexStepStrategy();
+
+    private TinkerVertexStepStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        for (final VertexStep originalVertexStep : TraversalHelper.getStepsOfClass(VertexStep.class, traversal)) {
+            if (!originalVertexStep.returnsEdge() || !(originalVertexStep.getNextStep() instanceof HasStep))
+                continue;
+            final TinkerVertexStep tinkerVertexStep = new TinkerVertexStep(originalVertexStep);
+            TraversalHelper.replaceStep(originalVertexStep, tinkerVertexStep, traversal);
+            Step<?, ?> currentStep = tinkerVertexStep.getNextStep();
+            while (currentStep instanceof HasStep || currentStep instanceof NoOpBarrierStep) {
+                if (currentStep instanceof HasStep) {
+                    for (final HasContainer hasContainer : ((HasContainerHolder) currentStep).getHasContainers()) {
+                        tinkerVertexStep.addHasContainer(hasContainer);
+                    }
+                    TraversalHelper.copyLabels(currentStep, currentStep.getPreviousStep(), false);
+                    traversal.removeStep(currentStep);
+                }
+                currentStep = currentStep.getNextStep();
+            }
+        }
+    }
+
+    public static TinkerVertexStepStrategy instance() {
+        return INSTANCE;
+    }
+}
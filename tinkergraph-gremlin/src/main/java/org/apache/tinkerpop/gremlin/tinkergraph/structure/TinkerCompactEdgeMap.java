@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The adjacency of one direction of a {@link TinkerVertex} when {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY}
+ * is enabled. Edge labels and their edges are held in arrays, rather than hash tables, so that an edge costs a single
+ * array slot per direction and iterating the edges of a vertex is a scan over contiguous memory. Labels are expected
+ * to be interned by the graph and are compared by reference first. The trade-off is that removing an edge costs a scan
+ * of the edges of its label.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerCompactEdgeMap extends AbstractMap<String, Set<Edge>> {
+
+    private String[] labels = new String[1];
+    private EdgeSet[] edges = new EdgeSet[1];
+    private int size = 0;
+
+    @Override
+    public Set<Edge> get(final Object label) {
+        final int index = this.indexOf(label);
+        return index < 0 ? null : this.edges[index];
+    }
+
+    @Override
+    public boolean containsKey(final Object label) {
+        return this.indexOf(label) >= 0;
+    }
+
+    @Override
+    public Set<Edge> put(final String label, final Set<Edge> edges) {
+        final EdgeSet edgeSet = edges instanceof EdgeSet ? (EdgeSet) edges : new EdgeSet(edges);
+        final int index = this.indexOf(label);
+        if (index >= 0) {
+            final Set<Edge> old = this.edges[index];
+            this.edges[index] = edgeSet;
+            return old;
+        }
+        if (this.size == this.labels.length) {
+            this.labels = Arrays.copyOf(this.labels, this.size * 2);
+            this.edges = Arrays.copyOf(this.edges, this.size * 2);
+        }
+        this.labels[this.size] = label;
+        this.edges[this.size] = edgeSet;
+        this.size++;
+        return null;
+    }
+
+    @Override
+    public Set<Edge> remove(final Object label) {
+        final int index = this.indexOf(label);
+        return index < 0 ? null : this.removeAt(index);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(this.labels, 0, this.size, null);
+        Arrays.fill(this.edges, 0, this.size, null);
+        this.size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, Set<Edge>>> entrySet() {
+        return new AbstractSet<Entry<String, Set<Edge>>>() {
+            @Override
+            public Iterator<Entry<String, Set<Edge>>> iterator() {
+                return new Iterator<Entry<String, Set<Edge>>>() {
+                    private int current = 0;
+                    private boolean removable = false;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.current < size;
+                    }
+
+                    @Override
+                    public Entry<String, Set<Edge>> next() {
+                        if (!this.hasNext())
+                            throw new NoSuchElementException();
+                        this.removable = true;
+                        final int index = this.current++;
+                        return new SimpleImmutableEntry<>(labels[index], edges[index]);
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (!this.removable)
+                            throw new IllegalStateException();
+                        this.removable = false;
+                        removeAt(--this.current);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(final Object label) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.labels[i] == label)
+                return i;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.labels[i].equals(label))
+                return i;
+        }
+        return -1;
+    }
+
+    private Set<Edge> removeAt(final int index) {
+        final Set<Edge> old = this.edges[index];
+        final int last = --this.size;
+        this.labels[index] = this.labels[last];
+        this.edges[index] = this.edges[last];
+        this.labels[last] = null;
+        this.edges[last] = null;
+        return old;
+    }
+
+    /**
+     * The edges of a single label held in an array. The edges given to {@link #add(Edge)} are always new so, unlike a
+     * general purpose {@code Set}, it does not scan for a duplicate before appending. Removal swaps the last edge into
+     * the vacated slot so the order of iteration is not stable across removals.
+     */
+    static final class EdgeSet extends AbstractSet<Edge> {
+
+        private Edge[] edges;
+        private int size = 0;
+
+        EdgeSet() {
+            this.edges = new Edge[2];
+        }
+
+        private EdgeSet(final Set<Edge> edges) {
+            this.edges = edges.toArray(new Edge[Math.max(2, edges.size())]);
+            this.size = edges.size();
+        }
+
+        @Override
+        public boolean add(final Edge edge) {
+            if (this.size == this.edges.length)
+                this.edges = Arrays.copyOf(this.edges, this.size + (this.size >> 1) + 1);
+            this.edges[this.size++] = edge;
+            return true;
+        }
+
+        @Override
+        public boolean remove(final Object edge) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.edges[i] == edge || this.edges[i].equals(edge)) {
+                    this.removeAt(i);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean contains(final Object edge) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.edges[i] == edge || this.edges[i].equals(edge))
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        @Override
+        public Iterator<Edge> iterator() {
+            return new Iterator<Edge>() {
+                private int current = 0;
+                private boolean removable = false;
+
+                @Override
+                public boolean hasNext() {
+                    return this.current < size;
+                }
+
+                @Override
+                public Edge next() {
+                    if (!this.hasNext())
+                        throw new NoSuchElementException();
+                    this.removable = true;
+                    return edges[this.current++];
+                }
+
+                @Override
+                public void remove() {
+                    if (!this.removable)
+                        throw new IllegalStateException();
+                    this.removable = false;
+                    removeAt(--this.current);
+                }
+            };
+        }
+
+        private void removeAt(final int index) {
+            final int last = --this.size;
+            this.edges[index] = this.edges[last];
+            this.edges[last] = null;
+        }
+    }
+}
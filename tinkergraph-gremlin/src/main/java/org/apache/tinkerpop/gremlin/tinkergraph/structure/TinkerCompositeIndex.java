@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A hash index over the combined values of several keys of an element where {@code T.label} may be one of the keys.
+ * An element is only indexed once it has a value for every key and a vertex with multi-properties is indexed under
+ * every combination of its values. Buckets are added to and removed from atomically with {@code ConcurrentHashMap}
+ * so that concurrent updates are not lost.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerCompositeIndex<T extends Element> {
+
+    private final List<String> keys;
+    private final Map<List<Object>, Set<T>> index = new ConcurrentHashMap<>();
+
+    TinkerCompositeIndex(final List<String> keys) {
+        this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    public List<String> getKeys() {
+        return this.keys;
+    }
+
+    public boolean covers(final String key) {
+        return this.keys.contains(key);
+    }
+
+    public Set<T> get(final List<Object> values) {
+        return this.index.getOrDefault(values, Collections.emptySet());
+    }
+
+    public void addElement(final T element) {
+        for (final List<Object> tuple : this.tuples(element, null, null)) {
+            this.addToBucket(tuple, element);
+        }
+    }
+
+    public void removeElement(final T element) {
+        for (final List<Object> tuple : this.tuples(element, null, null)) {
+            this.removeFromBucket(tuple, element);
+        }
+    }
+
+    /**
+     * Indexes the element under each combination of its values that includes the new value of the key.
+     */
+    public void put(final String key, final Object value, final T element) {
+        for (final List<Object> tuple : this.tuples(element, key, value)) {
+            this.addToBucket(tuple, element);
+        }
+    }
+
+    /**
+     * Removes the element from each combination of its values that includes the old value of the key.
+     */
+    public void remove(final String key, final Object value, final T element) {
+        for (final List<Object> tuple : this.tuples(element, key, value)) {
+            this.removeFromBucket(tuple, element);
+        }
+    }
+
+    public void clear() {
+        this.index.clear();
+    }
+
+    private void addToBucket(final List<Object> tuple, final T element) {
+        this.index.compute(tuple, (t, bucket) -> {
+            final Set<T> elements = null == bucket ? ConcurrentHashMap.newKeySet() : bucket;
+            elements.add(element);
+            return elements;
+        });
+    }
+
+    private void removeFromBucket(final List<Object> tuple, final T element) {
+        this.index.computeIfPresent(tuple, (t, bucket) -> {
+            bucket.remove(element);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    /**
+     * Generates the value combinations of the element for the keys of the index where the value of the
+     * {@code fixedKey} (if not {@code null}) is replaced with the {@code fixedValue}.
+     */
+    private List<List<Object>> tuples(final T element, final String fixedKey, final Object fixedValue) {
+        List<List<Object>> tuples = Collections.singletonList(Collections.emptyList());
+        for (final String key : this.keys) {
+            final List<Object> values = key.equals(fixedKey) ? Collections.singletonList(fixedValue) : values(element, key);
+            if (values.isEmpty())
+                return Collections.emptyList();
+            final List<List<Object>> extended = new ArrayList<>(tuples.size() * values.size());
+            for (final List<Object> tuple : tuples) {
+                for (final Object value : values) {
+                    final Object[] next = tuple.toArray(new Object[tuple.size() + 1]);
+                    next[tuple.size()] = value;
+                    extended.add(Arrays.asList(next));
+                }
+            }
+            tuples = extended;
+        }
+        return tuples;
+    }
+
+    /**
+     * Gets the values of the key on the element where {@code T.label} gives the label of the element.
+     */
+    static List<Object> values(final Element element, final String key) {
+        if (key.equals(org.apache.tinkerpop.gremlin.structure.T.label.getAccessor()))
+            return Collections.singletonList(element.label());
+        return IteratorUtils.list(IteratorUtils.map(element.<Object>properties(key), Property::value));
+    }
+}
@@ -55,13 +55,22 @@ public final class TinkerEdge extends TinkerElement implements Edge {
     public <V> Property<V> property(final String key, final V value) {
         if (this.removed) throw elementAlreadyRemoved(Edge.class, id);
         ElementHelper.validateProperty(key, value);
-        final Property oldProperty = super.property(key);
-        final Property<V> newProperty = new TinkerProperty<>(this, key, value);
-        if (null == this.properties) this.properties = new HashMap<>();
-        this.properties.put(key, newProperty);
-        TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
-        return newProperty;
-
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            final Property oldProperty = super.property(key);
+            final Property<V> newProperty = new TinkerProperty<>(this, key, value);
+            if (null == this.properties) this.properties = new HashMap<>();
+            this.properties.put(key, newProperty);
+            TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+
+            // properties given to addEdge() are set before the edge is added to the graph and are logged with the edge
+            if (null != graph.writeAheadLog && graph.edges.containsKey(this.id))
+                graph.writeAheadLog.setEdgeProperty(this, key, value);
+            return newProperty;
+        } finally {
+            TinkerHelper.endMutation(graph);
+        }
     }
 
     @Override
@@ -76,6 +85,20 @@ public final class TinkerEdge extends TinkerElement implements Edge {
 
     @Override
     public void remove() {
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            TinkerHelper.removeElementIndex(this);
+            this.detach();
+        } finally {
+            TinkerHelper.endMutation(graph);
+        }
+    }
+
+    /**
+     * Removes the edge from its vertices and the graph but leaves its index entries to the caller to remove.
+     */
+    void detach() {
         final TinkerVertex outVertex = (TinkerVertex) this.outVertex;
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
 
@@ -90,8 +113,13 @@ public final class TinkerEdge extends TinkerElement implements Edge {
                 edges.remove(this);
         }
 
-        TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.vertexCentricIndex)
+            graph.vertexCentricIndex.removeEdge(this);
+        if (null != graph.edges.remove(this.id())) {
+            graph.edgeLabelIndex.remove(this);
+            if (null != graph.writeAheadLog) graph.writeAheadLog.removeEdge(this);
+        }
         this.properties = null;
         this.removed = true;
     }
@@ -21,6 +21,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -39,6 +40,7 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComp
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphCountStrategy;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerGraphStepStrategy;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization.TinkerVertexStepStrategy;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.io.File;
@@ -70,6 +72,7 @@ public final class TinkerGraph implements Graph {
     static {
         TraversalStrategies.GlobalCache.registerStrategies(TinkerGraph.class, TraversalStrategies.GlobalCache.getStrategies(Graph.class).clone().addStrategies(
                 TinkerGraphStepStrategy.instance(),
+                TinkerVertexStepStrategy.instance(),
                 TinkerGraphCountStrategy.instance()));
     }
 
@@ -83,6 +86,9 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY = "gremlin.tinkergraph.compactAdjacency";
+    public static final String GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG = "gremlin.tinkergraph.writeAheadLog";
+    public static final String GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL = "gremlin.tinkergraph.checkpointInterval";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
@@ -92,13 +98,19 @@ public final class TinkerGraph implements Graph {
 
     protected TinkerGraphVariables variables = null;
     protected TinkerGraphComputerView graphComputerView = null;
-    protected TinkerIndex<TinkerVertex> vertexIndex = null;
-    protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected volatile TinkerIndex<TinkerVertex> vertexIndex = null;
+    protected volatile TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected volatile TinkerVertexCentricIndex vertexCentricIndex = null;
+    protected final TinkerLabelIndex<TinkerVertex> vertexLabelIndex = new TinkerLabelIndex<>();
+    protected final TinkerLabelIndex<TinkerEdge> edgeLabelIndex = new TinkerLabelIndex<>();
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final boolean compactAdjacency;
+    protected final Map<String, String> labels = new ConcurrentHashMap<>();
+    protected TinkerWriteAheadLog writeAheadLog = null;
 
     private final Configuration configuration;
     private final String graphLocation;
@@ -115,6 +127,8 @@ public final class TinkerGraph implements Graph {
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
 
+        compactAdjacency = configuration.getBoolean(GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY, false);
+
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
 
@@ -122,7 +136,19 @@ public final class TinkerGraph implements Graph {
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
-        if (graphLocation != null) loadGraph();
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, false)) {
+            if (null == graphLocation)
+                throw new IllegalStateException(String.format("The %s must be specified to use the %s",
+                        GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG));
+
+            // the log is only attached once it is replayed so that replaying does not write to it again
+            final TinkerWriteAheadLog log = new TinkerWriteAheadLog(this, graphLocation,
+                    configuration.getLong(GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 100000L), this::saveGraph);
+            log.recover();
+            loadGraph();
+            log.replay();
+            writeAheadLog = log;
+        } else if (graphLocation != null) loadGraph();
     }
 
     /**
@@ -160,20 +186,27 @@ public final class TinkerGraph implements Graph {
     public Vertex addVertex(final Object... keyValues) {
         ElementHelper.legalPropertyKeyValueArray(keyValues);
         Object idValue = vertexIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
-        final String label = ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL);
+        final String label = TinkerHelper.internLabel(this, ElementHelper.getLabelValue(keyValues).orElse(Vertex.DEFAULT_LABEL));
 
-        if (null != idValue) {
-            if (this.vertices.containsKey(idValue))
-                throw Exceptions.vertexWithIdAlreadyExists(idValue);
-        } else {
-            idValue = vertexIdManager.getNextId(this);
-        }
+        TinkerHelper.beginMutation(this);
+        try {
+            if (null != idValue) {
+                if (this.vertices.containsKey(idValue))
+                    throw Exceptions.vertexWithIdAlreadyExists(idValue);
+            } else {
+                idValue = vertexIdManager.getNextId(this);
+            }
 
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
-        this.vertices.put(vertex.id(), vertex);
+            final Vertex vertex = new TinkerVertex(idValue, label, this);
+            this.vertices.put(vertex.id(), vertex);
+            this.vertexLabelIndex.add((TinkerVertex) vertex);
+            if (null != this.writeAheadLog) this.writeAheadLog.addVertex(vertex);
 
-        ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
-        return vertex;
+            ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
+            return vertex;
+        } finally {
+            TinkerHelper.endMutation(this);
+        }
     }
 
     @Override
@@ -211,23 +244,36 @@ public final class TinkerGraph implements Graph {
     }
 
     public void clear() {
-        this.vertices.clear();
-        this.edges.clear();
-        this.variables = null;
-        this.currentId.set(-1L);
-        this.vertexIndex = null;
-        this.edgeIndex = null;
-        this.graphComputerView = null;
+        TinkerHelper.beginMutation(this);
+        try {
+            if (null != this.writeAheadLog) this.writeAheadLog.clear();
+            this.vertices.clear();
+            this.edges.clear();
+            this.vertexLabelIndex.clear();
+            this.edgeLabelIndex.clear();
+            this.variables = null;
+            this.currentId.set(-1L);
+            this.vertexIndex = null;
+            this.edgeIndex = null;
+            this.vertexCentricIndex = null;
+            this.graphComputerView = null;
+        } finally {
+            TinkerHelper.endMutation(this);
+        }
     }
 
     /**
      * This method only has an effect if the {@link #GREMLIN_TINKERGRAPH_GRAPH_LOCATION} is set, in which case the
-     * data in the graph is persisted to that location. This method may be called multiple times and does not release
+     * data in the graph is persisted to that location. When the {@link #GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG} is
+     * enabled the log is compacted into that location. This method may be called multiple times and does not release
      * resources.
      */
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (writeAheadLog != null)
+            writeAheadLog.checkpoint();
+        else if (graphLocation != null)
+            saveGraph(graphLocation);
     }
 
     @Override
@@ -260,6 +306,8 @@ public final class TinkerGraph implements Graph {
                     io(IoCore.graphson()).readGraph(graphLocation);
                 } else if (graphFormat.equals("gryo")) {
                     io(IoCore.gryo()).readGraph(graphLocation);
+                } else if (graphFormat.equals(TinkerSnapshot.FORMAT)) {
+                    TinkerSnapshot.read(this, graphLocation);
                 } else {
                     io(IoCore.createIoBuilder(graphFormat)).readGraph(graphLocation);
                 }
@@ -269,7 +317,7 @@ public final class TinkerGraph implements Graph {
         }
     }
 
-    private void saveGraph() {
+    private void saveGraph(final String graphLocation) {
         final File f = new File(graphLocation);
         if (f.exists()) {
             f.delete();
@@ -289,6 +337,8 @@ public final class TinkerGraph implements Graph {
                 io(IoCore.graphson()).writeGraph(graphLocation);
             } else if (graphFormat.equals("gryo")) {
                 io(IoCore.gryo()).writeGraph(graphLocation);
+            } else if (graphFormat.equals(TinkerSnapshot.FORMAT)) {
+                TinkerSnapshot.write(this, graphLocation);
             } else {
                 io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
             }
@@ -472,12 +522,71 @@ public final class TinkerGraph implements Graph {
      * @param <E>          The type of the element class
      */
     public <E extends Element> void createIndex(final String key, final Class<E> elementClass) {
+        this.createIndex(key, elementClass, IndexType.HASH);
+    }
+
+    /**
+     * Create an index of the specified {@link IndexType} for said element class ({@link Vertex} or {@link Edge}) and
+     * said property key. A {@link IndexType#SORTED} index is used to answer range predicates such as {@code gt()},
+     * {@code between()} and {@code outside()} in addition to the equality lookups answered by a
+     * {@link IndexType#HASH} index. If the key is already indexed with a different type, the index is rebuilt.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param indexType    the type of index to create
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final String key, final Class<E> elementClass, final IndexType indexType) {
+        final boolean sorted = IndexType.SORTED == indexType;
         if (Vertex.class.isAssignableFrom(elementClass)) {
             if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
-            this.vertexIndex.createKeyIndex(key);
+            this.vertexIndex.createKeyIndex(key, sorted);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createKeyIndex(key, sorted);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over the combined values of
+     * said property keys, where {@code T.label.getAccessor()} may be used as a key to include the element label. The
+     * index answers traversals that have an equality {@code has()} for each of the keys with a single lookup and, as
+     * with other indices, it is only used when it is expected to yield fewer candidates than the alternatives.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the property keys to index together
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createIndex(final Class<E> elementClass, final String... keys) {
+        if (keys.length == 1) {
+            this.createIndex(keys[0], elementClass);
+        } else if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeIndex(Arrays.asList(keys));
         } else if (Edge.class.isAssignableFrom(elementClass)) {
             if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
-            this.edgeIndex.createKeyIndex(key);
+            this.edgeIndex.createCompositeIndex(Arrays.asList(keys));
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the property keys of the index to drop in the order they were indexed
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropIndex(final Class<E> elementClass, final String... keys) {
+        if (keys.length == 1) {
+            this.dropIndex(keys[0], elementClass);
+        } else if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeIndex(Arrays.asList(keys));
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeIndex(Arrays.asList(keys));
         } else {
             throw new IllegalArgumentException("Class is not indexable: " + elementClass);
         }
@@ -517,6 +626,88 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return the keys of all the composite indices for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite indices for
+     * @param <E>          The type of the element class
+     * @return the set of key lists currently being indexed together
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a vertex-centric index which sorts the edges of said label on each of their vertices by said property
+     * key in increasing order. It is used by {@code outE()}, {@code inE()} and {@code bothE()} when they are followed
+     * by a {@code has()} on the key, so that only the matching edges of a vertex are read rather than all of those
+     * with the label. As with other indices, all existing edges are indexed when the index is created.
+     *
+     * @param edgeLabel the label of the edges to index
+     * @param key       the edge property key to index
+     */
+    public void createVertexCentricIndex(final String edgeLabel, final String key) {
+        this.createVertexCentricIndex(edgeLabel, key, Order.incr);
+    }
+
+    /**
+     * Create a vertex-centric index which sorts the edges of said label on each of their vertices by said property
+     * key, where range predicates such as {@code gt()} or {@code between()} return the edges in the specified
+     * {@link Order}, which must be {@link Order#incr} or {@link Order#decr}. If the index exists, only its order is
+     * changed.
+     *
+     * @param edgeLabel the label of the edges to index
+     * @param key       the edge property key to index
+     * @param order     the order in which range lookups return the edges
+     */
+    public void createVertexCentricIndex(final String edgeLabel, final String key, final Order order) {
+        if (null == this.vertexCentricIndex) this.vertexCentricIndex = new TinkerVertexCentricIndex(this);
+        this.vertexCentricIndex.createIndex(edgeLabel, key, order);
+    }
+
+    /**
+     * Drop the vertex-centric index for the specified edge label and key.
+     *
+     * @param edgeLabel the label of the edges of the index to drop
+     * @param key       the edge property key to stop indexing
+     */
+    public void dropVertexCentricIndex(final String edgeLabel, final String key) {
+        if (null != this.vertexCentricIndex) this.vertexCentricIndex.dropIndex(edgeLabel, key);
+    }
+
+    /**
+     * Return the keys of all the vertex-centric indices for said edge label.
+     *
+     * @param edgeLabel the label of the edges to get the indexed keys for
+     * @return the set of keys currently being indexed
+     */
+    public Set<String> getVertexCentricIndexedKeys(final String edgeLabel) {
+        return null == this.vertexCentricIndex ? Collections.emptySet() : this.vertexCentricIndex.getIndexedKeys(edgeLabel);
+    }
+
+    /**
+     * The structure backing an index created with {@link #createIndex(String, Class, IndexType)}.
+     */
+    public enum IndexType {
+        /**
+         * Hashes the property values so that the index can answer {@code eq()} and {@code within()}.
+         */
+        HASH,
+
+        /**
+         * Keeps the property values in order so that the index can also answer {@code lt()}, {@code lte()},
+         * {@code gt()}, {@code gte()} and their combinations such as {@code between()}, {@code inside()} and
+         * {@code outside()}.
+         */
+        SORTED
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
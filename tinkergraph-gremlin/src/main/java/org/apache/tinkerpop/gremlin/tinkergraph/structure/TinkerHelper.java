@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
 import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
 import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -29,6 +30,7 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -47,49 +49,82 @@ public final class TinkerHelper {
     private TinkerHelper() {
     }
 
+    /**
+     * Marks the start of a change to the graph so that a checkpoint of its write-ahead log, if it has one, does not
+     * run until the change and its log record are both complete. Must be paired with {@link #endMutation(TinkerGraph)}
+     * in a {@code finally} block.
+     */
+    protected static void beginMutation(final TinkerGraph graph) {
+        if (null != graph.writeAheadLog) graph.writeAheadLog.beginMutation();
+    }
+
+    protected static void endMutation(final TinkerGraph graph) {
+        if (null != graph.writeAheadLog) graph.writeAheadLog.endMutation();
+    }
+
     protected static Edge addEdge(final TinkerGraph graph, final TinkerVertex outVertex, final TinkerVertex inVertex, final String label, final Object... keyValues) {
         ElementHelper.validateLabel(label);
         ElementHelper.legalPropertyKeyValueArray(keyValues);
 
-        Object idValue = graph.edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
+        beginMutation(graph);
+        try {
+            Object idValue = graph.edgeIdManager.convert(ElementHelper.getIdValue(keyValues).orElse(null));
 
-        final Edge edge;
-        if (null != idValue) {
-            if (graph.edges.containsKey(idValue))
-                throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
-        } else {
-            idValue = graph.edgeIdManager.getNextId(graph);
-        }
-
-        edge = new TinkerEdge(idValue, outVertex, label, inVertex);
-        ElementHelper.attachProperties(edge, keyValues);
-        graph.edges.put(edge.id(), edge);
-        TinkerHelper.addOutEdge(outVertex, label, edge);
-        TinkerHelper.addInEdge(inVertex, label, edge);
-        return edge;
+            final Edge edge;
+            if (null != idValue) {
+                if (graph.edges.containsKey(idValue))
+                    throw Graph.Exceptions.edgeWithIdAlreadyExists(idValue);
+            } else {
+                idValue = graph.edgeIdManager.getNextId(graph);
+            }
 
+            final String edgeLabel = internLabel(graph, label);
+            edge = new TinkerEdge(idValue, outVertex, edgeLabel, inVertex);
+            ElementHelper.attachProperties(edge, keyValues);
+            graph.edges.put(edge.id(), edge);
+            graph.edgeLabelIndex.add((TinkerEdge) edge);
+            TinkerHelper.addOutEdge(outVertex, edgeLabel, edge);
+            TinkerHelper.addInEdge(inVertex, edgeLabel, edge);
+            if (null != graph.writeAheadLog) graph.writeAheadLog.addEdge(edge);
+            return edge;
+        } finally {
+            endMutation(graph);
+        }
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
+        final boolean compact = ((TinkerGraph) vertex.graph()).compactAdjacency;
+        if (null == vertex.outEdges) vertex.outEdges = compact ? new TinkerCompactEdgeMap() : new HashMap<>();
         Set<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compact ? new TinkerCompactEdgeMap.EdgeSet() : new HashSet<>();
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
-        if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
+        final boolean compact = ((TinkerGraph) vertex.graph()).compactAdjacency;
+        if (null == vertex.inEdges) vertex.inEdges = compact ? new TinkerCompactEdgeMap() : new HashMap<>();
         Set<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = compact ? new TinkerCompactEdgeMap.EdgeSet() : new HashSet<>();
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
     }
 
+    /**
+     * Gets the shared instance of the label when {@link TinkerGraph#GREMLIN_TINKERGRAPH_COMPACT_ADJACENCY} is enabled
+     * so that elements read from a file do not each hold their own copy of it.
+     */
+    protected static String internLabel(final TinkerGraph graph, final String label) {
+        if (!graph.compactAdjacency)
+            return label;
+        final String interned = graph.labels.putIfAbsent(label, label);
+        return null == interned ? label : interned;
+    }
+
     public static List<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final String key, final Object value) {
         return null == graph.vertexIndex ? Collections.emptyList() : graph.vertexIndex.get(key, value);
     }
@@ -98,6 +133,47 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Gets the candidate vertices for the {@link HasContainer} list from the most selective vertex index, including
+     * the vertices of a label, that can answer them or {@code null} if none can, in which case all vertices have to be
+     * tested.
+     */
+    public static Iterator<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        final Collection<Set<TinkerVertex>> labelBuckets = graph.vertexLabelIndex.get(hasContainers);
+        if (null != graph.vertexIndex)
+            return graph.vertexIndex.get(hasContainers, labelBuckets);
+        return null == labelBuckets ? null : TinkerIndex.elements(null, labelBuckets);
+    }
+
+    /**
+     * Gets the candidate edges for the {@link HasContainer} list from the most selective edge index, including the
+     * edges of a label, that can answer them or {@code null} if none can, in which case all edges have to be tested.
+     */
+    public static Iterator<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        final Collection<Set<TinkerEdge>> labelBuckets = graph.edgeLabelIndex.get(hasContainers);
+        if (null != graph.edgeIndex)
+            return graph.edgeIndex.get(hasContainers, labelBuckets);
+        return null == labelBuckets ? null : TinkerIndex.elements(null, labelBuckets);
+    }
+
+    /**
+     * Counts the vertices with any of the labels or all of the vertices if the labels are {@code null}.
+     */
+    public static long countVertices(final TinkerGraph graph, final Collection<String> labels) {
+        return null == labels ?
+                graph.vertices.size() :
+                labels.stream().mapToLong(graph.vertexLabelIndex::count).sum();
+    }
+
+    /**
+     * Counts the edges with any of the labels or all of the edges if the labels are {@code null}.
+     */
+    public static long countEdges(final TinkerGraph graph, final Collection<String> labels) {
+        return null == labels ?
+                graph.edges.size() :
+                labels.stream().mapToLong(graph.edgeLabelIndex::count).sum();
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -114,6 +190,18 @@ public final class TinkerHelper {
         graph.graphComputerView = null;
     }
 
+    /**
+     * Gets the ordinal that the last {@link TinkerGraphComputerView} of the graph gave the vertex, which is only valid
+     * while the vertex is at that ordinal in the view.
+     */
+    public static int getComputeOrdinal(final TinkerVertex vertex) {
+        return vertex.computeOrdinal;
+    }
+
+    public static void setComputeOrdinal(final TinkerVertex vertex, final int ordinal) {
+        vertex.computeOrdinal = ordinal;
+    }
+
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
         return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
     }
@@ -122,6 +210,8 @@ public final class TinkerHelper {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
             graph.edgeIndex.autoUpdate(key, newValue, oldValue, edge);
+        if (graph.vertexCentricIndex != null)
+            graph.vertexCentricIndex.autoUpdate(edge, key, newValue, oldValue);
     }
 
     public static void autoUpdateIndex(final TinkerVertex vertex, final String key, final Object newValue, final Object oldValue) {
@@ -142,16 +232,23 @@ public final class TinkerHelper {
             graph.edgeIndex.removeElement(edge);
     }
 
+    public static void removeElementIndex(final TinkerGraph graph, final Collection<TinkerEdge> edges) {
+        if (graph.edgeIndex != null)
+            graph.edgeIndex.removeElements(edges);
+    }
+
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
-            graph.vertexIndex.remove(key, value, vertex);
+            graph.vertexIndex.autoRemove(key, value, vertex);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
-            graph.edgeIndex.remove(key, value, edge);
+            graph.edgeIndex.autoRemove(key, value, edge);
+        if (graph.vertexCentricIndex != null)
+            graph.vertexCentricIndex.autoRemove(edge, key, value);
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
@@ -179,6 +276,20 @@ public final class TinkerHelper {
         return (Iterator) edges.iterator();
     }
 
+    /**
+     * Gets the candidate edges of the vertex for the {@link HasContainer} list from its vertex-centric indices or, if
+     * none of them can answer the containers, all of its edges with the labels. The edges must still be tested against
+     * all of the containers.
+     */
+    public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String[] edgeLabels,
+                                                final List<HasContainer> hasContainers) {
+        final TinkerVertexCentricIndex index = ((TinkerGraph) vertex.graph()).vertexCentricIndex;
+        final Iterator<TinkerEdge> indexedEdges = null == index || hasContainers.isEmpty() ?
+                null :
+                index.edges(vertex, direction, edgeLabels, hasContainers);
+        return null == indexedEdges ? getEdges(vertex, direction, edgeLabels) : indexedEdges;
+    }
+
     public static Iterator<TinkerVertex> getVertices(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
         final List<Vertex> vertices = new ArrayList<>();
         if (direction.equals(Direction.OUT) || direction.equals(Direction.BOTH)) {
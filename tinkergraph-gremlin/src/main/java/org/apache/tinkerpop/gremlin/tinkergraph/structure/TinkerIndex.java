@@ -18,47 +18,84 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.AndP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Property;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiPredicate;
 
 /**
+ * An index over the property values of a single element class. Each key is either hashed, which can only answer
+ * equality lookups, or sorted, which holds its values in a {@code NavigableMap} so that range predicates like
+ * {@code gt()}, {@code between()} and {@code outside()} can be answered with a slice of the index.
+ * <p/>
+ * The index may be updated by many threads at once. The maps and the buckets of elements are concurrent so that
+ * lookups never block, while the changes to a bucket are serialized by a lock chosen from a fixed set of stripes by
+ * the key and value, which keeps a bucket from being dropped as empty at the same time that an element is added to it.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders values of a sorted index. Numbers are compared by value regardless of their type, in the same fashion
+     * as {@link Compare}, values of the same {@code Comparable} class are compared naturally and anything else is
+     * grouped by class name. Values of a non-comparable class are ordered by hash code, which may put unequal values
+     * in the same bucket, but as index results are always re-tested against the predicates that only widens the
+     * candidates.
+     */
+    static final Comparator<Object> VALUE_COMPARATOR = TinkerIndex::compareValues;
+
+    private static final int LOCK_STRIPES = 64;
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> sortedKeys = ConcurrentHashMap.newKeySet();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Map<List<String>, TinkerCompositeIndex<T>> compositeIndices = new ConcurrentHashMap<>();
     private final TinkerGraph graph;
 
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
         this.indexClass = indexClass;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
+        final Map<Object, Set<T>> keyMap = this.index.computeIfAbsent(key, this::newKeyMap);
+        synchronized (this.lock(key, value)) {
+            keyMap.computeIfAbsent(value, v -> ConcurrentHashMap.newKeySet()).add(element);
         }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
-        }
-        objects.add(element);
-
     }
 
     public List<T> get(final String key, final Object value) {
@@ -74,6 +111,102 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Gets the candidate elements for the {@link HasContainer} list from the most selective index that can answer
+     * any of them or {@code null} if none of them can be answered by an index. Selectivity is judged by the number of
+     * elements in the index buckets that would be read, which is known exactly for equality lookups and counted for
+     * ranges only until it exceeds the best candidate found so far. The candidates are read lazily from the index and
+     * must still be tested against all of the containers. The buckets of a {@link TinkerLabelIndex} lookup, if not
+     * {@code null}, are weighed as one more candidate.
+     */
+    public Iterator<T> get(final List<HasContainer> hasContainers, final Collection<Set<T>> labelBuckets) {
+        // the buckets of each index that can answer the containers paired with the key of a single-key index
+        final List<Pair<String, Collection<Set<T>>>> candidates = new ArrayList<>();
+        if (null != labelBuckets)
+            candidates.add(Pair.with(null, labelBuckets));
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            final List<Object> values = equalityValues(compositeIndex.getKeys(), hasContainers);
+            if (null != values)
+                candidates.add(Pair.with(null, Collections.singletonList(compositeIndex.get(values))));
+        }
+
+        final Map<String, List<P<?>>> predicates = new LinkedHashMap<>();
+        for (final HasContainer hasContainer : hasContainers) {
+            if (this.canQuery(hasContainer.getKey(), hasContainer.getPredicate()))
+                predicates.computeIfAbsent(hasContainer.getKey(), k -> new ArrayList<>()).add(hasContainer.getPredicate());
+        }
+        for (final Map.Entry<String, List<P<?>>> entry : predicates.entrySet()) {
+            candidates.add(Pair.with(entry.getKey(), this.lookup(entry.getKey(), entry.getValue())));
+        }
+
+        if (candidates.isEmpty())
+            return null;
+
+        // with a single choice there is no need to count anything before the first element is read
+        Pair<String, Collection<Set<T>>> best = candidates.get(0);
+        if (candidates.size() > 1) {
+            long bestCount = Long.MAX_VALUE;
+            for (final Pair<String, Collection<Set<T>>> candidate : candidates) {
+                final long count = count(candidate.getValue1(), bestCount);
+                if (count < bestCount) {
+                    best = candidate;
+                    bestCount = count;
+                }
+            }
+        }
+        return elements(best.getValue0(), best.getValue1());
+    }
+
+    /**
+     * Gets the buckets of the key that hold the candidates for the predicates which are all applied to the values of
+     * the key and are all answerable by {@link #canQuery(String, P)}.
+     */
+    private Collection<Set<T>> lookup(final String key, final List<P<?>> predicates) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        return null == keyMap ? Collections.emptyList() : lookup(keyMap, predicates, this.sortedKeys.contains(key));
+    }
+
+    /**
+     * Gets the buckets of a map of values, which must be a {@code NavigableMap} ordered by {@link #VALUE_COMPARATOR}
+     * if it is sorted, that hold the candidates for the predicates which must all be queryable on it. Each bucket is
+     * returned once, even if a {@code within()} repeats its value or the ranges of an {@code or()} overlap, and the
+     * buckets of a sorted map are in its order.
+     */
+    static <T> Collection<Set<T>> lookup(final Map<Object, Set<T>> keyMap, final List<P<?>> predicates, final boolean sorted) {
+        for (final P<?> predicate : predicates) {
+            if (predicate.getBiPredicate() == Compare.eq) {
+                final Set<T> bucket = keyMap.get(predicate.getValue());
+                return null == bucket ? Collections.emptyList() : Collections.singletonList(bucket);
+            }
+        }
+
+        // all of the range comparisons on the key fold into a single slice of the sorted index
+        if (sorted) {
+            final Range range = new Range();
+            for (final P<?> predicate : predicates) {
+                if (isRange(predicate))
+                    range.and(predicate);
+            }
+            if (range.isBounded())
+                return range.slice((NavigableMap<Object, Set<T>>) keyMap).values();
+        }
+
+        return buckets(keyMap, predicates.get(0), sorted).values();
+    }
+
+    /**
+     * Determines if the index on the key can narrow the candidates for the predicate. A hashed index can answer
+     * {@code eq} and {@code within} while a sorted index can also answer {@code lt}, {@code lte}, {@code gt},
+     * {@code gte} and the {@code and}/{@code or} combinations of them.
+     */
+    public boolean canQuery(final String key, final P<?> predicate) {
+        return this.indexedKeys.contains(key) && isQueryable(predicate, this.sortedKeys.contains(key));
+    }
+
+    public boolean isSorted(final String key) {
+        return this.sortedKeys.contains(key);
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -90,23 +223,64 @@ final class TinkerIndex<T extends Element> {
     public void remove(final String key, final Object value, final T element) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
+            synchronized (this.lock(key, value)) {
+                final Set<T> objects = keyMap.get(value);
+                if (null != objects) {
+                    objects.remove(element);
+                    if (objects.isEmpty()) {
+                        keyMap.remove(value);
+                    }
                 }
             }
         }
     }
 
+    /**
+     * Removes the element from the index using its current values, so only the buckets that hold it are visited. It
+     * must be called before the properties of the element are cleared.
+     */
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+            for (final String key : this.indexedKeys) {
+                for (final Object value : TinkerCompositeIndex.values(element, key)) {
+                    this.remove(key, value, element);
+                }
+            }
+            for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+                compositeIndex.removeElement(element);
+            }
+        }
+    }
+
+    /**
+     * Removes many elements from the index at once, as when a vertex is removed along with its edges. The elements
+     * are grouped by the bucket they are in so that each bucket is locked, and checked for being empty, only once.
+     */
+    public void removeElements(final Collection<? extends T> elements) {
+        for (final String key : this.indexedKeys) {
+            final Map<Object, Set<T>> keyMap = this.index.get(key);
+            if (null == keyMap)
+                continue;
+
+            final Map<Object, List<T>> buckets = new HashMap<>();
+            for (final T element : elements) {
+                for (final Object value : TinkerCompositeIndex.values(element, key)) {
+                    buckets.computeIfAbsent(value, v -> new ArrayList<>()).add(element);
                 }
             }
+            for (final Map.Entry<Object, List<T>> entry : buckets.entrySet()) {
+                synchronized (this.lock(key, entry.getKey())) {
+                    final Set<T> objects = keyMap.get(entry.getKey());
+                    if (null != objects) {
+                        entry.getValue().forEach(objects::remove);
+                        if (objects.isEmpty())
+                            keyMap.remove(entry.getKey());
+                    }
+                }
+            }
+        }
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            elements.forEach(compositeIndex::removeElement);
         }
     }
 
@@ -116,21 +290,43 @@ final class TinkerIndex<T extends Element> {
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            if (compositeIndex.covers(key)) {
+                if (oldValue != null)
+                    compositeIndex.remove(key, oldValue, element);
+                compositeIndex.put(key, newValue, element);
+            }
+        }
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
             this.remove(key, oldValue, element);
+        for (final TinkerCompositeIndex<T> compositeIndex : this.compositeIndices.values()) {
+            if (compositeIndex.covers(key))
+                compositeIndex.remove(key, oldValue, element);
+        }
     }
 
     public void createKeyIndex(final String key) {
+        this.createKeyIndex(key, false);
+    }
+
+    public synchronized void createKeyIndex(final String key, final boolean sorted) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        if (this.indexedKeys.contains(key)) {
+            if (this.sortedKeys.contains(key) == sorted)
+                return;
+            // the index changes its type so the existing one has to be rebuilt
+            this.dropKeyIndex(key);
+        }
+        // the map is in place before the key is indexed so that concurrent updates land in it
+        if (sorted) this.sortedKeys.add(key);
+        this.index.put(key, this.newKeyMap(key));
         this.indexedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
@@ -141,14 +337,251 @@ final class TinkerIndex<T extends Element> {
                 .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
     }
 
-    public void dropKeyIndex(final String key) {
-        if (this.index.containsKey(key))
-            this.index.remove(key).clear();
-
+    public synchronized void dropKeyIndex(final String key) {
         this.indexedKeys.remove(key);
+        final Map<Object, Set<T>> keyMap = this.index.remove(key);
+        if (null != keyMap)
+            keyMap.clear();
+        this.sortedKeys.remove(key);
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public synchronized void createCompositeIndex(final List<String> keys) {
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+        if (new HashSet<>(keys).size() != keys.size())
+            throw new IllegalArgumentException("The keys of a composite index must be distinct: " + keys);
+
+        final List<String> indexKeys = Collections.unmodifiableList(new ArrayList<>(keys));
+        if (this.compositeIndices.containsKey(indexKeys))
+            return;
+
+        final TinkerCompositeIndex<T> compositeIndex = new TinkerCompositeIndex<>(indexKeys);
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>stream() :
+                this.graph.edges.values().<T>stream())
+                .forEach(e -> compositeIndex.addElement((T) e));
+        this.compositeIndices.put(indexKeys, compositeIndex);
+    }
+
+    public synchronized void dropCompositeIndex(final List<String> keys) {
+        final TinkerCompositeIndex<T> compositeIndex = this.compositeIndices.remove(keys);
+        if (null != compositeIndex)
+            compositeIndex.clear();
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return Collections.unmodifiableSet(this.compositeIndices.keySet());
+    }
+
+    public boolean isEmpty() {
+        return this.indexedKeys.isEmpty() && this.compositeIndices.isEmpty();
+    }
+
+    private Map<Object, Set<T>> newKeyMap(final String key) {
+        return this.sortedKeys.contains(key) ? new ConcurrentSkipListMap<>(VALUE_COMPARATOR) : new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Chooses the lock for the bucket of the value. Values that a sorted index considers equal must share a lock, so
+     * numbers are spread by their {@code double} value rather than by their own hash code.
+     */
+    private Object lock(final String key, final Object value) {
+        final int hash = 31 * key.hashCode() + (value instanceof Number ?
+                Double.hashCode(((Number) value).doubleValue()) :
+                value.hashCode());
+        return this.locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Gets the buckets for the predicate by their value. The buckets of the values that an {@code or()} or a
+     * {@code within()} names more than once are gathered into a single map so that none of them is read twice.
+     */
+    private static <T> Map<Object, Set<T>> buckets(final Map<Object, Set<T>> keyMap, final P<?> predicate, final boolean sorted) {
+        if (predicate instanceof OrP) {
+            final Map<Object, Set<T>> buckets = newBuckets(sorted);
+            for (final P<?> p : ((OrP<?>) predicate).getPredicates()) {
+                buckets.putAll(buckets(keyMap, p, sorted));
+            }
+            return buckets;
+        } else if (predicate instanceof AndP) {
+            final List<? extends P<?>> predicates = ((AndP<?>) predicate).getPredicates();
+            if (sorted && predicates.stream().allMatch(TinkerIndex::isRange)) {
+                final Range range = new Range();
+                predicates.forEach(range::and);
+                return range.slice((NavigableMap<Object, Set<T>>) keyMap);
+            }
+            // any one side of the conjunction is enough to narrow the candidates
+            for (final P<?> p : predicates) {
+                if (isQueryable(p, sorted))
+                    return buckets(keyMap, p, sorted);
+            }
+            throw new IllegalArgumentException("The index cannot be queried with " + predicate);
+        } else if (predicate.getBiPredicate() == Compare.eq) {
+            final Set<T> bucket = keyMap.get(predicate.getValue());
+            return null == bucket ? Collections.emptyMap() : Collections.singletonMap(predicate.getValue(), bucket);
+        } else if (predicate.getBiPredicate() == Contains.within) {
+            final Map<Object, Set<T>> buckets = newBuckets(sorted);
+            for (final Object value : (Collection<?>) predicate.getValue()) {
+                final Set<T> bucket = null == value ? null : keyMap.get(value);
+                if (null != bucket) buckets.put(value, bucket);
+            }
+            return buckets;
+        } else {
+            final Range range = new Range();
+            range.and(predicate);
+            return range.slice((NavigableMap<Object, Set<T>>) keyMap);
+        }
+    }
+
+    private static <T> Map<Object, Set<T>> newBuckets(final boolean sorted) {
+        return sorted ? new TreeMap<>(VALUE_COMPARATOR) : new LinkedHashMap<>();
+    }
+
+    /**
+     * Lazily iterates the elements of the buckets. Multi-properties can place a vertex in several buckets of the key so
+     * vertices with more than one value for it are de-duplicated when there is more than one bucket.
+     */
+    static <T extends Element> Iterator<T> elements(final String key, final Collection<Set<T>> buckets) {
+        final Iterator<Set<T>> iterator = buckets.iterator();
+        if (!iterator.hasNext())
+            return Collections.emptyIterator();
+        final Set<T> first = iterator.next();
+        if (!iterator.hasNext())
+            return first.iterator();
+        final Set<T> multiValued = new HashSet<>();
+        return IteratorUtils.filter(IteratorUtils.flatMap(buckets.iterator(), Set::iterator),
+                element -> !isMultiValued(element, key) || multiValued.add(element));
+    }
+
+    private static boolean isMultiValued(final Element element, final String key) {
+        if (null == key || !(element instanceof TinkerVertex))
+            return false;
+        final Map<String, List<VertexProperty>> properties = ((TinkerVertex) element).properties;
+        return null != properties && properties.getOrDefault(key, Collections.emptyList()).size() > 1;
+    }
+
+    /**
+     * Gets the values of the equality containers for each of the keys or {@code null} if a key has none.
+     */
+    private static List<Object> equalityValues(final List<String> keys, final List<HasContainer> hasContainers) {
+        final List<Object> values = new ArrayList<>(keys.size());
+        for (final String key : keys) {
+            final Optional<HasContainer> hasContainer = hasContainers.stream()
+                    .filter(c -> c.getKey().equals(key) && c.getBiPredicate() == Compare.eq && null != c.getValue())
+                    .findFirst();
+            if (!hasContainer.isPresent())
+                return null;
+            values.add(hasContainer.get().getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Counts the elements in the buckets but stops once the count reaches the limit.
+     */
+    private static <T> long count(final Collection<Set<T>> buckets, final long limit) {
+        long count = 0;
+        for (final Set<T> bucket : buckets) {
+            count += bucket.size();
+            if (count >= limit)
+                break;
+        }
+        return count;
+    }
+
+    static boolean isQueryable(final P<?> predicate, final boolean sorted) {
+        if (predicate instanceof OrP)
+            return ((OrP<?>) predicate).getPredicates().stream().allMatch(p -> isQueryable(p, sorted));
+        else if (predicate instanceof AndP)
+            return ((AndP<?>) predicate).getPredicates().stream().anyMatch(p -> isQueryable(p, sorted));
+
+        final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+        if (biPredicate == Compare.eq)
+            return null != predicate.getValue();
+        else if (biPredicate == Contains.within)
+            return predicate.getValue() instanceof Collection;
+        else
+            return sorted && isRange(predicate);
+    }
+
+    private static boolean isRange(final P<?> predicate) {
+        final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+        return null != predicate.getValue() &&
+                (biPredicate == Compare.lt || biPredicate == Compare.lte || biPredicate == Compare.gt || biPredicate == Compare.gte);
+    }
+
+    private static int compareValues(final Object first, final Object second) {
+        if (first instanceof Number && second instanceof Number) {
+            if (first.getClass().equals(second.getClass()) && first instanceof Comparable)
+                return ((Comparable) first).compareTo(second);
+            final double a = ((Number) first).doubleValue();
+            final double b = ((Number) second).doubleValue();
+            return Double.isNaN(a) || Double.isInfinite(a) || Double.isNaN(b) || Double.isInfinite(b) ?
+                    Double.compare(a, b) :
+                    new BigDecimal(first.toString()).compareTo(new BigDecimal(second.toString()));
+        }
+
+        final Class<?> firstClass = first instanceof Number ? Number.class : first.getClass();
+        final Class<?> secondClass = second instanceof Number ? Number.class : second.getClass();
+        if (!firstClass.equals(secondClass))
+            return firstClass.getName().compareTo(secondClass.getName());
+        else if (first instanceof Comparable)
+            return ((Comparable) first).compareTo(second);
+        else
+            return first.equals(second) ? 0 : Integer.compare(first.hashCode(), second.hashCode());
+    }
+
+    /**
+     * The bounds of a slice of a sorted index which are narrowed by each range comparison added to it.
+     */
+    private static final class Range {
+        private Object low = null;
+        private boolean lowInclusive = false;
+        private Object high = null;
+        private boolean highInclusive = false;
+
+        void and(final P<?> predicate) {
+            final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+            final Object value = predicate.getValue();
+            if (biPredicate == Compare.gt || biPredicate == Compare.gte) {
+                final boolean inclusive = biPredicate == Compare.gte;
+                final int c = null == this.low ? 1 : compareValues(value, this.low);
+                if (c > 0 || (c == 0 && !inclusive)) {
+                    this.low = value;
+                    this.lowInclusive = inclusive;
+                }
+            } else {
+                final boolean inclusive = biPredicate == Compare.lte;
+                final int c = null == this.high ? -1 : compareValues(value, this.high);
+                if (c < 0 || (c == 0 && !inclusive)) {
+                    this.high = value;
+                    this.highInclusive = inclusive;
+                }
+            }
+        }
+
+        boolean isBounded() {
+            return null != this.low || null != this.high;
+        }
+
+        <T> NavigableMap<Object, Set<T>> slice(final NavigableMap<Object, Set<T>> keyMap) {
+            if (null != this.low && null != this.high) {
+                final int c = compareValues(this.low, this.high);
+                if (c > 0 || (c == 0 && !(this.lowInclusive && this.highInclusive)))
+                    return Collections.emptyNavigableMap();
+            }
+            NavigableMap<Object, Set<T>> slice = keyMap;
+            if (null != this.low) slice = slice.tailMap(this.low, this.lowInclusive);
+            if (null != this.high) slice = slice.headMap(this.high, this.highInclusive);
+            return slice;
+        }
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Element;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The elements of a single element class grouped by their label. Unlike {@link TinkerIndex} it is always maintained
+ * as labels cannot change once an element is created, so an element is only ever added and removed once. The size of
+ * a bucket is the number of elements with that label.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerLabelIndex<T extends Element> {
+
+    private static final String LABEL = org.apache.tinkerpop.gremlin.structure.T.label.getAccessor();
+
+    private final Map<String, Set<T>> buckets = new ConcurrentHashMap<>();
+
+    public void add(final T element) {
+        this.buckets.compute(element.label(), (label, bucket) -> {
+            final Set<T> elements = null == bucket ? ConcurrentHashMap.newKeySet() : bucket;
+            elements.add(element);
+            return elements;
+        });
+    }
+
+    public void remove(final T element) {
+        this.buckets.computeIfPresent(element.label(), (label, bucket) -> {
+            bucket.remove(element);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    public long count(final String label) {
+        final Set<T> bucket = this.buckets.get(label);
+        return null == bucket ? 0 : bucket.size();
+    }
+
+    public void clear() {
+        this.buckets.clear();
+    }
+
+    /**
+     * Gets the buckets of the labels required by the first label equality or {@code within} container, or
+     * {@code null} if there is no such container.
+     */
+    public Collection<Set<T>> get(final List<HasContainer> hasContainers) {
+        for (final HasContainer hasContainer : hasContainers) {
+            if (!hasContainer.getKey().equals(LABEL))
+                continue;
+            if (hasContainer.getBiPredicate() == Compare.eq && hasContainer.getValue() instanceof String) {
+                final Set<T> bucket = this.buckets.get(hasContainer.getValue());
+                return null == bucket ? Collections.emptyList() : Collections.singletonList(bucket);
+            } else if (hasContainer.getBiPredicate() == Contains.within && hasContainer.getValue() instanceof Collection) {
+                final List<Set<T>> buckets = new ArrayList<>();
+                for (final Object label : new LinkedHashSet<>((Collection<?>) hasContainer.getValue())) {
+                    final Set<T> bucket = label instanceof String ? this.buckets.get(label) : null;
+                    if (null != bucket) buckets.add(bucket);
+                }
+                return buckets;
+            }
+        }
+        return null;
+    }
+}
@@ -76,11 +76,21 @@ public final class TinkerProperty<V> implements Property<V> {
 
     @Override
     public void remove() {
-        if (this.element instanceof Edge) {
-            ((TinkerEdge) this.element).properties.remove(this.key);
-            TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
-        } else {
-            ((TinkerVertexProperty) this.element).properties.remove(this.key);
+        final TinkerGraph graph = (TinkerGraph) this.element.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            if (this.element instanceof Edge) {
+                final boolean removed = null != ((TinkerEdge) this.element).properties.remove(this.key);
+                TinkerHelper.removeIndex((TinkerEdge) this.element, this.key, this.value);
+                if (removed && null != graph.writeAheadLog)
+                    graph.writeAheadLog.removeEdgeProperty((Edge) this.element, this.key);
+            } else {
+                final boolean removed = null != ((TinkerVertexProperty) this.element).properties.remove(this.key);
+                if (removed && null != graph.writeAheadLog && !TinkerHelper.inComputerMode(graph))
+                    graph.writeAheadLog.removeMetaProperty((TinkerVertexProperty) this.element, this.key);
+            }
+        } finally {
+            TinkerHelper.endMutation(graph);
         }
     }
 }
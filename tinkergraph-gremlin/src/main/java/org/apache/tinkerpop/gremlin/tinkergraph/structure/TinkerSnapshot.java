@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.ByteBufferInput;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reads and writes the "snapshot" {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT}, a binary image of the graph
+ * that is laid out for loading rather than interchange. Vertices and edges are written as flat records, with ids and
+ * property values serialized by Gryo, into segments of at most {@link #SEGMENT_SIZE} bytes. On load each segment is
+ * memory-mapped and read in place, so the file is paged in by the operating system rather than copied through a
+ * stream, and the elements are created directly without the {@code StarGraph} intermediate used by the Gryo format.
+ * All vertex segments precede the edge segments so that every edge can be attached as it is read.
+ * <p/>
+ * This is a faster loader and not a lazily paged store. {@link #read(TinkerGraph, String)} decodes every record into
+ * the in-memory structures of the graph before the graph is returned, so opening the graph still takes time in
+ * proportion to its size and the whole graph must fit in the heap.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerSnapshot {
+
+    static final String FORMAT = "snapshot";
+
+    private static final int MAGIC = 0x54475331;
+    private static final int SEGMENT_SIZE = 1 << 30;
+    private static final int SEGMENT_HEADER_SIZE = Long.BYTES + Integer.BYTES + 1;
+    private static final byte VERTICES = 0;
+    private static final byte EDGES = 1;
+
+    private TinkerSnapshot() {
+    }
+
+    static void write(final TinkerGraph graph, final String location) throws IOException {
+        final Kryo kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+        try (final FileChannel channel = FileChannel.open(Paths.get(location),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final Output output = new Output(Channels.newOutputStream(channel), 65536);
+            output.writeInt(MAGIC);
+            output.flush();
+            writeSegments(channel, output, VERTICES, graph.vertices.values().iterator(),
+                    (record, vertex) -> writeVertex(kryo, record, vertex));
+            writeSegments(channel, output, EDGES, graph.edges.values().iterator(),
+                    (record, edge) -> writeEdge(kryo, record, edge));
+        }
+    }
+
+    static void read(final TinkerGraph graph, final String location) throws IOException {
+        final Kryo kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+        final Path path = Paths.get(location);
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(magic, 0);
+            magic.flip();
+            if (magic.remaining() < Integer.BYTES || magic.getInt() != MAGIC)
+                throw new IOException(String.format("%s is not a TinkerGraph %s", location, FORMAT));
+
+            long position = Integer.BYTES;
+            final ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+            while (position < channel.size()) {
+                header.clear();
+                channel.read(header, position);
+                header.flip();
+                final long length = header.getLong();
+                final int count = header.getInt();
+                final byte kind = header.get();
+
+                final MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position + SEGMENT_HEADER_SIZE, length);
+                final Input input = new ReadOnlyByteBufferInput(segment);
+                for (int i = 0; i < count; i++) {
+                    if (VERTICES == kind)
+                        readVertex(kryo, input, graph);
+                    else
+                        readEdge(kryo, input, graph);
+                }
+                position += SEGMENT_HEADER_SIZE + length;
+            }
+        }
+    }
+
+    /**
+     * Writes the elements into as many segments as are needed to keep each one within {@link #SEGMENT_SIZE}, which
+     * is well inside of what a single {@code MappedByteBuffer} can address. Each record is encoded before it is
+     * added so that a segment is closed when the record would take it past its size, and only a single record that
+     * is larger than a segment on its own gets a segment that exceeds it. The length and count of a segment are only
+     * known once it is full so its header is reserved and filled in afterward.
+     */
+    private static <E> void writeSegments(final FileChannel channel, final Output output, final byte kind,
+                                          final Iterator<E> elements, final RecordWriter<E> writer) throws IOException {
+        final Output record = new Output(4096, -1);
+        long start = 0;
+        long segmentStart = 0;
+        int count = 0;
+        while (elements.hasNext()) {
+            record.clear();
+            writer.write(record, elements.next());
+            if (count > 0 && output.total() - segmentStart + record.position() > SEGMENT_SIZE) {
+                writeHeader(channel, output, start, output.total() - segmentStart, count, kind);
+                count = 0;
+            }
+            if (0 == count) {
+                start = channel.position();
+                output.writeBytes(new byte[SEGMENT_HEADER_SIZE]);
+                segmentStart = output.total();
+            }
+            output.writeBytes(record.getBuffer(), 0, record.position());
+            count++;
+        }
+        if (count > 0)
+            writeHeader(channel, output, start, output.total() - segmentStart, count, kind);
+    }
+
+    private static void writeHeader(final FileChannel channel, final Output output, final long start,
+                                    final long length, final int count, final byte kind) throws IOException {
+        output.flush();
+        final ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putLong(length).putInt(count).put(kind).flip();
+        channel.write(header, start);
+    }
+
+    private static void writeVertex(final Kryo kryo, final Output output, final Vertex vertex) {
+        kryo.writeClassAndObject(output, vertex.id());
+        output.writeString(vertex.label());
+        final List<VertexProperty<Object>> properties = new ArrayList<>();
+        vertex.properties().forEachRemaining(vp -> properties.add((VertexProperty<Object>) vp));
+        output.writeInt(properties.size());
+        for (final VertexProperty<Object> vertexProperty : properties) {
+            kryo.writeClassAndObject(output, vertexProperty.id());
+            output.writeString(vertexProperty.key());
+            kryo.writeClassAndObject(output, vertexProperty.value());
+            writeProperties(kryo, output, vertexProperty.properties());
+        }
+    }
+
+    private static void writeEdge(final Kryo kryo, final Output output, final Edge edge) {
+        kryo.writeClassAndObject(output, edge.id());
+        output.writeString(edge.label());
+        kryo.writeClassAndObject(output, edge.outVertex().id());
+        kryo.writeClassAndObject(output, edge.inVertex().id());
+        writeProperties(kryo, output, edge.properties());
+    }
+
+    private static void writeProperties(final Kryo kryo, final Output output, final Iterator<? extends Property<Object>> iterator) {
+        final List<Property<Object>> properties = new ArrayList<>();
+        iterator.forEachRemaining(properties::add);
+        output.writeInt(properties.size());
+        for (final Property<Object> property : properties) {
+            output.writeString(property.key());
+            kryo.writeClassAndObject(output, property.value());
+        }
+    }
+
+    private static void readVertex(final Kryo kryo, final Input input, final TinkerGraph graph) {
+        final Object id = kryo.readClassAndObject(input);
+        final String label = input.readString();
+        final Vertex vertex = graph.addVertex(T.id, id, T.label, label);
+        final int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            final Object propertyId = kryo.readClassAndObject(input);
+            final String key = input.readString();
+            final Object value = kryo.readClassAndObject(input);
+            final Object[] keyValues = readProperties(kryo, input, T.id, propertyId);
+            vertex.property(VertexProperty.Cardinality.list, key, value, keyValues);
+        }
+    }
+
+    private static void readEdge(final Kryo kryo, final Input input, final TinkerGraph graph) {
+        final Object id = kryo.readClassAndObject(input);
+        final String label = input.readString();
+        final Vertex outVertex = graph.vertices.get(kryo.readClassAndObject(input));
+        final Vertex inVertex = graph.vertices.get(kryo.readClassAndObject(input));
+        outVertex.addEdge(label, inVertex, readProperties(kryo, input, T.id, id));
+    }
+
+    /**
+     * Reads a property list into a key/value array that starts with the supplied key/value pair.
+     */
+    private static Object[] readProperties(final Kryo kryo, final Input input, final Object firstKey, final Object firstValue) {
+        final int size = input.readInt();
+        final Object[] keyValues = new Object[(size + 1) * 2];
+        keyValues[0] = firstKey;
+        keyValues[1] = firstValue;
+        for (int i = 1; i <= size; i++) {
+            keyValues[i * 2] = input.readString();
+            keyValues[i * 2 + 1] = kryo.readClassAndObject(input);
+        }
+        return keyValues;
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter<E> {
+        void write(final Output record, final E element);
+    }
+
+    /**
+     * A {@code ByteBufferInput} over a read-only segment. Kryo decodes an ascii string by briefly clearing the high
+     * bit that marks its last byte in the buffer itself, which a read-only buffer does not allow, so those strings
+     * are decoded here without altering the buffer.
+     */
+    private static final class ReadOnlyByteBufferInput extends ByteBufferInput {
+
+        private ReadOnlyByteBufferInput(final ByteBuffer buffer) {
+            super(buffer);
+        }
+
+        @Override
+        public String readString() {
+            // a string is ascii unless its first byte has the high bit set, and kryo only writes ascii for strings
+            // of more than one character
+            if (this.position == this.limit || 0 != (this.niobuffer.get(this.position) & 0x80))
+                return super.readString();
+            final StringBuilder builder = new StringBuilder();
+            int b;
+            do {
+                b = this.niobuffer.get(this.position++);
+                builder.append((char) (b & 0x7F));
+            } while (0 == (b & 0x80));
+            this.niobuffer.position(this.position);
+            return builder.toString();
+        }
+
+        @Override
+        public StringBuilder readStringBuilder() {
+            final String string = this.readString();
+            return null == string ? null : new StringBuilder(string);
+        }
+    }
+}
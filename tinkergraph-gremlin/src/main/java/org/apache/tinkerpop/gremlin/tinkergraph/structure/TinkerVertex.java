@@ -33,6 +33,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -45,6 +46,9 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
     protected Map<String, List<VertexProperty>> properties;
     protected Map<String, Set<Edge>> outEdges;
     protected Map<String, Set<Edge>> inEdges;
+    protected Map<String, Map<String, NavigableMap<Object, Set<Edge>>>> outEdgeIndex;
+    protected Map<String, Map<String, NavigableMap<Object, Set<Edge>>>> inEdgeIndex;
+    protected int computeOrdinal;
     private final TinkerGraph graph;
 
     protected TinkerVertex(final Object id, final String label, final TinkerGraph graph) {
@@ -94,19 +98,25 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
             ElementHelper.attachProperties(vertexProperty, keyValues);
             return vertexProperty;
         } else {
-            final Object idValue = optionalId.isPresent() ?
-                    graph.vertexPropertyIdManager.convert(optionalId.get()) :
-                    graph.vertexPropertyIdManager.getNextId(graph);
-
-            final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
-
-            if (null == this.properties) this.properties = new HashMap<>();
-            final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
-            list.add(vertexProperty);
-            this.properties.put(key, list);
-            TinkerHelper.autoUpdateIndex(this, key, value, null);
-            ElementHelper.attachProperties(vertexProperty, keyValues);
-            return vertexProperty;
+            TinkerHelper.beginMutation(this.graph);
+            try {
+                final Object idValue = optionalId.isPresent() ?
+                        graph.vertexPropertyIdManager.convert(optionalId.get()) :
+                        graph.vertexPropertyIdManager.getNextId(graph);
+
+                final VertexProperty<V> vertexProperty = new TinkerVertexProperty<V>(idValue, this, key, value);
+
+                if (null == this.properties) this.properties = new HashMap<>();
+                final List<VertexProperty> list = this.properties.getOrDefault(key, new ArrayList<>());
+                list.add(vertexProperty);
+                this.properties.put(key, list);
+                TinkerHelper.autoUpdateIndex(this, key, value, null);
+                if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.addVertexProperty(vertexProperty);
+                ElementHelper.attachProperties(vertexProperty, keyValues);
+                return vertexProperty;
+            } finally {
+                TinkerHelper.endMutation(this.graph);
+            }
         }
     }
 
@@ -127,13 +137,22 @@ public final class TinkerVertex extends TinkerElement implements Vertex {
 
     @Override
     public void remove() {
-        final List<Edge> edges = new ArrayList<>();
-        this.edges(Direction.BOTH).forEachRemaining(edges::add);
-        edges.stream().filter(edge -> !((TinkerEdge) edge).removed).forEach(Edge::remove);
-        this.properties = null;
-        TinkerHelper.removeElementIndex(this);
-        this.graph.vertices.remove(this.id);
-        this.removed = true;
+        TinkerHelper.beginMutation(this.graph);
+        try {
+            final List<TinkerEdge> edges = new ArrayList<>();
+            this.edges(Direction.BOTH).forEachRemaining(edge -> edges.add((TinkerEdge) edge));
+            TinkerHelper.removeElementIndex(this.graph, edges);
+            edges.stream().filter(edge -> !edge.removed).forEach(TinkerEdge::detach);
+            TinkerHelper.removeElementIndex(this);
+            this.properties = null;
+            if (null != this.graph.vertices.remove(this.id)) {
+                this.graph.vertexLabelIndex.remove(this);
+                if (null != this.graph.writeAheadLog) this.graph.writeAheadLog.removeVertex(this);
+            }
+            this.removed = true;
+        } finally {
+            TinkerHelper.endMutation(this.graph);
+        }
     }
 
     @Override
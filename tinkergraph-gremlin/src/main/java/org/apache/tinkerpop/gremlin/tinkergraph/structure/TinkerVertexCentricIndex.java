@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Property;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The vertex-centric indices of a graph, each of which sorts the incident edges of a label on every vertex by the
+ * values of one of their properties. Only the indexed label and key pairs are held here while the entries are held
+ * by each vertex next to its adjacency, in {@link TinkerVertex#outEdgeIndex} and {@link TinkerVertex#inEdgeIndex},
+ * so that a lookup for a traverser never leaves the vertex it is on. The entries are ordered by
+ * {@link TinkerIndex#VALUE_COMPARATOR} and answer the same predicates as a {@link TinkerGraph.IndexType#SORTED}
+ * index, with range lookups returning their edges in the {@link Order} of the index.
+ * <p/>
+ * As with the adjacency of a vertex, the entries of a vertex are not safe to update from several threads at once.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerVertexCentricIndex {
+
+    private final Map<String, Map<String, Order>> indexedKeys = new ConcurrentHashMap<>();
+    private final TinkerGraph graph;
+
+    TinkerVertexCentricIndex(final TinkerGraph graph) {
+        this.graph = graph;
+    }
+
+    public synchronized void createIndex(final String edgeLabel, final String key, final Order order) {
+        if (null == edgeLabel)
+            throw Graph.Exceptions.argumentCanNotBeNull("edgeLabel");
+        if (null == key)
+            throw Graph.Exceptions.argumentCanNotBeNull("key");
+        if (key.isEmpty())
+            throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        if (Order.incr != order && Order.decr != order)
+            throw new IllegalArgumentException("A vertex-centric index can only be ordered by incr or decr: " + order);
+
+        // the entries are the same for either order so an existing index only has its order changed
+        final Map<String, Order> keys = this.indexedKeys.computeIfAbsent(edgeLabel, label -> new ConcurrentHashMap<>());
+        if (null != keys.put(key, order))
+            return;
+
+        for (final Edge edge : this.graph.edges.values()) {
+            if (edge.label().equals(edgeLabel)) {
+                final Property<?> property = edge.property(key);
+                if (property.isPresent())
+                    this.put((TinkerEdge) edge, key, property.value());
+            }
+        }
+    }
+
+    public synchronized void dropIndex(final String edgeLabel, final String key) {
+        final Map<String, Order> keys = this.indexedKeys.get(edgeLabel);
+        if (null == keys || null == keys.remove(key))
+            return;
+        if (keys.isEmpty())
+            this.indexedKeys.remove(edgeLabel);
+
+        for (final Object vertex : this.graph.vertices.values()) {
+            removeEntries(((TinkerVertex) vertex).outEdgeIndex, edgeLabel, key);
+            removeEntries(((TinkerVertex) vertex).inEdgeIndex, edgeLabel, key);
+        }
+    }
+
+    public Set<String> getIndexedKeys(final String edgeLabel) {
+        final Map<String, Order> keys = this.indexedKeys.get(edgeLabel);
+        return null == keys ? Collections.emptySet() : Collections.unmodifiableSet(keys.keySet());
+    }
+
+    public boolean isEmpty() {
+        return this.indexedKeys.isEmpty();
+    }
+
+    public void autoUpdate(final TinkerEdge edge, final String key, final Object newValue, final Object oldValue) {
+        if (this.isIndexed(edge.label(), key)) {
+            if (null != oldValue)
+                this.remove(edge, key, oldValue);
+            this.put(edge, key, newValue);
+        }
+    }
+
+    public void autoRemove(final TinkerEdge edge, final String key, final Object oldValue) {
+        if (this.isIndexed(edge.label(), key))
+            this.remove(edge, key, oldValue);
+    }
+
+    /**
+     * Removes the edge from the entries of both of its vertices. It must be called before the properties of the edge
+     * are cleared.
+     */
+    public void removeEdge(final TinkerEdge edge) {
+        final Map<String, Order> keys = this.indexedKeys.get(edge.label());
+        if (null == keys || null == edge.properties)
+            return;
+        for (final String key : keys.keySet()) {
+            final Property<?> property = edge.properties.get(key);
+            if (null != property)
+                this.remove(edge, key, property.value());
+        }
+    }
+
+    /**
+     * Gets the candidate edges of the vertex for the {@link HasContainer} list or {@code null} if no vertex-centric
+     * index can answer any of them for the edge labels, in which case all of the incident edges have to be tested.
+     * The edges of a label that has no usable index are read from the adjacency of the vertex. The edges are gathered
+     * up front, as the adjacency is, so that the traversal may change them while it iterates.
+     */
+    public Iterator<TinkerEdge> edges(final TinkerVertex vertex, final Direction direction, final String[] edgeLabels,
+                                      final List<HasContainer> hasContainers) {
+        final List<Set<Edge>> buckets = new ArrayList<>();
+        boolean indexed = false;
+        if (Direction.OUT == direction || Direction.BOTH == direction)
+            indexed = this.buckets(vertex.outEdges, vertex.outEdgeIndex, edgeLabels, hasContainers, buckets);
+        if (Direction.IN == direction || Direction.BOTH == direction)
+            indexed = this.buckets(vertex.inEdges, vertex.inEdgeIndex, edgeLabels, hasContainers, buckets) || indexed;
+        if (!indexed)
+            return null;
+
+        final List<TinkerEdge> edges = new ArrayList<>();
+        buckets.forEach(bucket -> bucket.forEach(edge -> edges.add((TinkerEdge) edge)));
+        return edges.iterator();
+    }
+
+    /**
+     * Adds the buckets that hold the candidate edges of each label in one direction and determines if any of them
+     * came from an index.
+     */
+    private boolean buckets(final Map<String, Set<Edge>> adjacency,
+                            final Map<String, Map<String, NavigableMap<Object, Set<Edge>>>> entries,
+                            final String[] edgeLabels, final List<HasContainer> hasContainers,
+                            final List<Set<Edge>> buckets) {
+        if (null == adjacency)
+            return false;
+        boolean indexed = false;
+        for (final String edgeLabel : edgeLabels.length == 0 ? adjacency.keySet() : Arrays.asList(edgeLabels)) {
+            final Set<Edge> edges = adjacency.get(edgeLabel);
+            if (null == edges)
+                continue;
+            final Collection<Set<Edge>> indexedBuckets = this.lookup(entries, edgeLabel, hasContainers);
+            if (null == indexedBuckets) {
+                buckets.add(edges);
+            } else {
+                buckets.addAll(indexedBuckets);
+                indexed = true;
+            }
+        }
+        return indexed;
+    }
+
+    /**
+     * Gets the buckets of the first indexed key of the label that the containers have a queryable predicate for, in
+     * the order of that index, or {@code null} if there is no such key. A bucket that a repeated value or overlapping
+     * ranges select more than once is returned once, so no edge of the label is gathered twice.
+     */
+    private Collection<Set<Edge>> lookup(final Map<String, Map<String, NavigableMap<Object, Set<Edge>>>> entries,
+                                         final String edgeLabel, final List<HasContainer> hasContainers) {
+        final Map<String, Order> keys = this.indexedKeys.get(edgeLabel);
+        if (null == keys)
+            return null;
+        for (final Map.Entry<String, Order> key : keys.entrySet()) {
+            final List<P<?>> predicates = new ArrayList<>();
+            for (final HasContainer hasContainer : hasContainers) {
+                if (hasContainer.getKey().equals(key.getKey()) && TinkerIndex.isQueryable(hasContainer.getPredicate(), true))
+                    predicates.add(hasContainer.getPredicate());
+            }
+            if (predicates.isEmpty())
+                continue;
+
+            final Map<String, NavigableMap<Object, Set<Edge>>> labelEntries = null == entries ? null : entries.get(edgeLabel);
+            final NavigableMap<Object, Set<Edge>> keyMap = null == labelEntries ? null : labelEntries.get(key.getKey());
+            if (null == keyMap)
+                return Collections.emptyList();
+            final Collection<Set<Edge>> buckets = TinkerIndex.lookup(keyMap, predicates, true);
+            if (Order.incr == key.getValue())
+                return buckets;
+            final List<Set<Edge>> reversed = new ArrayList<>(buckets);
+            Collections.reverse(reversed);
+            return reversed;
+        }
+        return null;
+    }
+
+    private boolean isIndexed(final String edgeLabel, final String key) {
+        final Map<String, Order> keys = this.indexedKeys.get(edgeLabel);
+        return null != keys && keys.containsKey(key);
+    }
+
+    private void put(final TinkerEdge edge, final String key, final Object value) {
+        final TinkerVertex outVertex = (TinkerVertex) edge.outVertex;
+        final TinkerVertex inVertex = (TinkerVertex) edge.inVertex;
+        if (null == outVertex.outEdgeIndex) outVertex.outEdgeIndex = new HashMap<>();
+        if (null == inVertex.inEdgeIndex) inVertex.inEdgeIndex = new HashMap<>();
+        putEntry(outVertex.outEdgeIndex, edge, key, value);
+        putEntry(inVertex.inEdgeIndex, edge, key, value);
+    }
+
+    private void remove(final TinkerEdge edge, final String key, final Object value) {
+        removeEntry(((TinkerVertex) edge.outVertex).outEdgeIndex, edge, key, value);
+        removeEntry(((TinkerVertex) edge.inVertex).inEdgeIndex, edge, key, value);
+    }
+
+    private static void putEntry(final Map<String, Map<String, NavigableMap<Object, Set<Edge>>>> entries,
+                                 final TinkerEdge edge, final String key, final Object value) {
+        entries.computeIfAbsent(edge.label(), label -> new HashMap<>())
+                .computeIfAbsent(key, k -> new TreeMap<>(TinkerIndex.VALUE_COMPARATOR))
+                .computeIfAbsent(value, v -> new HashSet<>())
+                .add(edge);
+    }
+
+    private static void removeEntry(final Map<String, Map<String, NavigableMap<Object, Set<Edge>>>> entries,
+                                    final TinkerEdge edge, final String key, final Object value) {
+        if (null == entries)
+            return;
+        final Map<String, NavigableMap<Object, Set<Edge>>> labelEntries = entries.get(edge.label());
+        final NavigableMap<Object, Set<Edge>> keyMap = null == labelEntries ? null : labelEntries.get(key);
+        final Set<Edge> bucket = null == keyMap ? null : keyMap.get(value);
+        if (null == bucket)
+            return;
+        bucket.remove(edge);
+        if (bucket.isEmpty()) {
+            keyMap.remove(value);
+            if (keyMap.isEmpty())
+                removeEntries(entries, edge.label(), key);
+        }
+    }
+
+    private static void removeEntries(final Map<String, Map<String, NavigableMap<Object, Set<Edge>>>> entries,
+                                      final String edgeLabel, final String key) {
+        if (null == entries)
+            return;
+        final Map<String, NavigableMap<Object, Set<Edge>>> labelEntries = entries.get(edgeLabel);
+        if (null != labelEntries) {
+            labelEntries.remove(key);
+            if (labelEntries.isEmpty())
+                entries.remove(edgeLabel);
+        }
+    }
+}
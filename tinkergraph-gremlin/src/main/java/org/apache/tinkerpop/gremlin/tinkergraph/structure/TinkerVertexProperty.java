@@ -117,10 +117,18 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
     @Override
     public <U> Property<U> property(final String key, final U value) {
         if (this.removed) throw elementAlreadyRemoved(VertexProperty.class, id);
-        final Property<U> property = new TinkerProperty<>(this, key, value);
-        if (this.properties == null) this.properties = new HashMap<>();
-        this.properties.put(key, property);
-        return property;
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            final Property<U> property = new TinkerProperty<>(this, key, value);
+            if (this.properties == null) this.properties = new HashMap<>();
+            this.properties.put(key, property);
+            if (null != graph.writeAheadLog && !TinkerHelper.inComputerMode(graph))
+                graph.writeAheadLog.setMetaProperty(this, key, value);
+            return property;
+        } finally {
+            TinkerHelper.endMutation(graph);
+        }
     }
 
     @Override
@@ -130,20 +138,27 @@ public class TinkerVertexProperty<V> extends TinkerElement implements VertexProp
 
     @Override
     public void remove() {
-        if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
-            this.vertex.properties.get(this.key).remove(this);
-            if (this.vertex.properties.get(this.key).size() == 0) {
-                this.vertex.properties.remove(this.key);
-                TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+        final TinkerGraph graph = (TinkerGraph) this.vertex.graph();
+        TinkerHelper.beginMutation(graph);
+        try {
+            if (null != this.vertex.properties && this.vertex.properties.containsKey(this.key)) {
+                this.vertex.properties.get(this.key).remove(this);
+                if (this.vertex.properties.get(this.key).size() == 0) {
+                    this.vertex.properties.remove(this.key);
+                    TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                }
+                final AtomicBoolean delete = new AtomicBoolean(true);
+                this.vertex.properties(this.key).forEachRemaining(property -> {
+                    if (property.value().equals(this.value))
+                        delete.set(false);
+                });
+                if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
+                if (null != graph.writeAheadLog) graph.writeAheadLog.removeVertexProperty(this);
+                this.properties = null;
+                this.removed = true;
             }
-            final AtomicBoolean delete = new AtomicBoolean(true);
-            this.vertex.properties(this.key).forEachRemaining(property -> {
-                if (property.value().equals(this.value))
-                    delete.set(false);
-            });
-            if (delete.get()) TinkerHelper.removeIndex(this.vertex, this.key, this.value);
-            this.properties = null;
-            this.removed = true;
+        } finally {
+            TinkerHelper.endMutation(graph);
         }
     }
 
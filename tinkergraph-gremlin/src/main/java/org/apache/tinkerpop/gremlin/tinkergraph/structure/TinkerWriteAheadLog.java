@@ -0,0 +1,436 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * An append-only log of the mutations made to a {@link TinkerGraph} that is persisted to a
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_LOCATION}, enabled with
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG}. Each mutation is written to the log, and handed to the
+ * operating system, before the mutating call returns so that a process which dies without calling
+ * {@link TinkerGraph#close()} loses nothing. On open, the graph is loaded from its location and the log is replayed
+ * on top of it.
+ * <p/>
+ * A checkpoint compacts the log into the graph file by writing the whole graph with the configured
+ * {@link TinkerGraph#GREMLIN_TINKERGRAPH_GRAPH_FORMAT}. It happens on {@link TinkerGraph#close()} and, so that the log
+ * does not grow without bound, after every {@link TinkerGraph#GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL} mutations. The
+ * graph is written to a temporary file that replaces the graph file only once it is complete, and the log is renamed
+ * before that replacement so that recovery can always tell whether or not the graph file already holds the log.
+ * <p/>
+ * Every change to the graph is bracketed by {@link #beginMutation()} and {@link #endMutation()}, which share a read
+ * lock, and a checkpoint takes the write lock, so that a change is either in the graph file or in the log but never
+ * in both. Records are encoded and appended under the monitor of the log as the threads that change the graph share
+ * its {@code Kryo} and its buffer.
+ *
+ * @author agent (agent@local)
+ */
+final class TinkerWriteAheadLog {
+
+    private static final byte ADD_VERTEX = 0;
+    private static final byte ADD_EDGE = 1;
+    private static final byte ADD_VERTEX_PROPERTY = 2;
+    private static final byte SET_META_PROPERTY = 3;
+    private static final byte SET_EDGE_PROPERTY = 4;
+    private static final byte REMOVE_VERTEX = 5;
+    private static final byte REMOVE_EDGE = 6;
+    private static final byte REMOVE_VERTEX_PROPERTY = 7;
+    private static final byte REMOVE_META_PROPERTY = 8;
+    private static final byte REMOVE_EDGE_PROPERTY = 9;
+    private static final byte CLEAR = 10;
+
+    private final TinkerGraph graph;
+    private final Kryo kryo;
+    private final Consumer<String> checkpointWriter;
+    private final long checkpointInterval;
+    private final Path graphFile;
+    private final Path logFile;
+    private final Path checkpointFile;
+    private final Path checkpointLogFile;
+
+    private final ReentrantReadWriteLock mutations = new ReentrantReadWriteLock();
+    private final Output record = new Output(256, -1);
+    private FileOutputStream log;
+    private long records = 0;
+    private volatile boolean checkpointDue = false;
+
+    /**
+     * @param checkpointWriter writes the whole graph to the location it is given
+     */
+    TinkerWriteAheadLog(final TinkerGraph graph, final String graphLocation, final long checkpointInterval,
+                        final Consumer<String> checkpointWriter) {
+        this.graph = graph;
+        this.kryo = graph.io(IoCore.gryo()).mapper().create().createMapper();
+        this.checkpointWriter = checkpointWriter;
+        this.checkpointInterval = checkpointInterval;
+        this.graphFile = Paths.get(graphLocation);
+        this.logFile = Paths.get(graphLocation + ".wal");
+        this.checkpointFile = Paths.get(graphLocation + ".checkpoint");
+        this.checkpointLogFile = Paths.get(graphLocation + ".wal.checkpoint");
+    }
+
+    /**
+     * Completes or discards a checkpoint that was interrupted so that the graph file is ready to be loaded. The log
+     * is only renamed once the new graph file is fully written so if the renamed log exists then the new graph file
+     * holds its mutations and can replace the old one. Otherwise the new graph file may be partial and is dropped.
+     */
+    void recover() {
+        try {
+            if (Files.exists(this.checkpointLogFile)) {
+                if (Files.exists(this.checkpointFile))
+                    Files.move(this.checkpointFile, this.graphFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                Files.delete(this.checkpointLogFile);
+            } else {
+                Files.deleteIfExists(this.checkpointFile);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not recover the checkpoint of %s", this.graphFile), ex);
+        }
+    }
+
+    /**
+     * Applies the mutations in the log to the graph, which should already hold the contents of the graph file. The
+     * last record may be incomplete if the process died while writing it, in which case it is truncated away.
+     */
+    void replay() {
+        if (!Files.exists(this.logFile)) return;
+        try (final FileChannel channel = FileChannel.open(this.logFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            long position = 0;
+            while (true) {
+                length.clear();
+                if (readFully(channel, length, position) < Integer.BYTES) break;
+                length.flip();
+                final ByteBuffer bytes = ByteBuffer.allocate(length.getInt());
+                if (readFully(channel, bytes, position + Integer.BYTES) < bytes.capacity()) break;
+                this.apply(new Input(bytes.array()));
+                position = position + Integer.BYTES + bytes.capacity();
+                this.records++;
+            }
+            channel.truncate(position);
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not replay the write-ahead log at %s", this.logFile), ex);
+        }
+    }
+
+    /**
+     * Writes the graph to its location and empties the log. Nothing is written if nothing has changed since the
+     * graph file was last written.
+     */
+    void checkpoint() {
+        this.mutations.writeLock().lock();
+        try {
+            synchronized (this) {
+                this.writeCheckpoint();
+            }
+        } finally {
+            this.mutations.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks the start of a change to the graph. A checkpoint waits for the changes that have started to end.
+     */
+    void beginMutation() {
+        this.mutations.readLock().lock();
+    }
+
+    /**
+     * Marks the end of a change to the graph and takes a checkpoint if the log has grown to the checkpoint interval
+     * and this thread is not nested in another change.
+     */
+    void endMutation() {
+        this.mutations.readLock().unlock();
+        if (this.checkpointDue && 0 == this.mutations.getReadHoldCount())
+            this.checkpoint();
+    }
+
+    private void writeCheckpoint() {
+        this.checkpointDue = false;
+        if (0 == this.records && Files.exists(this.graphFile)) return;
+        try {
+            this.closeLog();
+            this.checkpointWriter.accept(this.checkpointFile.toString());
+            try (final FileChannel channel = FileChannel.open(this.checkpointFile, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            if (Files.exists(this.logFile))
+                Files.move(this.logFile, this.checkpointLogFile, StandardCopyOption.ATOMIC_MOVE);
+            else
+                Files.createFile(this.checkpointLogFile);
+            Files.move(this.checkpointFile, this.graphFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(this.checkpointLogFile);
+            this.records = 0;
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not checkpoint the write-ahead log of %s", this.graphFile), ex);
+        }
+    }
+
+    synchronized void addVertex(final Vertex vertex) {
+        this.start(ADD_VERTEX);
+        this.writeObject(vertex.id());
+        this.record.writeString(vertex.label());
+        this.append();
+    }
+
+    synchronized void addEdge(final Edge edge) {
+        this.start(ADD_EDGE);
+        this.writeObject(edge.id());
+        this.record.writeString(edge.label());
+        this.writeObject(edge.outVertex().id());
+        this.writeObject(edge.inVertex().id());
+        final List<Property<Object>> properties = new ArrayList<>();
+        edge.<Object>properties().forEachRemaining(properties::add);
+        this.record.writeInt(properties.size());
+        for (final Property<Object> property : properties) {
+            this.record.writeString(property.key());
+            this.writeObject(property.value());
+        }
+        this.append();
+    }
+
+    synchronized void addVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.start(ADD_VERTEX_PROPERTY);
+        this.writeObject(vertexProperty.element().id());
+        this.writeObject(vertexProperty.id());
+        this.record.writeString(vertexProperty.key());
+        this.writeObject(vertexProperty.value());
+        this.append();
+    }
+
+    synchronized void setMetaProperty(final VertexProperty<?> vertexProperty, final String key, final Object value) {
+        this.start(SET_META_PROPERTY);
+        this.writeObject(vertexProperty.element().id());
+        this.writeObject(vertexProperty.id());
+        this.record.writeString(key);
+        this.writeObject(value);
+        this.append();
+    }
+
+    synchronized void setEdgeProperty(final Edge edge, final String key, final Object value) {
+        this.start(SET_EDGE_PROPERTY);
+        this.writeObject(edge.id());
+        this.record.writeString(key);
+        this.writeObject(value);
+        this.append();
+    }
+
+    synchronized void removeVertex(final Vertex vertex) {
+        this.start(REMOVE_VERTEX);
+        this.writeObject(vertex.id());
+        this.append();
+    }
+
+    synchronized void removeEdge(final Edge edge) {
+        this.start(REMOVE_EDGE);
+        this.writeObject(edge.id());
+        this.append();
+    }
+
+    synchronized void removeVertexProperty(final VertexProperty<?> vertexProperty) {
+        this.start(REMOVE_VERTEX_PROPERTY);
+        this.writeObject(vertexProperty.element().id());
+        this.writeObject(vertexProperty.id());
+        this.append();
+    }
+
+    synchronized void removeMetaProperty(final VertexProperty<?> vertexProperty, final String key) {
+        this.start(REMOVE_META_PROPERTY);
+        this.writeObject(vertexProperty.element().id());
+        this.writeObject(vertexProperty.id());
+        this.record.writeString(key);
+        this.append();
+    }
+
+    synchronized void removeEdgeProperty(final Edge edge, final String key) {
+        this.start(REMOVE_EDGE_PROPERTY);
+        this.writeObject(edge.id());
+        this.record.writeString(key);
+        this.append();
+    }
+
+    synchronized void clear() {
+        this.start(CLEAR);
+        this.append();
+    }
+
+    private void start(final byte operation) {
+        this.record.clear();
+        this.record.writeByte(operation);
+    }
+
+    private void writeObject(final Object object) {
+        this.kryo.writeClassAndObject(this.record, object);
+    }
+
+    /**
+     * Writes the current record to the log prefixed by its length so that a record cut short by a crash can be
+     * detected on replay.
+     */
+    private synchronized void append() {
+        try {
+            if (null == this.log)
+                this.log = new FileOutputStream(this.logFile.toFile(), true);
+            final int length = this.record.position();
+            final byte[] bytes = new byte[Integer.BYTES + length];
+            ByteBuffer.wrap(bytes).putInt(length).put(this.record.getBuffer(), 0, length);
+            this.log.write(bytes);
+        } catch (IOException ex) {
+            throw new RuntimeException(String.format("Could not write to the write-ahead log at %s", this.logFile), ex);
+        }
+        if (++this.records >= this.checkpointInterval && this.checkpointInterval > 0)
+            this.checkpointDue = true;
+    }
+
+    private void closeLog() throws IOException {
+        if (null != this.log) {
+            this.log.getChannel().force(true);
+            this.log.close();
+            this.log = null;
+        }
+    }
+
+    private void apply(final Input input) {
+        final byte operation = input.readByte();
+        switch (operation) {
+            case ADD_VERTEX: {
+                final Object id = this.readObject(input);
+                this.graph.addVertex(T.id, id, T.label, input.readString());
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = this.readObject(input);
+                final String label = input.readString();
+                final Vertex outVertex = this.vertex(this.readObject(input));
+                final Vertex inVertex = this.vertex(this.readObject(input));
+                final int size = input.readInt();
+                final Object[] keyValues = new Object[(size + 1) * 2];
+                keyValues[0] = T.id;
+                keyValues[1] = id;
+                for (int i = 1; i <= size; i++) {
+                    keyValues[i * 2] = input.readString();
+                    keyValues[i * 2 + 1] = this.readObject(input);
+                }
+                outVertex.addEdge(label, inVertex, keyValues);
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = this.vertex(this.readObject(input));
+                final Object id = this.readObject(input);
+                final String key = input.readString();
+                vertex.property(VertexProperty.Cardinality.list, key, this.readObject(input), T.id, id);
+                break;
+            }
+            case SET_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.vertexProperty(this.vertex(this.readObject(input)), this.readObject(input));
+                final String key = input.readString();
+                vertexProperty.property(key, this.readObject(input));
+                break;
+            }
+            case SET_EDGE_PROPERTY: {
+                final Edge edge = this.edge(this.readObject(input));
+                final String key = input.readString();
+                edge.property(key, this.readObject(input));
+                break;
+            }
+            case REMOVE_VERTEX:
+                this.vertex(this.readObject(input)).remove();
+                break;
+            case REMOVE_EDGE:
+                this.edge(this.readObject(input)).remove();
+                break;
+            case REMOVE_VERTEX_PROPERTY:
+                this.vertexProperty(this.vertex(this.readObject(input)), this.readObject(input)).remove();
+                break;
+            case REMOVE_META_PROPERTY:
+                this.vertexProperty(this.vertex(this.readObject(input)), this.readObject(input)).property(input.readString()).remove();
+                break;
+            case REMOVE_EDGE_PROPERTY:
+                this.edge(this.readObject(input)).property(input.readString()).remove();
+                break;
+            case CLEAR:
+                this.graph.clear();
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown operation %s in the write-ahead log at %s", operation, this.logFile));
+        }
+    }
+
+    private Object readObject(final Input input) {
+        return this.kryo.readClassAndObject(input);
+    }
+
+    private Vertex vertex(final Object id) {
+        final Vertex vertex = this.graph.vertices.get(id);
+        if (null == vertex)
+            throw new IllegalStateException(String.format("The write-ahead log at %s refers to vertex %s which does not exist", this.logFile, id));
+        return vertex;
+    }
+
+    private Edge edge(final Object id) {
+        final Edge edge = this.graph.edges.get(id);
+        if (null == edge)
+            throw new IllegalStateException(String.format("The write-ahead log at %s refers to edge %s which does not exist", this.logFile, id));
+        return edge;
+    }
+
+    private VertexProperty<?> vertexProperty(final Vertex vertex, final Object id) {
+        final Iterator<VertexProperty<Object>> properties = vertex.properties();
+        while (properties.hasNext()) {
+            final VertexProperty<Object> vertexProperty = properties.next();
+            if (vertexProperty.id().equals(id))
+                return vertexProperty;
+        }
+        throw new IllegalStateException(String.format("The write-ahead log at %s refers to vertex property %s which does not exist", this.logFile, id));
+    }
+
+    private static int readFully(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        int read = 0;
+        while (buffer.hasRemaining()) {
+            final int count = channel.read(buffer, position + read);
+            if (count < 0) break;
+            read = read + count;
+        }
+        return read;
+    }
+}
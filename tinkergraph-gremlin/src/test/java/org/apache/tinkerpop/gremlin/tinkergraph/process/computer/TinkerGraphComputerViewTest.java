@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.GraphFilter;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedFactory;
+import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TinkerGraphComputerViewTest {
+
+    @Test
+    public void shouldHoldOneOrSeveralValuesInTheSlotOfAVertex() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        createView(graph, VertexComputeKey.of("rank", false));
+        final Vertex marko = graph.vertices(1).next();
+        final VertexProperty<Integer> first = marko.property(VertexProperty.Cardinality.list, "rank", 1);
+        assertEquals(Collections.singletonList(1), values(marko, "rank"));
+        final VertexProperty<Integer> second = marko.property(VertexProperty.Cardinality.list, "rank", 2);
+        final VertexProperty<Integer> third = marko.property(VertexProperty.Cardinality.list, "rank", 3);
+        assertEquals(Arrays.asList(1, 2, 3), values(marko, "rank"));
+        // the other vertices have slots of their own
+        assertEquals(Collections.emptyList(), values(graph.vertices(2).next(), "rank"));
+
+        second.remove();
+        assertEquals(Arrays.asList(1, 3), values(marko, "rank"));
+        first.remove();
+        assertEquals(Collections.singletonList(3), values(marko, "rank"));
+        assertSame(third, marko.property("rank"));
+        third.remove();
+        assertEquals(Collections.emptyList(), values(marko, "rank"));
+        assertFalse(marko.property("rank").isPresent());
+    }
+
+    @Test
+    public void shouldKeepTheTypeOfTheValuesOfEachSlot() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        createView(graph, VertexComputeKey.of("rank", false));
+        final List<Object> values = Arrays.asList(0.15d, 42L, 7, "x", Double.NaN, Long.MIN_VALUE);
+        final List<Vertex> vertices = IteratorUtils.list(graph.vertices());
+        for (int i = 0; i < values.size(); i++) {
+            vertices.get(i).property(VertexProperty.Cardinality.single, "rank", values.get(i));
+        }
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(Collections.singletonList(values.get(i)), values(vertices.get(i), "rank"));
+        }
+        // a single value replaces the value of the slot whatever its type
+        final Vertex marko = graph.vertices(1).next();
+        marko.property(VertexProperty.Cardinality.single, "rank", "y");
+        marko.property(VertexProperty.Cardinality.single, "rank", 0.85d);
+        assertEquals(Collections.singletonList(0.85d), values(marko, "rank"));
+        marko.property(VertexProperty.Cardinality.list, "rank", 1L);
+        assertEquals(Arrays.asList(0.85d, 1L), values(marko, "rank"));
+    }
+
+    @Test
+    public void shouldReadTheSamePropertyOfASlotEachTime() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        createView(graph, VertexComputeKey.of("rank", false), VertexComputeKey.of("other", false));
+        final Vertex marko = graph.vertices(1).next();
+        final Vertex vadas = graph.vertices(2).next();
+        final VertexProperty<Double> added = marko.property(VertexProperty.Cardinality.list, "rank", 0.5d);
+        vadas.property(VertexProperty.Cardinality.list, "rank", 0.5d);
+        marko.property(VertexProperty.Cardinality.list, "other", 0.5d);
+        assertEquals(added, marko.property("rank"));
+        assertEquals(marko.property("rank"), marko.property("rank"));
+        assertNotEquals(marko.property("rank"), vadas.property("rank"));
+        assertNotEquals(marko.property("rank"), marko.property("other"));
+        marko.property("rank").remove();
+        assertFalse(marko.property("rank").isPresent());
+        assertEquals(Collections.singletonList(0.5d), values(vadas, "rank"));
+    }
+
+    @Test
+    public void shouldKeepTheMetaPropertiesOfAComputedValue() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        createView(graph, VertexComputeKey.of("rank", false));
+        final Vertex marko = graph.vertices(1).next();
+        marko.property(VertexProperty.Cardinality.list, "rank", 0.5d, "source", "pageRank");
+        assertEquals("pageRank", marko.property("rank").value("source"));
+        assertEquals(0.5d, marko.value("rank"), 0.0d);
+    }
+
+    @Test
+    public void shouldFindTheSlotOfAReferenceToAVertex() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final TinkerGraphComputerView view = createView(graph, VertexComputeKey.of("rank", false));
+        final Vertex marko = graph.vertices(1).next();
+        assertEquals(view.ordinal(marko), view.ordinal(ReferenceFactory.detach(marko)));
+        assertEquals(view.ordinal(marko), view.ordinal(DetachedFactory.detach(marko, false)));
+        assertEquals(-1, view.ordinal(TinkerGraph.open().addVertex()));
+        assertEquals(6, view.getVertexCount());
+    }
+
+    @Test
+    public void shouldHideTheValuesOfTheGraphWhileAKeyIsComputed() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        createView(graph, VertexComputeKey.of("name", false));
+        final Vertex marko = graph.vertices(1).next();
+        assertEquals(Collections.singletonList("marko"), values(marko, "name"));
+        final VertexProperty<String> computed = marko.property(VertexProperty.Cardinality.list, "name", "okram");
+        assertEquals(Collections.singletonList("okram"), values(marko, "name"));
+        assertEquals(new HashSet<>(Arrays.asList("okram", 29)), new HashSet<>(IteratorUtils.list(marko.values())));
+        computed.remove();
+        assertEquals(Collections.singletonList("marko"), values(marko, "name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAddValuesOfKeysThatAreNotComputed() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        createView(graph, VertexComputeKey.of("rank", false));
+        graph.vertices(1).next().property(VertexProperty.Cardinality.list, "other", 1);
+    }
+
+    @Test
+    public void shouldDropTransientColumnsOnCompletion() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final TinkerGraphComputerView view = createView(graph, VertexComputeKey.of("kept", false), VertexComputeKey.of("temp", true));
+        graph.vertices().forEachRemaining(vertex -> {
+            vertex.property(VertexProperty.Cardinality.list, "kept", vertex.id());
+            vertex.property(VertexProperty.Cardinality.list, "temp", vertex.id());
+        });
+        view.complete();
+
+        final Graph result = view.processResultGraphPersist(GraphComputer.ResultGraph.NEW, GraphComputer.Persist.VERTEX_PROPERTIES);
+        result.vertices().forEachRemaining(vertex -> {
+            assertEquals(Collections.singletonList(vertex.id()), values(vertex, "kept"));
+            assertEquals(Collections.emptyList(), values(vertex, "temp"));
+        });
+        assertEquals(6, IteratorUtils.count(result.vertices()));
+    }
+
+    @Test
+    public void shouldReplaceTheValuesOfTheOriginalGraphWithTheComputedOnes() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final TinkerGraphComputerView view = createView(graph, VertexComputeKey.of("name", false), VertexComputeKey.of("temp", true));
+        graph.vertices().forEachRemaining(vertex -> {
+            vertex.property(VertexProperty.Cardinality.list, "name", vertex.<String>value("name").toUpperCase());
+            vertex.property(VertexProperty.Cardinality.list, "temp", 0);
+        });
+        view.complete();
+
+        assertSame(graph, view.processResultGraphPersist(GraphComputer.ResultGraph.ORIGINAL, GraphComputer.Persist.VERTEX_PROPERTIES));
+        assertNull(TinkerHelper.getGraphComputerView(graph));
+        assertEquals(Arrays.asList("JOSH", "LOP", "MARKO", "PETER", "RIPPLE", "VADAS"), graph.traversal().V().values("name").order().toList());
+        assertEquals(0, graph.traversal().V().values("temp").count().next().intValue());
+    }
+
+    private static TinkerGraphComputerView createView(final TinkerGraph graph, final VertexComputeKey... computeKeys) {
+        return TinkerHelper.createGraphComputerView(graph, new GraphFilter(), new HashSet<>(Arrays.asList(computeKeys)));
+    }
+
+    private static List<Object> values(final Vertex vertex, final String key) {
+        return IteratorUtils.list(vertex.values(key));
+    }
+}
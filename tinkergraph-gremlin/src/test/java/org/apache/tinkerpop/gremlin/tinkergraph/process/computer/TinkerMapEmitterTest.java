@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.KeyValue;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.util.StaticMapReduce;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TinkerMapEmitterTest {
+
+    private static final int WORKERS = 4;
+    private static final int KEYS = 50;
+
+    @Test
+    public void shouldMergeSortedRunsStably() throws Exception {
+        final Random random = new Random(987654321L);
+        for (final int numberOfRuns : new int[]{0, 1, 2, 7, 16, 33}) {
+            // the key is compared and the run and position tell apart the elements that compare as equal
+            final List<List<int[]>> runs = new ArrayList<>();
+            for (int run = 0; run < numberOfRuns; run++) {
+                final List<int[]> elements = new ArrayList<>();
+                final int size = random.nextInt(200);
+                for (int i = 0; i < size; i++) {
+                    elements.add(new int[]{random.nextInt(KEYS), run, i});
+                }
+                elements.sort(Comparator.comparingInt(element -> element[0]));
+                runs.add(elements);
+            }
+            final List<int[]> expected = new ArrayList<>();
+            runs.forEach(expected::addAll);
+            expected.sort(Comparator.comparingInt(element -> element[0]));
+
+            for (final int numberOfWorkers : new int[]{1, WORKERS}) {
+                final TinkerWorkerPool workers = new TinkerWorkerPool(TinkerGraph.open(), new TinkerMemory(null, Collections.emptySet()), numberOfWorkers);
+                try {
+                    final List<int[]> merged = workers.mergeSortedRuns(copy(runs), Comparator.comparingInt(element -> element[0]));
+                    assertEquals(toString(expected), toString(merged));
+                } finally {
+                    workers.closeNow();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldCombineIntoTheSameReduceInput() {
+        final LabelCountMapReduce mapReduce = new LabelCountMapReduce();
+        final Random random = new Random(123456789L);
+        final List<TinkerMapEmitter<String, Long>> combined = new ArrayList<>();
+        final List<TinkerMapEmitter<String, Long>> uncombined = new ArrayList<>();
+        final Map<String, Long> expected = new TreeMap<>();
+        for (int worker = 0; worker < WORKERS; worker++) {
+            final TinkerMapEmitter<String, Long> combinedEmitter = new TinkerMapEmitter<>(true, WORKERS * 4, mapReduce, 16);
+            final TinkerMapEmitter<String, Long> uncombinedEmitter = new TinkerMapEmitter<>(true, WORKERS * 4);
+            for (int i = 0; i < 1000; i++) {
+                // a few keys are emitted far more often than the others
+                final String key = "key" + (int) Math.pow(random.nextInt(KEYS), 2) % KEYS;
+                combinedEmitter.emit(key, 1L);
+                uncombinedEmitter.emit(key, 1L);
+                expected.merge(key, 1L, Long::sum);
+            }
+            combinedEmitter.combine();
+            combined.add(combinedEmitter);
+            uncombined.add(uncombinedEmitter);
+        }
+        assertEquals(expected, reduce(mapReduce, combined));
+        assertEquals(expected, reduce(mapReduce, uncombined));
+        // a combined emitter holds a single value per key
+        final TinkerMapEmitter<String, Long> emitter = new TinkerMapEmitter<>(true, 1, mapReduce);
+        emitter.emit("a", 1L);
+        emitter.emit("a", 2L);
+        emitter.emit("b", 3L);
+        emitter.combine();
+        final Map<String, List<Long>> partition = emitter.takePartition(0);
+        assertEquals(Collections.singletonList(3L), partition.get("a"));
+        assertEquals(Collections.singletonList(3L), partition.get("b"));
+    }
+
+    @Test
+    public void shouldCombineAPartitionOnceItsBufferPassesTheThreshold() {
+        final List<Integer> combinedSizes = new ArrayList<>();
+        final LabelCountMapReduce mapReduce = new LabelCountMapReduce() {
+            @Override
+            public void combine(final String key, final Iterator<Long> values, final ReduceEmitter<String, Long> emitter) {
+                final List<Long> list = IteratorUtils.list(values);
+                combinedSizes.add(list.size());
+                super.combine(key, list.iterator(), emitter);
+            }
+        };
+        final TinkerMapEmitter<String, Long> emitter = new TinkerMapEmitter<>(true, 1, mapReduce, 16);
+        for (int i = 0; i < 10000; i++) {
+            emitter.emit("key" + i % 3, 1L);
+        }
+        // the values were combined while they were emitted and never more than the threshold were held at once
+        assertTrue(combinedSizes.size() > 1000);
+        assertTrue(combinedSizes.stream().allMatch(size -> size <= 17));
+        emitter.combine();
+        final Map<String, List<Long>> partition = emitter.takePartition(0);
+        assertEquals(Collections.singletonList(3334L), partition.get("key0"));
+        assertEquals(Collections.singletonList(3333L), partition.get("key1"));
+        assertEquals(Collections.singletonList(3333L), partition.get("key2"));
+
+        // a partition of distinct keys can not be combined, so its threshold grows rather than combining on every emit
+        combinedSizes.clear();
+        final TinkerMapEmitter<String, Long> distinct = new TinkerMapEmitter<>(true, 1, mapReduce, 16);
+        for (int i = 0; i < 10000; i++) {
+            distinct.emit("key" + i, 1L);
+        }
+        assertTrue(combinedSizes.isEmpty());
+        assertEquals(10000, distinct.takePartition(0).size());
+    }
+
+    @Test
+    public void shouldReduceToTheSameSortedOutputOnEveryRun() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(123456789L);
+        final Map<String, Long> counts = new TreeMap<>();
+        for (int i = 0; i < 2000; i++) {
+            final String label = "label" + random.nextInt(KEYS);
+            graph.addVertex(label);
+            counts.merge(label, 1L, Long::sum);
+        }
+        // KeyValue does not define equals() so the pairs are compared by their string form
+        final List<String> expected = new ArrayList<>();
+        counts.forEach((label, count) -> expected.add(new KeyValue<>(label, count).toString()));
+
+        final GraphComputer computer = graph.compute(TinkerGraphComputer.class);
+        final int workers = Math.min(WORKERS, computer.features().getMaxWorkers());
+        for (int run = 0; run < 5; run++) {
+            final List<KeyValue<String, Long>> result = graph.compute(TinkerGraphComputer.class).workers(1 + run % workers)
+                    .mapReduce(new LabelCountMapReduce()).submit().get().memory().get(LabelCountMapReduce.MEMORY_KEY);
+            final List<String> actual = new ArrayList<>();
+            result.forEach(keyValue -> actual.add(keyValue.toString()));
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static Map<String, Long> reduce(final LabelCountMapReduce mapReduce, final List<TinkerMapEmitter<String, Long>> mapEmitters) {
+        final Map<String, Long> reduced = new TreeMap<>();
+        for (int partition = 0; partition < WORKERS * 4; partition++) {
+            final Map<String, List<Long>> merged = new HashMap<>();
+            for (final TinkerMapEmitter<String, Long> mapEmitter : mapEmitters) {
+                mapEmitter.takePartition(partition).forEach((key, values) -> merged.computeIfAbsent(key, k -> new ArrayList<>()).addAll(values));
+            }
+            merged.forEach((key, values) -> mapReduce.reduce(key, values.iterator(), reduced::put));
+        }
+        return reduced;
+    }
+
+    private static List<List<int[]>> copy(final List<List<int[]>> runs) {
+        final List<List<int[]>> copy = new ArrayList<>();
+        runs.forEach(run -> copy.add(new ArrayList<>(run)));
+        return copy;
+    }
+
+    private static List<String> toString(final List<int[]> elements) {
+        final List<String> strings = new ArrayList<>();
+        elements.forEach(element -> strings.add(element[0] + ":" + element[1] + ":" + element[2]));
+        return strings;
+    }
+
+    /**
+     * Counts the vertices of every label and sorts the counts by label.
+     */
+    private static class LabelCountMapReduce extends StaticMapReduce<String, Long, String, Long, List<KeyValue<String, Long>>> {
+
+        private static final String MEMORY_KEY = "labelCount";
+
+        @Override
+        public boolean doStage(final Stage stage) {
+            return true;
+        }
+
+        @Override
+        public void map(final Vertex vertex, final MapEmitter<String, Long> emitter) {
+            emitter.emit(vertex.label(), 1L);
+        }
+
+        @Override
+        public void combine(final String key, final Iterator<Long> values, final ReduceEmitter<String, Long> emitter) {
+            this.reduce(key, values, emitter);
+        }
+
+        @Override
+        public void reduce(final String key, final Iterator<Long> values, final ReduceEmitter<String, Long> emitter) {
+            long count = 0L;
+            while (values.hasNext()) {
+                count = count + values.next();
+            }
+            emitter.emit(key, count);
+        }
+
+        @Override
+        public Optional<Comparator<String>> getReduceKeySort() {
+            return Optional.of(Comparator.naturalOrder());
+        }
+
+        @Override
+        public List<KeyValue<String, Long>> generateFinalResult(final Iterator<KeyValue<String, Long>> keyValues) {
+            return IteratorUtils.list(keyValues);
+        }
+
+        @Override
+        public String getMemoryKey() {
+            return MEMORY_KEY;
+        }
+    }
+}
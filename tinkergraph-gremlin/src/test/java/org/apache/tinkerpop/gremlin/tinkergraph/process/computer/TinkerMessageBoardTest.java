@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.commons.configuration.Configuration;
+import org.apache.tinkerpop.gremlin.process.computer.ComputerResult;
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.computer.Memory;
+import org.apache.tinkerpop.gremlin.process.computer.MemoryComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.computer.Messenger;
+import org.apache.tinkerpop.gremlin.process.computer.VertexComputeKey;
+import org.apache.tinkerpop.gremlin.process.computer.VertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.clustering.connected.ConnectedComponentVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TinkerMessageBoardTest {
+
+    @Test
+    public void shouldCombineDoubleMessagesLikeTheUncombinedPath() throws Exception {
+        final TinkerGraph graph = randomGraph();
+        final VertexProgram<Double> program = PageRankVertexProgram.build().iterations(15).create(graph);
+        assertTrue(program.getMessageCombiner().isPresent());
+        final Map<Object, Object> combined = compute(graph, program, PageRankVertexProgram.PAGE_RANK);
+        final Map<Object, Object> uncombined = compute(graph, new UncombinedVertexProgram<>(program), PageRankVertexProgram.PAGE_RANK);
+        assertEquals(graph.traversal().V().count().next().intValue(), combined.size());
+        assertEquals(combined.keySet(), uncombined.keySet());
+        // the combiner adds the messages in the order they arrive so only the last bits may differ
+        for (final Map.Entry<Object, Object> entry : combined.entrySet()) {
+            assertEquals((Double) uncombined.get(entry.getKey()), (Double) entry.getValue(), 1e-12);
+        }
+    }
+
+    @Test
+    public void shouldCombineObjectMessagesLikeTheUncombinedPath() throws Exception {
+        final TinkerGraph graph = randomGraph();
+        final VertexProgram<String> program = ConnectedComponentVertexProgram.build().create(graph);
+        assertTrue(program.getMessageCombiner().isPresent());
+        final Map<Object, Object> combined = compute(graph, program, ConnectedComponentVertexProgram.COMPONENT);
+        assertEquals(graph.traversal().V().count().next().intValue(), combined.size());
+        assertEquals(combined, compute(graph, new UncombinedVertexProgram<>(program), ConnectedComponentVertexProgram.COMPONENT));
+    }
+
+    private static Map<Object, Object> compute(final TinkerGraph graph, final VertexProgram<?> program, final String key) throws Exception {
+        final GraphComputer computer = graph.compute();
+        final ComputerResult result = computer.workers(Math.min(4, computer.features().getMaxWorkers())).program(program).submit().get();
+        final Map<Object, Object> values = new HashMap<>();
+        result.graph().vertices().forEachRemaining(vertex -> values.put(vertex.id(), vertex.value(key)));
+        return values;
+    }
+
+    /**
+     * A graph of several components with vertices of very different degrees, so that some slots receive a lot of
+     * messages from several workers at once.
+     */
+    private static TinkerGraph randomGraph() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final Random random = new Random(123456789L);
+        final Vertex[] vertices = new Vertex[400];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = graph.addVertex();
+        }
+        for (int i = 0; i < 2000; i++) {
+            // the vertices are split into four components and the low ids of each attract most of the edges
+            final int component = random.nextInt(4) * 100;
+            final int out = component + random.nextInt(100);
+            final int in = component + (random.nextBoolean() ? random.nextInt(5) : random.nextInt(100));
+            vertices[out].addEdge("link", vertices[in]);
+        }
+        return graph;
+    }
+
+    /**
+     * Hides the {@link MessageCombiner} of a program so that every message is queued and only combined by the
+     * program as it receives them.
+     */
+    private static final class UncombinedVertexProgram<M> implements VertexProgram<M> {
+
+        private final VertexProgram<M> program;
+
+        private UncombinedVertexProgram(final VertexProgram<M> program) {
+            this.program = program;
+        }
+
+        @Override
+        public Optional<MessageCombiner<M>> getMessageCombiner() {
+            return Optional.empty();
+        }
+
+        @Override
+        public void storeState(final Configuration configuration) {
+            this.program.storeState(configuration);
+        }
+
+        @Override
+        public void loadState(final Graph graph, final Configuration configuration) {
+            this.program.loadState(graph, configuration);
+        }
+
+        @Override
+        public void setup(final Memory memory) {
+            this.program.setup(memory);
+        }
+
+        @Override
+        public void execute(final Vertex vertex, final Messenger<M> messenger, final Memory memory) {
+            this.program.execute(vertex, messenger, memory);
+        }
+
+        @Override
+        public boolean terminate(final Memory memory) {
+            return this.program.terminate(memory);
+        }
+
+        @Override
+        public void workerIterationStart(final Memory memory) {
+            this.program.workerIterationStart(memory);
+        }
+
+        @Override
+        public void workerIterationEnd(final Memory memory) {
+            this.program.workerIterationEnd(memory);
+        }
+
+        @Override
+        public Set<VertexComputeKey> getVertexComputeKeys() {
+            return this.program.getVertexComputeKeys();
+        }
+
+        @Override
+        public Set<MemoryComputeKey> getMemoryComputeKeys() {
+            return this.program.getMemoryComputeKeys();
+        }
+
+        @Override
+        public Set<MessageScope> getMessageScopes(final Memory memory) {
+            return this.program.getMessageScopes(memory);
+        }
+
+        @Override
+        public boolean usesActiveVertices() {
+            return this.program.usesActiveVertices();
+        }
+
+        @Override
+        public boolean requiresAllVertices(final Memory memory) {
+            return this.program.requiresAllVertices(memory);
+        }
+
+        @Override
+        public boolean startsFromComputeKeys() {
+            return this.program.startsFromComputeKeys();
+        }
+
+        @Override
+        public Set<MapReduce> getMapReducers() {
+            return this.program.getMapReducers();
+        }
+
+        @Override
+        public Set<TraverserRequirement> getTraverserRequirements() {
+            return this.program.getTraverserRequirements();
+        }
+
+        @Override
+        public Features getFeatures() {
+            return this.program.getFeatures();
+        }
+
+        @Override
+        public GraphComputer.ResultGraph getPreferredResultGraph() {
+            return this.program.getPreferredResultGraph();
+        }
+
+        @Override
+        public GraphComputer.Persist getPreferredPersist() {
+            return this.program.getPreferredPersist();
+        }
+
+        @Override
+        public UncombinedVertexProgram<M> clone() {
+            return new UncombinedVertexProgram<>(this.program.clone());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.clustering.peerpressure.ClusterCountMapReduce;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author agent (agent@local)
+ */
+public class TinkerWorkerPoolTest {
+
+    private static final int WORKERS = 4;
+    // 10 items per chunk and 16 chunks per partition
+    private static final int ITEMS = 640;
+
+    @Test
+    public void shouldStealTheChunksOfAWorkerThatIsHeldUpByItsFirstItem() {
+        final TinkerWorkerPool.Partitions<Integer> partitions = new TinkerWorkerPool.Partitions<>(items(), WORKERS);
+        final Iterator<Integer> held = partitions.iterator(0);
+        final List<Integer> seen = new ArrayList<>();
+        seen.add(held.next());
+
+        for (int worker = 1; worker < WORKERS; worker++) {
+            partitions.iterator(worker).forEachRemaining(seen::add);
+        }
+        // every chunk but the first of the held up worker is taken by the others
+        assertEquals(ITEMS - 9, seen.size());
+        held.forEachRemaining(seen::add);
+        assertEquals(IntStream.range(0, ITEMS).boxed().collect(Collectors.toList()), sorted(seen));
+    }
+
+    @Test
+    public void shouldNotHandOutAChunkTwice() {
+        final TinkerWorkerPool.Partitions<Integer> partitions = new TinkerWorkerPool.Partitions<>(items(), WORKERS);
+        final List<Iterator<Integer>> iterators = new ArrayList<>();
+        for (int worker = 0; worker < WORKERS; worker++) {
+            iterators.add(partitions.iterator(worker));
+        }
+        // the workers take turns, so each of them steals from the others once its own partition is done
+        final List<Integer> seen = new ArrayList<>();
+        boolean any = true;
+        while (any) {
+            any = false;
+            for (int worker = 0; worker < WORKERS; worker++) {
+                for (int i = 0; i < 3 + worker * 7 && iterators.get(worker).hasNext(); i++) {
+                    seen.add(iterators.get(worker).next());
+                    any = true;
+                }
+            }
+        }
+        assertEquals(IntStream.range(0, ITEMS).boxed().collect(Collectors.toList()), sorted(seen));
+    }
+
+    @Test
+    public void shouldFinishAnOversizedPartitionOnTheOtherWorkers() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        final TinkerWorkerPool workers = new TinkerWorkerPool(graph, new TinkerMemory(null, Collections.emptySet()), WORKERS);
+        try {
+            workers.setMapReduce(ClusterCountMapReduce.build().create());
+            final List<Integer> items = IntStream.range(0, ITEMS).boxed().collect(Collectors.toList());
+            final Map<Integer, Boolean> processed = new ConcurrentHashMap<>();
+            final List<Integer> processedAfterHold = Collections.synchronizedList(new ArrayList<>());
+            final CountDownLatch othersDone = new CountDownLatch(WORKERS - 1);
+            workers.executeMapReduce(items, (iterator, mapReduce) -> {
+                boolean held = false;
+                while (iterator.hasNext()) {
+                    final Integer item = iterator.next();
+                    assertTrue(null == processed.put(item, true));
+                    if (held)
+                        processedAfterHold.add(item);
+                    // the first item is as slow as all of the others together
+                    if (0 == item) {
+                        held = true;
+                        try {
+                            assertTrue(othersDone.await(30, TimeUnit.SECONDS));
+                        } catch (final InterruptedException e) {
+                            throw new IllegalStateException(e.getMessage(), e);
+                        }
+                    }
+                }
+                if (!held)
+                    othersDone.countDown();
+            });
+            assertEquals(ITEMS, processed.size());
+            // the other workers took every chunk but the one the held up worker was on
+            assertEquals(IntStream.range(1, 10).boxed().collect(Collectors.toList()), processedAfterHold);
+        } finally {
+            workers.closeNow();
+        }
+    }
+
+    private static Object[] items() {
+        return IntStream.range(0, ITEMS).boxed().toArray();
+    }
+
+    private static List<Integer> sorted(final List<Integer> items) {
+        final List<Integer> sorted = new ArrayList<>(items);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
@@ -37,6 +37,7 @@ import org.junit.runners.Parameterized;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.select;
@@ -74,6 +75,10 @@ public class TinkerGraphCountStrategyTest {
 
     }
 
+    private static Traversal.Admin<?, ?> countStep(final Class<? extends Element> elementClass, final String... labels) {
+        return new DefaultGraphTraversal<>().addStep(new TinkerCountGlobalStep(EmptyTraversal.instance(), elementClass, new LinkedHashSet<>(Arrays.asList(labels))));
+    }
+
     @Parameterized.Parameters(name = "{0}")
     public static Iterable<Object[]> generateTestParameters() {
         return Arrays.asList(new Object[][]{
@@ -86,11 +91,19 @@ public class TinkerGraphCountStrategyTest {
                 {__.V().map(out().groupCount()).identity().count().as("a"), countStep(Vertex.class), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
                 {__.V().label().map(s -> s.get().length()).count(), countStep(Vertex.class), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
                 {__.V().as("a").map(select("a")).count(), countStep(Vertex.class),TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
+                {__.V().hasLabel("person").count(), countStep(Vertex.class, "person"), Collections.emptyList()},
+                {__.V().hasLabel("person").count(), countStep(Vertex.class, "person"), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
+                {__.V().hasLabel("person", "software").map(out()).count(), countStep(Vertex.class, "person", "software"), Collections.emptyList()},
+                {__.V().hasLabel("person", "software").hasLabel("software").count(), countStep(Vertex.class, "software"), Collections.emptyList()},
+                {__.V().hasLabel("person").label().count(), countStep(Vertex.class, "person"), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
                 //
                 {__.V(), __.V(), Collections.emptyList()},
                 {__.V().out().count(), __.V().out().count(), Collections.emptyList()},
                 {__.V(1).count(), __.V(1).count(), Collections.emptyList()},
                 {__.count(), __.count(), Collections.emptyList()},
+                {__.V().has("name", "marko").count(), __.V().has("name", "marko").count(), Collections.emptyList()},
+                {__.V().hasLabel("person").has("name", "marko").count(), __.V().hasLabel("person").has("name", "marko").count(), Collections.emptyList()},
+                {__.V().out().hasLabel("person").count(), __.V().out().hasLabel("person").count(), Collections.emptyList()},
                 {__.V().map(out().groupCount("m")).identity().count().as("a"), __.V().map(out().groupCount("m")).identity().count().as("a"), Collections.emptyList()},
         });
     }
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.EmptyTraversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.step.map.TinkerVertexStep;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gt;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.gte;
+import static org.apache.tinkerpop.gremlin.process.traversal.P.lt;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author agent (agent@local)
+ */
+@RunWith(Parameterized.class)
+public class TinkerVertexStepStrategyTest {
+
+    @Parameterized.Parameter(value = 0)
+    public Traversal original;
+
+    @Parameterized.Parameter(value = 1)
+    public Traversal optimized;
+
+    @Parameterized.Parameter(value = 2)
+    public Collection<TraversalStrategy> otherStrategies;
+
+    @Test
+    public void doTest() {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(TinkerVertexStepStrategy.instance());
+        for (final TraversalStrategy strategy : this.otherStrategies) {
+            strategies.addStrategies(strategy);
+        }
+        this.original.asAdmin().setStrategies(strategies);
+        this.original.asAdmin().applyStrategies();
+        assertEquals(this.optimized, this.original);
+    }
+
+    private static TinkerVertexStep E(final Direction direction, final String[] edgeLabels, final Object... hasKeyValues) {
+        final TinkerVertexStep vertexStep = new TinkerVertexStep(new VertexStep<>(EmptyTraversal.instance(), Edge.class, direction, edgeLabels));
+        for (int i = 0; i < hasKeyValues.length; i = i + 2) {
+            vertexStep.addHasContainer(new HasContainer((String) hasKeyValues[i], (P) hasKeyValues[i + 1]));
+        }
+        return vertexStep;
+    }
+
+    private static String[] labels(final String... edgeLabels) {
+        return edgeLabels;
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Iterable<Object[]> generateTestParameters() {
+        return Arrays.asList(new Object[][]{
+                {__.outE("rated").has("stars", 5), __.start().asAdmin().addStep(E(Direction.OUT, labels("rated"), "stars", eq(5))), Collections.emptyList()},
+                {__.inE().has("stars", gt(3)).has("date", lt(10)).outV(),
+                        __.start().asAdmin().addStep(E(Direction.IN, labels(), "stars", gt(3), "date", lt(10))).outV(), Collections.emptyList()},
+                {__.bothE("rated", "liked").has("stars", P.between(3, 5)).as("a"),
+                        __.start().asAdmin().addStep(E(Direction.BOTH, labels("rated", "liked"), "stars", gte(3), "stars", lt(5))).as("a"), Collections.emptyList()},
+                {__.outE("rated").has("stars", 5).inV(),
+                        __.start().asAdmin().addStep(E(Direction.OUT, labels("rated"), "stars", eq(5))).inV(), TraversalStrategies.GlobalCache.getStrategies(TinkerGraph.class).toList()},
+                {__.V().local(outE("rated").has("stars", 5)),
+                        __.V().local(__.start().asAdmin().addStep(E(Direction.OUT, labels("rated"), "stars", eq(5)))), Collections.emptyList()},
+                //
+                {__.outE("rated"), __.outE("rated"), Collections.emptyList()},
+                {__.out("rated").has("stars", 5), __.out("rated").has("stars", 5), Collections.emptyList()},
+                {__.outE("rated").inV().has("stars", 5), __.outE("rated").inV().has("stars", 5), Collections.emptyList()},
+        });
+    }
+}
@@ -22,8 +22,22 @@ import org.apache.commons.configuration.BaseConfiguration;
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.GraphHelper;
 import org.apache.tinkerpop.gremlin.TestHelper;
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.computer.IterationMetrics;
+import org.apache.tinkerpop.gremlin.process.computer.ranking.pagerank.PageRankVertexProgram;
+import org.apache.tinkerpop.gremlin.process.computer.traversal.step.map.VertexProgramStep;
+import org.apache.tinkerpop.gremlin.process.traversal.BytecodeTemplate;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelismStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.SpillStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
@@ -42,6 +56,7 @@ import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoClassResolverV1d0;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoVersion;
 import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputer;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 import org.apache.tinkerpop.shaded.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.shaded.kryo.ClassResolver;
@@ -61,16 +76,25 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -200,6 +224,33 @@ public class TinkerGraphTest {
         }, 35)).has("name", "stephen").count().next());
     }
 
+    @Test
+    public void shouldRemoveMultiPropertyVertexAndItsEdgesFromIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+        g.createIndex(T.label.getAccessor(), Edge.class);
+
+        final Vertex v = g.addVertex("name", "marko", "name", "marko a. rodriguez");
+        final Vertex other = g.addVertex("name", "marko");
+        for (int i = 0; i < 100; i++) {
+            v.addEdge("knows", other, "weight", i);
+            other.addEdge("likes", v, "weight", i);
+        }
+        v.addEdge("self", v, "weight", 0);
+        other.addEdge("knows", other, "weight", 0);
+
+        v.remove();
+        assertEquals(1, g.vertexIndex.count("name", "marko"));
+        assertEquals(0, g.vertexIndex.count("name", "marko a. rodriguez"));
+        assertEquals(1, g.edgeIndex.count("weight", 0));
+        assertEquals(0, g.edgeIndex.count("weight", 50));
+        assertEquals(1, g.edgeIndex.count(T.label.getAccessor(), "knows"));
+        assertEquals(0, g.edgeIndex.count(T.label.getAccessor(), "likes"));
+        assertEquals(0, g.edgeIndex.count(T.label.getAccessor(), "self"));
+        assertEquals(new Long(1), g.traversal().E().has("weight", P.lt(50)).count().next());
+    }
+
     @Test
     public void shouldUpdateVertexIndicesInExistingGraph() {
         final TinkerGraph g = TinkerGraph.open();
@@ -302,6 +353,335 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseSortedVertexIndexForRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+
+        g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32L);
+        g.addVertex("name", "peter", "age", 35);
+        g.addVertex("name", "stephen", "age", 35.5d);
+
+        // a spy on "name" that only sees what the sorted index on "age" lets through
+        assertEquals(new Long(3), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("josh") || t.equals("peter") || t.equals("stephen"));
+            return true;
+        }, "x")).has("age", P.gt(30)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.between(29, 35)).count().next());
+
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("josh", t);
+            return true;
+        }, "x")).has("age", P.inside(29, 35)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("stephen"));
+            return true;
+        }, "x")).has("age", P.outside(28, 35)).count().next());
+
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.within(27, 35)).count().next());
+
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gt(35)).has("age", P.lt(30)).count().next());
+    }
+
+    @Test
+    public void shouldNotRepeatElementsOfRepeatedValuesOrOverlappingRangesOfTheIndex() {
+        for (final TinkerGraph.IndexType indexType : TinkerGraph.IndexType.values()) {
+            final TinkerGraph graph = TinkerFactory.createModern();
+            graph.createIndex("age", Vertex.class, indexType);
+            graph.createIndex("weight", Edge.class, indexType);
+            final GraphTraversalSource g = graph.traversal();
+
+            assertEquals(Collections.singletonList("vadas"), g.V().has("age", P.within(27, 27)).values("name").toList());
+            assertEquals(Collections.singletonList("marko"), g.V().has("age", P.within(29, 27, 29)).has("name", "marko").values("name").toList());
+            assertEquals(new Long(2), g.V().has("age", P.within(29, 27, 29, 27)).count().next());
+            assertEquals(new Long(2), g.V().has("age", P.eq(27).or(P.eq(29))).count().next());
+            assertEquals(new Long(2), g.V().has("age", P.within(29).or(P.within(27, 29))).count().next());
+            assertEquals(new Long(2), g.E().has("weight", P.within(0.4d, 0.4d)).count().next());
+
+            if (TinkerGraph.IndexType.SORTED == indexType) {
+                assertEquals(new Long(4), g.V().has("age", P.gt(10).or(P.gt(20))).count().next());
+                assertEquals(new Long(4), g.V().has("age", P.between(27, 33).or(P.gte(29))).count().next());
+                assertEquals(new Long(4), g.V().has("age", P.lt(30).or(P.gt(28))).count().next());
+                // the slices that overlap are read in the order of the index
+                assertEquals(Arrays.asList("vadas", "marko", "josh", "peter"),
+                        g.V().has("age", P.gt(28).or(P.within(27, 32))).values("name").toList());
+                assertEquals(new Long(6), g.E().has("weight", P.gte(0.4d).or(P.lt(1.0d))).count().next());
+            }
+        }
+    }
+
+    @Test
+    public void shouldUpdateSortedVertexIndexOnPropertyChanges() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex("name", "marko", "age", 29);
+        final Vertex v = g.addVertex("name", "stephen", "age", 35);
+
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gte(30)).count().next());
+
+        v.property("age", 25);
+        assertEquals(new Long(0), g.traversal().V().has("age", P.gte(30)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("age", P.lt(30)).count().next());
+
+        v.remove();
+        assertEquals(new Long(1), g.traversal().V().has("age", P.lt(30)).count().next());
+
+        // switching the index type rebuilds it
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.HASH);
+        assertEquals(new Long(1), g.traversal().V().has("age", P.lt(30)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("age", 29).count().next());
+    }
+
+    @Test
+    public void shouldUseSortedEdgeIndexForRangePredicates() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("weight", Edge.class, TinkerGraph.IndexType.SORTED);
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5f);
+        v.addEdge("friend", v, "oid", "2", "weight", 0.6f);
+        v.addEdge("friend", v, "oid", "3", "weight", 1.0d);
+
+        assertEquals(new Long(2), g.traversal().E().has("oid", P.test((t, u) -> {
+            assertTrue(t.equals("2") || t.equals("3"));
+            return true;
+        }, "x")).has("weight", P.gt(0.5f)).count().next());
+    }
+
+    @Test
+    public void shouldUseCompositeVertexIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.addVertex(T.label, "person", "tenant", "a", "status", "active", "age", 29);
+        g.addVertex(T.label, "person", "tenant", "a", "status", "inactive", "age", 30);
+        g.addVertex(T.label, "person", "tenant", "b", "status", "active", "age", 31);
+        final Vertex v = g.addVertex(T.label, "software", "tenant", "a", "status", "active", "age", 32);
+
+        g.createIndex(Vertex.class, T.label.getAccessor(), "tenant", "status");
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertTrue(g.getIndexedKeys(Vertex.class).isEmpty());
+
+        // the spy on "age" only sees what the composite index lets through
+        assertEquals(new Long(1), g.traversal().V().has("age", P.test((t, u) -> {
+            assertEquals(29, t);
+            return true;
+        }, 0)).hasLabel("person").has("tenant", "a").has("status", "active").count().next());
+
+        v.property("status", "inactive");
+        assertEquals(new Long(0), g.traversal().V().hasLabel("software").has("tenant", "a").has("status", "active").count().next());
+        assertEquals(new Long(1), g.traversal().V().hasLabel("software").has("tenant", "a").has("status", "inactive").count().next());
+
+        v.property("status").remove();
+        assertEquals(new Long(0), g.traversal().V().hasLabel("software").has("tenant", "a").has("status", "inactive").count().next());
+
+        g.dropIndex(Vertex.class, T.label.getAccessor(), "tenant", "status");
+        assertTrue(g.getCompositeIndexedKeys(Vertex.class).isEmpty());
+        assertEquals(new Long(2), g.traversal().V().hasLabel("person").has("status", "active").count().next());
+    }
+
+    @Test
+    public void shouldChooseMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("status", Vertex.class);
+        g.createIndex("name", Vertex.class);
+
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", "v" + i, "status", "active", "age", i);
+        }
+
+        // "status" is listed first but "name" leaves a single candidate to test
+        assertEquals(new Long(1), g.traversal().V().has("age", P.test((t, u) -> {
+            assertEquals(42, t);
+            return true;
+        }, 0)).has("status", "active").has("name", "v42").count().next());
+    }
+
+    @Test
+    public void shouldRemoveVertexFromCompositeIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex(Vertex.class, "name", "age");
+
+        g.addVertex("name", "marko", "age", 29);
+        final Vertex v = g.addVertex("name", "marko", "age", 29);
+        assertEquals(new Long(2), g.traversal().V().has("name", "marko").has("age", 29).count().next());
+
+        v.remove();
+        assertEquals(new Long(1), g.traversal().V().has("name", "marko").has("age", 29).count().next());
+    }
+
+    @Test
+    public void shouldMutateElementsFoundThroughIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", "marko");
+        }
+
+        // the traversal changes the index bucket that it reads from
+        assertEquals(100, g.traversal().V().has("name", "marko").property("name", "stephen").toList().size());
+        assertEquals(new Long(0), g.traversal().V().has("name", "marko").count().next());
+        assertEquals(new Long(100), g.traversal().V().has("name", "stephen").count().next());
+
+        // the traversal should not see the vertices it adds
+        assertEquals(100, g.traversal().V().has("name", "stephen").addV().property("name", "stephen").toList().size());
+        assertEquals(new Long(200), g.traversal().V().has("name", "stephen").count().next());
+    }
+
+    @Test
+    public void shouldUpdateIndicesConcurrently() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createIndex("age", Vertex.class, TinkerGraph.IndexType.SORTED);
+        g.createIndex(Vertex.class, "name", "age");
+
+        // each thread adds vertices to the same few buckets and removes every other one of them
+        final int threads = 8;
+        final int verticesPerThread = 2000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < verticesPerThread; i++) {
+                    final Vertex v = g.addVertex("name", "name" + (i % 4), "age", i % 4);
+                    if (i % 2 == 1) v.remove();
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(threads * verticesPerThread / 2, g.vertexIndex.count("name", "name0") + g.vertexIndex.count("name", "name2"));
+        assertEquals(0, g.vertexIndex.count("name", "name1") + g.vertexIndex.count("name", "name3"));
+        assertEquals(new Long(threads * verticesPerThread / 4), g.traversal().V().has("age", P.gte(2)).count().next());
+        assertEquals(new Long(threads * verticesPerThread / 4), g.traversal().V().has("name", "name0").has("age", 0).count().next());
+    }
+
+    @Test
+    public void shouldCountAndLookupElementsByLabel() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal();
+
+        assertEquals(4, graph.vertexLabelIndex.count("person"));
+        assertEquals(2, graph.vertexLabelIndex.count("software"));
+        assertEquals(2, graph.edgeLabelIndex.count("knows"));
+        assertEquals(4, graph.edgeLabelIndex.count("created"));
+        assertEquals(new Long(4), g.V().hasLabel("person").count().next());
+        assertEquals(new Long(6), g.V().hasLabel("person", "software").count().next());
+        assertEquals(new Long(0), g.V().hasLabel("person").hasLabel("software").count().next());
+        assertEquals(new Long(0), g.V().hasLabel("nothing").count().next());
+        assertEquals(new Long(2), g.E().hasLabel("knows").count().next());
+        assertEquals(new Long(6), g.E().hasLabel("knows", "created", "knows").count().next());
+        assertEquals(Arrays.asList("josh", "lop", "marko", "peter", "ripple", "vadas"),
+                g.V().hasLabel("person", "software").<String>values("name").order().toList());
+        assertEquals(Arrays.asList("josh", "peter"), g.V().hasLabel("person").has("age", P.gt(30)).<String>values("name").order().toList());
+
+        // an index on a property is intersected with the label bucket
+        graph.createIndex("lang", Vertex.class);
+        assertEquals(new Long(2), g.V().hasLabel("software").has("lang", "java").count().next());
+        assertEquals(new Long(0), g.V().hasLabel("person").has("lang", "java").count().next());
+
+        g.V().has("name", "josh").drop().iterate();
+        assertEquals(3, graph.vertexLabelIndex.count("person"));
+        assertEquals(new Long(3), g.V().hasLabel("person").count().next());
+        assertEquals(new Long(1), g.E().hasLabel("knows").count().next());
+        assertEquals(new Long(2), g.E().hasLabel("created").count().next());
+
+        g.E().hasLabel("created").drop().iterate();
+        assertEquals(0, graph.edgeLabelIndex.count("created"));
+        assertEquals(new Long(0), g.E().hasLabel("created").count().next());
+
+        graph.clear();
+        assertEquals(0, graph.vertexLabelIndex.count("person"));
+        assertEquals(new Long(0), g.V().hasLabel("person").count().next());
+    }
+
+    @Test
+    public void shouldUseVertexCentricIndex() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final GraphTraversalSource g = graph.traversal();
+        final Vertex user = graph.addVertex(T.id, 0, "name", "user");
+        for (int i = 1; i <= 100; i++) {
+            final Vertex movie = graph.addVertex(T.id, i, "name", "movie" + i);
+            user.addEdge("rated", movie, "stars", i % 5 + 1);
+            user.addEdge("watched", movie, "stars", i % 5 + 1);
+        }
+        graph.createVertexCentricIndex("rated", "stars", Order.decr);
+        assertEquals(Collections.singleton("stars"), graph.getVertexCentricIndexedKeys("rated"));
+        assertEquals(Collections.emptySet(), graph.getVertexCentricIndexedKeys("watched"));
+
+        // only the edges in the matching buckets of the index are read
+        assertEquals(20, IteratorUtils.count(TinkerHelper.getEdges((TinkerVertex) user, Direction.OUT, new String[]{"rated"},
+                Collections.singletonList(new HasContainer("stars", P.eq(5))))));
+        assertEquals(120, IteratorUtils.count(TinkerHelper.getEdges((TinkerVertex) user, Direction.OUT, new String[0],
+                Collections.singletonList(new HasContainer("stars", P.eq(5))))));
+        assertEquals(new Long(20), g.V(0).outE("rated").has("stars", 5).count().next());
+        assertEquals(new Long(20), g.V(0).outE("watched").has("stars", 5).count().next());
+        assertEquals(new Long(40), g.V(0).outE().has("stars", 5).count().next());
+        assertEquals(new Long(2), g.V(1, 2, 3, 4, 5).inE("rated").has("stars", P.within(1, 3)).count().next());
+
+        // range lookups come back in the order of the index
+        final List<Integer> stars = g.V(0).outE("rated").has("stars", P.gte(3)).<Integer>values("stars").toList();
+        assertEquals(60, stars.size());
+        assertEquals(stars.stream().sorted(Collections.reverseOrder()).collect(Collectors.toList()), stars);
+
+        // the index follows changes to the edges
+        g.V(0).outE("rated").has("stars", 1).property("stars", 6).iterate();
+        assertEquals(new Long(0), g.V(0).outE("rated").has("stars", 1).count().next());
+        assertEquals(new Long(20), g.V(0).outE("rated").has("stars", 6).count().next());
+        assertEquals(6, (int) g.V(0).outE("rated").has("stars", P.gt(0)).values("stars").next());
+        g.V(0).outE("rated").has("stars", 6).properties("stars").drop().iterate();
+        assertEquals(new Long(0), g.V(0).outE("rated").has("stars", P.gt(0)).has("stars", P.lt(2)).count().next());
+        g.V(0).outE("rated").has("stars", 5).drop().iterate();
+        assertEquals(new Long(0), g.V(0).outE("rated").has("stars", 5).count().next());
+        assertEquals(new Long(60), g.V(0).outE("rated").has("stars", P.between(2, 5)).count().next());
+        user.addEdge("rated", graph.vertices(1).next(), "stars", 5);
+        assertEquals(new Long(1), g.V(0).outE("rated").has("stars", 5).count().next());
+        assertEquals(new Long(1), g.V(1).inE("rated").has("stars", 5).count().next());
+
+        graph.vertices(1).next().remove();
+        assertEquals(new Long(0), g.V(0).outE("rated").has("stars", 5).count().next());
+
+        graph.dropVertexCentricIndex("rated", "stars");
+        assertEquals(Collections.emptySet(), graph.getVertexCentricIndexedKeys("rated"));
+        assertNull(((TinkerVertex) user).outEdgeIndex.get("rated"));
+        assertEquals(new Long(20), g.V(0).outE("rated").has("stars", 4).count().next());
+    }
+
+    @Test
+    public void shouldNotRepeatEdgesOfRepeatedValuesOrOverlappingRangesOfVertexCentricIndex() {
+        for (final Order order : Arrays.asList(Order.incr, Order.decr)) {
+            final TinkerGraph graph = TinkerGraph.open();
+            final GraphTraversalSource g = graph.traversal();
+            final Vertex user = graph.addVertex(T.id, 0);
+            for (int i = 1; i <= 3; i++) {
+                user.addEdge("rated", graph.addVertex(T.id, i), "stars", i * 2);
+            }
+            graph.createVertexCentricIndex("rated", "stars", order);
+
+            assertEquals(new Long(1), g.V(0).outE("rated").has("stars", P.within(6, 6)).count().next());
+            assertEquals(new Long(2), g.V(0).outE("rated").has("stars", P.within(4, 2, 4)).count().next());
+            assertEquals(new Long(2), g.V(0).outE("rated").has("stars", P.gt(1).or(P.gt(3))).has("stars", P.lt(5)).count().next());
+            assertEquals(new Long(3), g.V(0).outE("rated").has("stars", P.gt(1).or(P.gt(2))).count().next());
+            assertEquals(new Long(1), g.V(2).inE("rated").has("stars", P.within(4, 4).or(P.eq(4))).count().next());
+
+            // the buckets of overlapping ranges and repeated values are read once in the order of the index
+            final List<Integer> expected = Order.incr == order ? Arrays.asList(2, 4, 6) : Arrays.asList(6, 4, 2);
+            assertEquals(expected, g.V(0).outE("rated").has("stars", P.gt(3).or(P.lt(5))).<Integer>values("stars").toList());
+            assertEquals(expected, g.V(0).outE("rated").has("stars", P.within(4, 6, 2, 6)).<Integer>values("stars").toList());
+        }
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -488,6 +868,212 @@ public class TinkerGraphTest {
         reloadedGraph.close();
     }
 
+    @Test
+    public void shouldPersistToSnapshot() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToSnapshot.bin";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldPersistToSnapshotAndHandleMultiProperties() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToSnapshotMulti.bin";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateTheCrew(graph);
+        graph.close();
+
+        // cardinality is kept by the snapshot itself so the default cardinality does not need to be list
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertCrewGraph(reloadedGraph, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldLoadReadOnlySnapshot() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldLoadReadOnlySnapshot.bin";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "snapshot");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final String ascii = String.join("", Collections.nCopies(100, "ascii"));
+        graph.addVertex(T.id, 100, "short", "ab", "long", ascii, "unicode", "\u00fcber", "empty", "", "single", "x");
+        graph.close();
+
+        assertTrue(f.setWritable(false));
+        try {
+            final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+            assertEquals(7, IteratorUtils.count(reloadedGraph.vertices()));
+            assertEquals(6, IteratorUtils.count(reloadedGraph.edges()));
+            final Vertex vertex = reloadedGraph.vertices(100).next();
+            assertEquals("ab", vertex.value("short"));
+            assertEquals(ascii, vertex.value("long"));
+            assertEquals("\u00fcber", vertex.value("unicode"));
+            assertEquals("", vertex.value("empty"));
+            assertEquals("x", vertex.value("single"));
+            assertEquals("marko", reloadedGraph.vertices(1).next().value("name"));
+        } finally {
+            f.setWritable(true);
+        }
+    }
+
+    @Test
+    public void shouldRecoverFromWriteAheadLogWithoutClose() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldRecoverFromWriteAheadLog.kryo";
+        deleteFiles(graphLocation, graphLocation + ".wal");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        final GraphTraversalSource g = graph.traversal();
+        g.addV("person").property(T.id, 100).property("name", "stephen").property("location", "centreville", "startTime", 1990).iterate();
+        graph.vertices(100).next().addEdge("knows", graph.vertices(1).next(), "weight", 0.1d);
+        g.V(2).drop().iterate();
+        g.E(12).property("weight", 0.9d).iterate();
+        g.E(9).properties("weight").drop().iterate();
+        g.V(1).property(VertexProperty.Cardinality.single, "age", 30).iterate();
+        g.V(100).properties("location").properties("startTime").drop().iterate();
+
+        // the graph is never closed so everything has to come from the log
+        assertFalse(new File(graphLocation).exists());
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        final GraphTraversalSource r = reloadedGraph.traversal();
+        assertEquals(6, r.V().count().next().intValue());
+        assertEquals(6, r.E().count().next().intValue());
+        assertFalse(r.V(2).hasNext());
+        assertEquals(30, r.V(1).values("age").next());
+        assertEquals(0.9d, r.E(12).values("weight").next());
+        assertFalse(r.E(9).properties("weight").hasNext());
+        assertEquals("centreville", r.V(100).values("location").next());
+        assertFalse(r.V(100).properties("location").properties("startTime").hasNext());
+        assertEquals("marko", r.V(100).out("knows").values("name").next());
+        reloadedGraph.close();
+
+        // closing compacts the log into the graph file
+        assertTrue(new File(graphLocation).exists());
+        assertFalse(new File(graphLocation + ".wal").exists());
+        final TinkerGraph compactedGraph = TinkerGraph.open(conf);
+        assertEquals(6, compactedGraph.traversal().V().count().next().intValue());
+        assertEquals(6, compactedGraph.traversal().E().count().next().intValue());
+        compactedGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLogPeriodically() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldCheckpointWriteAheadLog.kryo";
+        deleteFiles(graphLocation, graphLocation + ".wal");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 10);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        assertTrue(new File(graphLocation).exists());
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCheckpointWriteAheadLogWhileMutatingConcurrently() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldCheckpointWriteAheadLogConcurrently.kryo";
+        deleteFiles(graphLocation, graphLocation + ".wal");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_CHECKPOINT_INTERVAL, 7);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+
+        final int threads = 8;
+        final int verticesPerThread = 250;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            final int thread = i;
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < verticesPerThread; j++) {
+                    final Vertex vertex = graph.addVertex(T.label, "thread" + thread);
+                    vertex.property("index", j);
+                    vertex.property(VertexProperty.Cardinality.single, "index", j + 1).property("meta", thread);
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // reopen without close() so that whatever the last checkpoint missed is replayed from the log
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(threads * verticesPerThread, reloadedGraph.traversal().V().count().next().intValue());
+        assertEquals(threads * verticesPerThread, reloadedGraph.traversal().V().properties("index").count().next().intValue());
+        assertEquals(threads * verticesPerThread, reloadedGraph.traversal().V().properties("index").properties("meta").count().next().intValue());
+        for (int i = 0; i < threads; i++) {
+            assertEquals(verticesPerThread, reloadedGraph.traversal().V().hasLabel("thread" + i).values("index").dedup().count().next().intValue());
+        }
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldIgnoreIncompleteRecordAtEndOfWriteAheadLog() throws Exception {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldIgnoreIncompleteRecord.kryo";
+        deleteFiles(graphLocation, graphLocation + ".wal");
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_WRITE_AHEAD_LOG, true);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+
+        // simulate a crash part way through writing a record
+        try (final FileOutputStream log = new FileOutputStream(graphLocation + ".wal", true)) {
+            log.write(new byte[]{0, 0, 0, 100, 0, 1});
+        }
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        IoTest.assertModernGraph(reloadedGraph, true, false);
+        reloadedGraph.addVertex(T.id, 100);
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(7, recoveredGraph.traversal().V().count().next().intValue());
+        recoveredGraph.close();
+    }
+
+    private static void deleteFiles(final String... locations) {
+        for (final String location : locations) {
+            final File f = new File(location);
+            if (f.exists() && f.isFile()) f.delete();
+        }
+    }
+
     @Test
     public void shouldPersistWithRelativePath() {
         final String graphLocation = TestHelper.convertToRelative(TinkerGraphTest.class,
@@ -624,6 +1210,104 @@ public class TinkerGraphTest {
             clone.traversal().V().has("name", "stephen").next());
     }
 
+    @Test
+    public void shouldExecuteTraversalsWithParallelism() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            vertices.add(graph.addVertex("name", "v" + i, "v", i % 10));
+        }
+        for (int i = 0; i < 1000; i++) {
+            vertices.get(i).addEdge("next", vertices.get((i + 1) % 1000));
+            vertices.get(i).addEdge("jump", vertices.get((i * 7) % 1000));
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource p = g.withStrategies(ParallelismStrategy.build().parallelism(4).chunkSize(16).create());
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                s -> s.V().out().values("v").sum(),
+                s -> s.V().out().out().count(),
+                s -> s.V().out("jump").dedup().values("name"),
+                s -> s.V().both().order().by("v", Order.decr).values("name"),
+                s -> s.V().out().groupCount().by("v"),
+                s -> s.V().has("v", P.gt(5)).out().values("name").fold());
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> traversal : traversals) {
+            assertEquals(traversal.apply(g).toList(), traversal.apply(p).toList());
+        }
+        assertEquals(16000L, g.withParallelism(4).V().both().both().count().next().longValue());
+    }
+
+    @Test
+    public void shouldSpillBarriersToDisk() {
+        final TinkerGraph graph = TinkerGraph.open();
+        final List<Vertex> vertices = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            vertices.add(graph.addVertex("name", "v" + i, "v", i % 10));
+        }
+        for (int i = 0; i < 1000; i++) {
+            vertices.get(i).addEdge("next", vertices.get((i + 1) % 1000), "weight", i % 3);
+            vertices.get(i).addEdge("jump", vertices.get((i * 7) % 1000), "weight", i % 5);
+        }
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource s = g.withStrategies(SpillStrategy.build().budget(50).create());
+        final List<Function<GraphTraversalSource, Traversal<?, ?>>> traversals = Arrays.asList(
+                t -> t.V().out("jump").dedup().values("name"),
+                t -> t.V().both().dedup().by("v").out().dedup(),
+                t -> t.V().both().order().by("v", Order.decr).by("name").values("name"),
+                t -> t.E().order().by("weight").by(T.id),
+                t -> t.V().both().group().by("v").by(__.values("name").dedup().count()),
+                t -> t.V().out().group().by("name").by(__.outE().order().by("weight").fold()),
+                t -> t.V().both().groupCount().by("v"));
+        for (final Function<GraphTraversalSource, Traversal<?, ?>> traversal : traversals) {
+            assertEquals(traversal.apply(g).toList(), traversal.apply(s).toList());
+        }
+        // spilled elements are attached to the graph again
+        assertEquals(g.V().both().order().by("name").limit(20).out().values("name").toList(),
+                s.V().both().order().by("name").limit(20).out().values("name").toList());
+    }
+
+    @Test
+    public void shouldExecuteTraversalsBoundFromBytecodeTemplate() {
+        final GraphTraversalSource g = TinkerFactory.createModern().traversal();
+        final BytecodeTemplate.Parameters marko = BytecodeTemplate.parameterize(
+                g.V().has("name", "marko").outE("created").has("weight", P.gt(0.3)).inV().values("name").asAdmin().getBytecode());
+        final Traversal.Admin<?, ?> traversal = JavaTranslator.of(g).translate(marko.getBytecode());
+        traversal.applyStrategies();
+        final BytecodeTemplate template = BytecodeTemplate.compile(traversal, marko).get();
+        assertEquals(Collections.singletonList("lop"), traversal.toList());
+
+        final BytecodeTemplate.Parameters josh = BytecodeTemplate.parameterize(
+                g.V().has("name", "josh").outE("created").has("weight", P.gt(0.5)).inV().values("name").asAdmin().getBytecode());
+        assertEquals(marko.getNormalizedBytecode(), josh.getNormalizedBytecode());
+        assertEquals(Collections.singletonList("ripple"), template.bind(josh).toList());
+        assertEquals(Collections.singletonList("lop"), template.bind(marko).toList());
+    }
+
+    @Test
+    public void shouldReportIterationMetricsToListeners() throws Exception {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final List<IterationMetrics> iterations = new ArrayList<>();
+        graph.compute().program(PageRankVertexProgram.build().iterations(5).create(graph)).listener(iterations::add).submit().get();
+
+        assertEquals(6, iterations.size());
+        for (int i = 0; i < iterations.size(); i++) {
+            assertEquals(i, iterations.get(i).getIteration());
+            assertEquals(6, iterations.get(i).getExecutedVertices());
+            assertTrue(iterations.get(i).getDuration(TimeUnit.NANOSECONDS) >= 0);
+        }
+        assertEquals(6, iterations.get(0).getSentMessages());
+    }
+
+    @Test
+    public void shouldProfileIterationsOfVertexProgramStep() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final TraversalMetrics metrics = graph.traversal().withComputer().V().out().out().count().profile().next();
+        final Metrics computerMetrics = metrics.getMetrics(0).getNested().stream()
+                .filter(m -> m.getName().equals(TinkerGraphComputer.class.getSimpleName()))
+                .findAny().orElseThrow(AssertionError::new);
+        assertEquals(2, computerMetrics.getNested().size());
+        assertTrue(computerMetrics.getNested().stream().allMatch(m -> m.getAnnotations().containsKey(VertexProgramStep.EXECUTED_VERTICES)));
+    }
+
     /**
      * Coerces a {@code Color} to a {@link TinkerGraph} during serialization.  Demonstrates how custom serializers
      * can be developed that can coerce one value to another during serialization.